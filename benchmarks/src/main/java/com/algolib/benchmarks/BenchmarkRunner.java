@@ -0,0 +1,49 @@
+package com.algolib.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks and writes JMH's JSON results to {@code results/<label>.json},
+ * so runs from different commits can be diffed or loaded into a JMH visualiser.
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar [label] [include-regex...]
+ * </pre>
+ *
+ * <p>The label defaults to a timestamp; passing {@code $(git rev-parse --short HEAD)}
+ * names the file after the commit being measured. With no regex every benchmark runs.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String label = args.length > 0
+                ? args[0]
+                : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        Path results = Path.of("results");
+        Files.createDirectories(results);
+        Path output = results.resolve(label + ".json");
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.toString());
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) options.include(args[i]);
+        } else {
+            options.include("com\\.algolib\\.benchmarks\\..*");
+        }
+
+        new Runner(options.build()).run();
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+}
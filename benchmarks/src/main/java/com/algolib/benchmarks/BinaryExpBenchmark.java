@@ -0,0 +1,59 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.BinaryExp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BinaryExp#transformN} over random permutations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryExpBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    @Param({"11", "1000000000"})
+    public int power;
+
+    private final BinaryExp binaryExp = new BinaryExp();
+    private String[] input;
+    private Map<Integer, Integer> transformation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] perm = new int[size];
+        input = new String[size];
+        for (int i = 0; i < size; i++) {
+            perm[i] = i;
+            input[i] = "s" + i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = perm[i];
+            perm[i] = perm[j];
+            perm[j] = t;
+        }
+
+        // transformN takes a 1-based map
+        transformation = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            transformation.put(i + 1, perm[i] + 1);
+        }
+    }
+
+    @Benchmark
+    public String[] transformN() {
+        return binaryExp.transformN(input, power, transformation);
+    }
+}
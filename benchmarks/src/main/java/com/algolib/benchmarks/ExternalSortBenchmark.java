@@ -0,0 +1,59 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.ExternalSort;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ExternalSort} on a file several times larger than its memory budget.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExternalSortBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int records;
+
+    @Param({"RANDOM", "SORTED"})
+    public InputDistribution distribution;
+
+    private Path directory;
+    private Path input;
+    private Path output;
+    private ExternalSort externalSort;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("external-sort-bench");
+        input = directory.resolve("input.bin");
+        output = directory.resolve("output.bin");
+
+        ByteBuffer bytes = ByteBuffer.allocate(records * Integer.BYTES);
+        bytes.asIntBuffer().put(distribution.ints(records, 42));
+        Files.write(input, bytes.array());
+
+        // A quarter of the data per chunk forces spilled runs and a real merge
+        externalSort = new ExternalSort((long) records * Integer.BYTES / 4, directory, ExternalSort.DEFAULT_MERGE_FAN_IN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void sortInts() {
+        externalSort.sortInts(input, output);
+    }
+}
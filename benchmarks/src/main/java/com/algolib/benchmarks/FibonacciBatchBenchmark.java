@@ -0,0 +1,62 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Fibonacci;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates {@link #QUERIES} F(n) mod m queries drawn from a window of {@code spread}
+ * indices starting at 10^15, with {@link Fibonacci#fibonacciBatch} against one
+ * {@link Fibonacci#fibonacciMod} call per query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FibonacciBatchBenchmark {
+
+    private static final int QUERIES = 1 << 18;
+
+    @Param({"1000000", "1000000000000"})
+    public long spread;
+
+    // Odd, and even so every walk runs once per part and is recombined
+    @Param({"1000000007", "2000000014"})
+    public long modulus;
+
+    private final Fibonacci fibonacci = new Fibonacci();
+    private long[] ns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        ns = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            ns[i] = 1_000_000_000_000_000L + Math.floorMod(random.nextLong(), spread);
+        }
+    }
+
+    @Benchmark
+    public long[] batch() {
+        return fibonacci.fibonacciBatch(ns, modulus);
+    }
+
+    @Benchmark
+    public long[] parallelBatch() {
+        return fibonacci.fibonacciBatch(ns, modulus, ForkJoinPool.commonPool(), 1 << 12);
+    }
+
+    @Benchmark
+    public long[] perQuery() {
+        long[] result = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            result[i] = fibonacci.fibonacciMod(ns[i], modulus);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Fibonacci;
+import com.algolib.core.FibonacciCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks every {@link Fibonacci} variant. The iterative and closed-form versions
+ * overflow {@code long} past n = 92, so they only run for the small indices. Only fast doubling
+ * runs for the huge index, where its multiplies go parallel; the matrix version needs seconds.
+ * The cache benchmarks measure an exact hit and a near hit, where a one-entry {@link FibonacciCache}
+ * alternates between two indices 1000 apart so every call shifts the other checkpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FibonacciBenchmark {
+
+    @Param({"10", "90"})
+    public int smallN;
+
+    @Param({"1000", "100000"})
+    public int largeN;
+
+    @Param({"10000000"})
+    public int hugeN;
+
+    private final Fibonacci fibonacci = new Fibonacci();
+    private FibonacciCache hitCache;
+    private FibonacciCache nearCache;
+    private int nearToggle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hitCache = new FibonacciCache();
+        hitCache.fibonacci(largeN);
+        nearCache = new FibonacciCache(1, FibonacciCache.DEFAULT_MAX_BITS);
+        nearCache.fibonacci(largeN);
+    }
+
+    @Benchmark
+    public long iterative() {
+        return fibonacci.fibonacci(smallN);
+    }
+
+    @Benchmark
+    public long formula() {
+        return fibonacci.fibonacciFormula(smallN);
+    }
+
+    @Benchmark
+    public BigInteger matrixExp() {
+        return fibonacci.fibonacciMatrixExp(largeN);
+    }
+
+    @Benchmark
+    public BigInteger fastDoubling() {
+        return fibonacci.fibonacciFastDoubling(largeN);
+    }
+
+    @Benchmark
+    public BigInteger fastDoublingHuge() {
+        return fibonacci.fibonacciFastDoubling(hugeN);
+    }
+
+    @Benchmark
+    public BigInteger cacheHit() {
+        return hitCache.fibonacci(largeN);
+    }
+
+    @Benchmark
+    public BigInteger cacheNearHit() {
+        nearToggle ^= 1000;
+        return nearCache.fibonacci(largeN + nearToggle);
+    }
+}
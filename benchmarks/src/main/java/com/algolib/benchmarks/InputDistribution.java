@@ -0,0 +1,66 @@
+package com.algolib.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shapes of benchmark input, generated deterministically from a seed so every run
+ * and every commit sorts exactly the same data.
+ */
+public enum InputDistribution {
+
+    /** Uniformly random over the full {@code int} range. */
+    RANDOM,
+
+    /** Already ascending. */
+    SORTED,
+
+    /** Strictly descending. */
+    REVERSED,
+
+    /** Random values drawn from only a handful of distinct keys. */
+    FEW_UNIQUE;
+
+    private static final int FEW_UNIQUE_KEYS = 16;
+
+    /**
+     * Generates {@code size} ints with this distribution.
+     *
+     * @param size the number of values
+     * @param seed the random seed
+     * @return the generated values
+     */
+    public int[] ints(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = switch (this) {
+                case RANDOM -> random.nextInt();
+                case SORTED -> i;
+                case REVERSED -> size - i;
+                case FEW_UNIQUE -> random.nextInt(FEW_UNIQUE_KEYS);
+            };
+        }
+        return values;
+    }
+
+    /**
+     * Generates {@code size} longs with this distribution.
+     *
+     * @param size the number of values
+     * @param seed the random seed
+     * @return the generated values
+     */
+    public long[] longs(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = switch (this) {
+                case RANDOM -> random.nextLong();
+                case SORTED -> i;
+                case REVERSED -> size - i;
+                case FEW_UNIQUE -> random.nextInt(FEW_UNIQUE_KEYS);
+            };
+        }
+        return values;
+    }
+}
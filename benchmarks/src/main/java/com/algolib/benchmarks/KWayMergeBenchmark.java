@@ -0,0 +1,88 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.KWayMerge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges {@code shards} sorted int arrays totalling {@link #TOTAL} elements with the loser tree
+ * in {@link KWayMerge}, against a {@link PriorityQueue} merge and concatenating then sorting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KWayMergeBenchmark {
+
+    private static final int TOTAL = 1 << 20;
+
+    @Param({"4", "64", "512"})
+    public int shards;
+
+    private final KWayMerge kWayMerge = new KWayMerge();
+    private int[][] runs;
+    private List<List<Integer>> boxedRuns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] values = InputDistribution.RANDOM.ints(TOTAL, 42);
+        runs = new int[shards][];
+        boxedRuns = new ArrayList<>();
+        for (int s = 0; s < shards; s++) {
+            runs[s] = Arrays.copyOfRange(values, s * TOTAL / shards, (s + 1) * TOTAL / shards);
+            Arrays.sort(runs[s]);
+            boxedRuns.add(Arrays.stream(runs[s]).boxed().toList());
+        }
+    }
+
+    @Benchmark
+    public int[] loserTree() {
+        return kWayMerge.merge(runs);
+    }
+
+    @Benchmark
+    public int[] binaryHeap() {
+        int[] result = new int[TOTAL];
+        int[] positions = new int[shards];
+        PriorityQueue<Integer> heap = new PriorityQueue<>((a, b) -> Integer.compare(runs[a][positions[a]], runs[b][positions[b]]));
+        for (int s = 0; s < shards; s++) {
+            if (runs[s].length > 0) heap.add(s);
+        }
+        for (int i = 0; i < TOTAL; i++) {
+            int s = heap.poll();
+            result[i] = runs[s][positions[s]++];
+            if (positions[s] < runs[s].length) heap.add(s);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] concatenateAndSort() {
+        int[] result = new int[TOTAL];
+        int offset = 0;
+        for (int[] run : runs) {
+            System.arraycopy(run, 0, result, offset, run.length);
+            offset += run.length;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Benchmark
+    public long loserTreeIterators() {
+        List<Iterator<Integer>> inputs = new ArrayList<>(shards);
+        for (List<Integer> run : boxedRuns) inputs.add(run.iterator());
+        Iterator<Integer> merged = kWayMerge.merge(inputs);
+        long sum = 0;
+        while (merged.hasNext()) sum += merged.next();
+        return sum;
+    }
+}
@@ -0,0 +1,52 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Fibonacci;
+import com.algolib.core.LinearRecurrence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single modular terms at n = 10^18: {@link Fibonacci#fibonacciMod(long, long)} and
+ * {@link LinearRecurrence#termMod(long, long)} for recurrences of growing order. The odd modulus
+ * runs on Montgomery reduction alone; the even one is split into odd and power-of-two parts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinearRecurrenceBenchmark {
+
+    private static final long N = 1_000_000_000_000_000_000L;
+
+    @Param({"1000000007", "6000000000000"})
+    public long modulus;
+
+    @Param({"2", "3", "8"})
+    public int order;
+
+    private final Fibonacci fibonacci = new Fibonacci();
+    private LinearRecurrence recurrence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long[] ones = new long[order];
+        Arrays.fill(ones, 1);
+        long[] initial = new long[order];
+        initial[order - 1] = 1;
+        recurrence = new LinearRecurrence(ones, initial);
+    }
+
+    @Benchmark
+    public long fibonacciMod() {
+        return fibonacci.fibonacciMod(N, modulus);
+    }
+
+    @Benchmark
+    public long termMod() {
+        return recurrence.termMod(N, modulus);
+    }
+}
@@ -0,0 +1,75 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.datastructures.lists.DoublyLinkedList;
+import com.algolib.core.datastructures.lists.LinkedList;
+import com.algolib.core.datastructures.lists.SinglyLinkedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks every {@link LinkedList} implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkedListBenchmark {
+
+    public enum Implementation {
+        SINGLY(SinglyLinkedList::new),
+        DOUBLY(DoublyLinkedList::new);
+
+        private final Function<Integer[], LinkedList<Integer, ?>> factory;
+
+        Implementation(Function<Integer[], LinkedList<Integer, ?>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"SINGLY", "DOUBLY"})
+    public Implementation implementation;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    public InputDistribution distribution;
+
+    private Integer[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = Arrays.stream(distribution.ints(size, 42)).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public LinkedList<Integer, ?> build() {
+        return implementation.factory.apply(values);
+    }
+
+    @Benchmark
+    public LinkedList<Integer, ?> buildThenSort() {
+        LinkedList<Integer, ?> list = implementation.factory.apply(values);
+        list.sort();
+        return list;
+    }
+
+    @Benchmark
+    public LinkedList<Integer, ?> buildThenReverse() {
+        LinkedList<Integer, ?> list = implementation.factory.apply(values);
+        list.reverse();
+        return list;
+    }
+
+    @Benchmark
+    public LinkedList<Integer, ?> buildThenRemoveDuplicates() {
+        LinkedList<Integer, ?> list = implementation.factory.apply(values);
+        list.removeDuplicates();
+        return list;
+    }
+}
@@ -0,0 +1,47 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Fibonacci;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated F(n) mod m queries at random n below 2^63: {@link Fibonacci#fibonacciModPisano} with
+ * its period table already built, against fast doubling in {@link Fibonacci#fibonacciMod}. The
+ * period of 10^9+7 is too long for a table, so there the Pisano path only shortens n.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PisanoBenchmark {
+
+    @Param({"1000", "1000003", "1000000007"})
+    public long modulus;
+
+    private final Fibonacci fibonacci = new Fibonacci();
+    private final long[] ns = new long[1024];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ns.length; i++) ns[i] = random.nextLong() >>> 1;
+        fibonacci.fibonacciModPisano(0, modulus);
+    }
+
+    @Benchmark
+    public long pisano() {
+        next = (next + 1) & (ns.length - 1);
+        return fibonacci.fibonacciModPisano(ns[next], modulus);
+    }
+
+    @Benchmark
+    public long fastDoubling() {
+        next = (next + 1) & (ns.length - 1);
+        return fibonacci.fibonacciMod(ns[next], modulus);
+    }
+}
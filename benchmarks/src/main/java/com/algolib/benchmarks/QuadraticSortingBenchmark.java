@@ -0,0 +1,55 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the O(n^2) algorithms in {@link Sorting} on sizes they can finish.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuadraticSortingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    public InputDistribution distribution;
+
+    private final Sorting sorting = new Sorting();
+    private int[] ints;
+    private Integer[] boxed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ints = distribution.ints(size, 42);
+        boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public int[] bubbleSort() {
+        return sorting.bubbleSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] selectionSort() {
+        return sorting.selectionSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] insertionSort() {
+        return sorting.insertionSort(ints.clone());
+    }
+
+    @Benchmark
+    public Integer[] boxedInsertionSort() {
+        return sorting.insertionSort(boxed.clone());
+    }
+}
@@ -0,0 +1,77 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.datastructures.queues.Queue;
+import com.algolib.core.datastructures.queues.QueueCircularArray;
+import com.algolib.core.datastructures.queues.QueueLinkedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmarks every {@link Queue} implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueBenchmark {
+
+    public enum Implementation {
+        CIRCULAR_ARRAY(QueueCircularArray::new),
+        LINKED_LIST(capacity -> new QueueLinkedList<>());
+
+        private final IntFunction<Queue<Integer>> factory;
+
+        Implementation(IntFunction<Queue<Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"CIRCULAR_ARRAY", "LINKED_LIST"})
+    public Implementation implementation;
+
+    private Integer[] values;
+    private Queue<Integer> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = i;
+
+        filled = implementation.factory.apply(size);
+        for (Integer value : values) filled.enqueue(value);
+    }
+
+    @Benchmark
+    public int enqueueThenDequeueAll() {
+        Queue<Integer> queue = implementation.factory.apply(size);
+        for (Integer value : values) queue.enqueue(value);
+
+        int sum = 0;
+        while (!queue.isEmpty()) sum += queue.dequeue();
+        return sum;
+    }
+
+    @Benchmark
+    public int interleavedEnqueueDequeue() {
+        // Keeps the queue short so the circular array wraps around repeatedly
+        Queue<Integer> queue = implementation.factory.apply(16);
+        int sum = 0;
+        for (Integer value : values) {
+            queue.enqueue(value);
+            if (queue.size() == 16) sum += queue.dequeue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return filled.contains(-1);
+    }
+}
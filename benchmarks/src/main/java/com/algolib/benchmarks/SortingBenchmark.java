@@ -0,0 +1,176 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the O(n log n) and linear-time algorithms in {@link Sorting}.
+ *
+ * <p>Each invocation sorts a fresh copy of the generated input; {@link #copyOnly()} measures
+ * that copy on its own so it can be subtracted. JDK sorts are included as baselines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    public InputDistribution distribution;
+
+    private final Sorting sorting = new Sorting();
+    private int[] ints;
+    private long[] longs;
+    private Integer[] boxed;
+    private int[] mergeBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ints = distribution.ints(size, 42);
+        longs = distribution.longs(size, 42);
+        boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+        mergeBuffer = new int[Sorting.mergeBufferLength(size)];
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return ints.clone();
+    }
+
+    @Benchmark
+    public int[] jdkArraysSort() {
+        int[] arr = ints.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] jdkParallelSort() {
+        int[] arr = ints.clone();
+        Arrays.parallelSort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public int[] selectedSort() {
+        return sorting.sort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        return sorting.quickSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] mergeSort() {
+        return sorting.mergeSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] mergeSortReusedBuffer() {
+        int[] arr = ints.clone();
+        return sorting.mergeSort(arr, 0, arr.length, mergeBuffer);
+    }
+
+    @Benchmark
+    public int[] bottomUpMergeSort() {
+        int[] arr = ints.clone();
+        return sorting.bottomUpMergeSort(arr, 0, arr.length, mergeBuffer);
+    }
+
+    @Benchmark
+    public int[] adaptiveSort() {
+        return sorting.adaptiveSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        return sorting.radixSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] countingSort() {
+        return sorting.countingSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] parallelMergeSort() {
+        return sorting.parallelMergeSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] parallelSampleSort() {
+        return sorting.parallelSampleSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] parallelRadixSort() {
+        return sorting.parallelRadixSort(ints.clone());
+    }
+
+    @Benchmark
+    public int selectMedian() {
+        int[] arr = ints.clone();
+        return sorting.select(arr, arr.length / 2);
+    }
+
+    @Benchmark
+    public int[] partialSortTop100() {
+        int[] arr = ints.clone();
+        return sorting.partialSort(arr, Math.min(100, arr.length));
+    }
+
+    @Benchmark
+    public long[] quickSortLongs() {
+        return sorting.quickSort(longs.clone());
+    }
+
+    @Benchmark
+    public long[] radixSortLongs() {
+        return sorting.radixSort(longs.clone());
+    }
+
+    @Benchmark
+    public long[] adaptiveSortLongs() {
+        return sorting.adaptiveSort(longs.clone());
+    }
+
+    @Benchmark
+    public Integer[] boxedQuickSort() {
+        return sorting.quickSort(boxed.clone());
+    }
+
+    @Benchmark
+    public Integer[] boxedMergeSort() {
+        return sorting.mergeSort(boxed.clone());
+    }
+
+    @Benchmark
+    public Integer[] comparatorQuickSort() {
+        return sorting.quickSort(boxed.clone(), Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public Integer[] comparatorMergeSort() {
+        return sorting.mergeSort(boxed.clone(), Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public Integer[] comparatorAdaptiveSort() {
+        return sorting.adaptiveSort(boxed.clone(), Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public Integer[] radixSortByKey() {
+        return sorting.radixSort(boxed.clone(), Integer::intValue);
+    }
+}
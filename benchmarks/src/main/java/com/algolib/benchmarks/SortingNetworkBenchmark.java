@@ -0,0 +1,93 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Sorting#networkSort(int[], int, int)} with insertion sort and the JDK sort on
+ * the tiny ranges that dominate a quick or merge sort's leaves.
+ *
+ * <p>Each invocation copies {@link #BATCH} consecutive ranges of {@code size} elements and sorts
+ * every one of them, so the per-call overhead of a single tiny sort does not hide the kernels.
+ * {@link #copyOnly()} measures the copy on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortingNetworkBenchmark {
+
+    // Ranges sorted per invocation
+    private static final int BATCH = 4096;
+
+    @Param({"4", "8", "12", "16"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "FEW_UNIQUE"})
+    public InputDistribution distribution;
+
+    private final Sorting sorting = new Sorting();
+    private int[] ints;
+    private long[] longs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ints = distribution.ints(size * BATCH, 42);
+        longs = distribution.longs(size * BATCH, 42);
+    }
+
+    @Benchmark
+    public int[] copyOnly() {
+        return ints.clone();
+    }
+
+    @Benchmark
+    public int[] networkSort() {
+        int[] arr = ints.clone();
+        for (int low = 0; low < arr.length; low += size) {
+            sorting.networkSort(arr, low, low + size);
+        }
+        return arr;
+    }
+
+    @Benchmark
+    public int[] insertionSort() {
+        int[] arr = ints.clone();
+        for (int low = 0; low < arr.length; low += size) {
+            sorting.insertionSort(arr, low, low + size);
+        }
+        return arr;
+    }
+
+    @Benchmark
+    public int[] jdkArraysSort() {
+        int[] arr = ints.clone();
+        for (int low = 0; low < arr.length; low += size) {
+            Arrays.sort(arr, low, low + size);
+        }
+        return arr;
+    }
+
+    @Benchmark
+    public long[] networkSortLongs() {
+        long[] arr = longs.clone();
+        for (int low = 0; low < arr.length; low += size) {
+            sorting.networkSort(arr, low, low + size);
+        }
+        return arr;
+    }
+
+    @Benchmark
+    public long[] insertionSortLongs() {
+        long[] arr = longs.clone();
+        for (int low = 0; low < arr.length; low += size) {
+            sorting.insertionSort(arr, low, low + size);
+        }
+        return arr;
+    }
+}
@@ -0,0 +1,72 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.datastructures.stacks.Stack;
+import com.algolib.core.datastructures.stacks.StackArray;
+import com.algolib.core.datastructures.stacks.StackArrayList;
+import com.algolib.core.datastructures.stacks.StackLinkedList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks every {@link Stack} implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StackBenchmark {
+
+    public enum Implementation {
+        ARRAY(StackArray::new),
+        ARRAY_LIST(StackArrayList::new),
+        LINKED_LIST(StackLinkedList::new);
+
+        private final Supplier<Stack<Integer>> factory;
+
+        Implementation(Supplier<Stack<Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"ARRAY", "ARRAY_LIST", "LINKED_LIST"})
+    public Implementation implementation;
+
+    private Integer[] values;
+    private Stack<Integer> filled;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[size];
+        for (int i = 0; i < size; i++) values[i] = i;
+
+        filled = implementation.factory.get();
+        for (Integer value : values) filled.push(value);
+    }
+
+    @Benchmark
+    public int pushThenPopAll() {
+        Stack<Integer> stack = implementation.factory.get();
+        for (Integer value : values) stack.push(value);
+
+        int sum = 0;
+        while (!stack.isEmpty()) sum += stack.pop();
+        return sum;
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return filled.contains(-1);
+    }
+
+    @Benchmark
+    public Stack<Integer> reverseCopy() {
+        return filled.reverseCopy();
+    }
+}
@@ -0,0 +1,76 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Sorting#multikeyQuickSort(String[])} with {@link Arrays#sort(Object[])}
+ * on short random words and on URLs that share a long common prefix.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringSortBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"WORDS", "URLS"})
+    public String shape;
+
+    private final Sorting sorting = new Sorting();
+    private String[] strings;
+    private byte[][] bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        strings = new String[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = shape.equals("URLS")
+                    ? "https://service.example.com/api/v2/users/" + random.nextInt(size) + "/events?page=" + random.nextInt(100)
+                    : randomWord(random);
+        }
+        bytes = Arrays.stream(strings).map(s -> s.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    private static String randomWord(Random random) {
+        char[] chars = new char[8 + random.nextInt(12)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public String[] multikeyQuickSort() {
+        return sorting.multikeyQuickSort(strings.clone());
+    }
+
+    @Benchmark
+    public String[] jdkArraysSort() {
+        String[] arr = strings.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public byte[][] multikeyQuickSortBytes() {
+        return sorting.multikeyQuickSort(bytes.clone());
+    }
+
+    @Benchmark
+    public byte[][] jdkArraysSortBytes() {
+        byte[][] arr = bytes.clone();
+        Arrays.sort(arr, Arrays::compareUnsigned);
+        return arr;
+    }
+}
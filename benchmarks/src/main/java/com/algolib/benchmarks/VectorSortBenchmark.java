@@ -0,0 +1,68 @@
+package com.algolib.benchmarks;
+
+import com.algolib.core.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Vector API kernels behind {@link Sorting#vectorSort(int[])} with the scalar
+ * quick sort and the JDK sort.
+ *
+ * <p>The forked JVM resolves {@code jdk.incubator.vector}; {@link #setUp()} fails the trial if
+ * the kernels are still not in use, so a run never silently measures the scalar fallback.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class VectorSortBenchmark {
+
+    @Param({"64", "10000", "1000000"})
+    public int size;
+
+    @Param({"RANDOM", "SORTED", "FEW_UNIQUE"})
+    public InputDistribution distribution;
+
+    private final Sorting sorting = new Sorting();
+    private int[] ints;
+    private long[] longs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (!Sorting.isVectorSortAccelerated())
+            throw new IllegalStateException("Vector API kernels are not available on this JVM or CPU");
+        ints = distribution.ints(size, 42);
+        longs = distribution.longs(size, 42);
+    }
+
+    @Benchmark
+    public int[] vectorSort() {
+        return sorting.vectorSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] scalarQuickSort() {
+        return sorting.quickSort(ints.clone());
+    }
+
+    @Benchmark
+    public int[] jdkArraysSort() {
+        int[] arr = ints.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+
+    @Benchmark
+    public long[] vectorSortLongs() {
+        return sorting.vectorSort(longs.clone());
+    }
+
+    @Benchmark
+    public long[] scalarQuickSortLongs() {
+        return sorting.quickSort(longs.clone());
+    }
+}
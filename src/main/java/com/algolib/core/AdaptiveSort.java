@@ -0,0 +1,1421 @@
+package com.algolib.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * TimSort-style natural merge sort kernels backing {@link Sorting#adaptiveSort(int[])} and
+ * {@link Sorting#adaptiveSort(Object[], Comparator)}.
+ *
+ * <p>The input is scanned for ascending and strictly descending runs (the latter are
+ * reversed in place). Runs shorter than a computed minimum are extended with binary
+ * insertion sort, then pushed on a stack and merged so run lengths stay balanced.
+ * Merges stage only the shorter run and switch to galloping when one side keeps
+ * winning, so an already sorted range costs a single O(n) scan.
+ */
+final class AdaptiveSort {
+
+    // Ranges shorter than this are sorted with binary insertion sort alone
+    static final int MIN_MERGE = 32;
+
+    // Consecutive wins before a merge switches to galloping
+    static final int MIN_GALLOP = 7;
+
+    // Enough pending runs for any array length given the stack invariants
+    private static final int MAX_RUN_STACK = 49;
+
+    private AdaptiveSort() {
+    }
+
+    // Returns k in [MIN_MERGE / 2, MIN_MERGE] so that length / k is close to a power of two
+    static int minRunLength(int length) {
+        int r = 0;
+        while (length >= MIN_MERGE) {
+            r |= (length & 1);
+            length >>= 1;
+        }
+        return length + r;
+    }
+
+    /**
+     * Run-merging state for a single {@code int[]} sort.
+     */
+    static final class Ints {
+        private final int[] a;
+        private int[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private Ints(int[] a) {
+            this.a = a;
+        }
+
+        static void sort(int[] a, int low, int high) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+
+            // Short ranges: one run plus binary insertion, no merging
+            if (remaining < MIN_MERGE) {
+                int initRunLen = countRunAndMakeAscending(a, low, high);
+                binaryInsertionSort(a, low, high, low + initRunLen);
+                return;
+            }
+
+            Ints sorter = new Ints(a);
+            int minRun = minRunLength(remaining);
+            do {
+                int runLength = countRunAndMakeAscending(a, low, high);
+
+                // Extend short runs to minRun with binary insertion sort
+                if (runLength < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + force, low + runLength);
+                    runLength = force;
+                }
+
+                sorter.pushRun(low, runLength);
+                sorter.mergeCollapse();
+
+                low += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static int countRunAndMakeAscending(int[] a, int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+
+            if (a[runHigh++] < a[low]) {
+                while (runHigh < high && a[runHigh] < a[runHigh - 1]) runHigh++;
+                reverseRange(a, low, runHigh);
+            } else {
+                while (runHigh < high && a[runHigh] >= a[runHigh - 1]) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        private static void reverseRange(int[] a, int low, int high) {
+            high--;
+            while (low < high) {
+                int t = a[low];
+                a[low++] = a[high];
+                a[high--] = t;
+            }
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static void binaryInsertionSort(int[] a, int low, int high, int start) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                int pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (pivot < a[mid]) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges adjacent runs until the stack lengths shrink at least as fast as Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run1 that are already below run2 stay where they are
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Elements of run2 that are already above run1 stay where they are
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLow(base1, len1, base2, len2);
+            else mergeHigh(base1, len1, base2, len2);
+        }
+
+        // Merges left to right, staging the shorter run1 in tmp
+        private void mergeLow(int base1, int len1, int base2, int len2) {
+            int[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+            int end2 = base2 + len2;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                // One element at a time until one run keeps winning
+                do {
+                    if (a[cursor2] < t[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 == end2) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 == len1) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Galloping: copy whole blocks found by exponential search
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1 - cursor1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        if (cursor1 == len1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (cursor2 == end2) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, end2 - cursor2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        if (cursor2 == end2) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (cursor1 == len1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                // Penalise leaving gallop mode
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run2 is already in place
+            if (cursor1 < len1) System.arraycopy(t, cursor1, a, dest, len1 - cursor1);
+        }
+
+        // Merges right to left, staging the shorter run2 in tmp
+        private void mergeHigh(int base1, int len1, int base2, int len2) {
+            int[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                do {
+                    if (t[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 < base1) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 < 0) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    int remaining1 = cursor1 - base1 + 1;
+                    count1 = remaining1 - gallopRight(t[cursor2], a, base1, remaining1, remaining1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (cursor1 < base1) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (cursor2 < 0) break outer;
+
+                    count2 = cursor2 + 1 - gallopLeft(a[cursor1], t, 0, cursor2 + 1, cursor2);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (cursor2 < 0) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (cursor1 < base1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run1 is already in place
+            if (cursor2 >= 0) System.arraycopy(t, 0, a, dest - cursor2, cursor2 + 1);
+        }
+
+        /**
+         * Finds where to insert key into the sorted {@code a[base, base + length)}, before any
+         * equal elements, galloping outward from {@code hint} before binary searching.
+         */
+        private static int gallopLeft(int key, int[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (key > a[base + hint]) {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && key > a[base + hint + offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && key <= a[base + hint - offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (key > a[base + mid]) lastOffset = mid + 1;
+                else offset = mid;
+            }
+            return offset;
+        }
+
+        // Like gallopLeft, but inserts after any equal elements
+        private static int gallopRight(int key, int[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (key < a[base + hint]) {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && key < a[base + hint - offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            } else {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && key >= a[base + hint + offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (key < a[base + mid]) offset = mid;
+                else lastOffset = mid + 1;
+            }
+            return offset;
+        }
+
+        private int[] ensureCapacity(int minCapacity) {
+            if (tmp == null || tmp.length < minCapacity) {
+                // Grow geometrically, but never past half the array
+                int capacity = Integer.highestOneBit(minCapacity) << 1;
+                if (capacity < 0 || capacity > a.length >>> 1) capacity = Math.max(minCapacity, a.length >>> 1);
+                tmp = new int[capacity];
+            }
+            return tmp;
+        }
+    }
+
+    /**
+     * Run-merging state for a single {@code long[]} sort.
+     */
+    static final class Longs {
+        private final long[] a;
+        private long[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private Longs(long[] a) {
+            this.a = a;
+        }
+
+        static void sort(long[] a, int low, int high) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+
+            // Short ranges: one run plus binary insertion, no merging
+            if (remaining < MIN_MERGE) {
+                int initRunLen = countRunAndMakeAscending(a, low, high);
+                binaryInsertionSort(a, low, high, low + initRunLen);
+                return;
+            }
+
+            Longs sorter = new Longs(a);
+            int minRun = minRunLength(remaining);
+            do {
+                int runLength = countRunAndMakeAscending(a, low, high);
+
+                // Extend short runs to minRun with binary insertion sort
+                if (runLength < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + force, low + runLength);
+                    runLength = force;
+                }
+
+                sorter.pushRun(low, runLength);
+                sorter.mergeCollapse();
+
+                low += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static int countRunAndMakeAscending(long[] a, int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+
+            if (a[runHigh++] < a[low]) {
+                while (runHigh < high && a[runHigh] < a[runHigh - 1]) runHigh++;
+                reverseRange(a, low, runHigh);
+            } else {
+                while (runHigh < high && a[runHigh] >= a[runHigh - 1]) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        private static void reverseRange(long[] a, int low, int high) {
+            high--;
+            while (low < high) {
+                long t = a[low];
+                a[low++] = a[high];
+                a[high--] = t;
+            }
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static void binaryInsertionSort(long[] a, int low, int high, int start) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                long pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (pivot < a[mid]) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges adjacent runs until the stack lengths shrink at least as fast as Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run1 that are already below run2 stay where they are
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Elements of run2 that are already above run1 stay where they are
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLow(base1, len1, base2, len2);
+            else mergeHigh(base1, len1, base2, len2);
+        }
+
+        // Merges left to right, staging the shorter run1 in tmp
+        private void mergeLow(int base1, int len1, int base2, int len2) {
+            long[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+            int end2 = base2 + len2;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                // One element at a time until one run keeps winning
+                do {
+                    if (a[cursor2] < t[cursor1]) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 == end2) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 == len1) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Galloping: copy whole blocks found by exponential search
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1 - cursor1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        if (cursor1 == len1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (cursor2 == end2) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, end2 - cursor2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        if (cursor2 == end2) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (cursor1 == len1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                // Penalise leaving gallop mode
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run2 is already in place
+            if (cursor1 < len1) System.arraycopy(t, cursor1, a, dest, len1 - cursor1);
+        }
+
+        // Merges right to left, staging the shorter run2 in tmp
+        private void mergeHigh(int base1, int len1, int base2, int len2) {
+            long[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                do {
+                    if (t[cursor2] < a[cursor1]) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 < base1) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 < 0) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    int remaining1 = cursor1 - base1 + 1;
+                    count1 = remaining1 - gallopRight(t[cursor2], a, base1, remaining1, remaining1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (cursor1 < base1) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (cursor2 < 0) break outer;
+
+                    count2 = cursor2 + 1 - gallopLeft(a[cursor1], t, 0, cursor2 + 1, cursor2);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (cursor2 < 0) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (cursor1 < base1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run1 is already in place
+            if (cursor2 >= 0) System.arraycopy(t, 0, a, dest - cursor2, cursor2 + 1);
+        }
+
+        /**
+         * Finds where to insert key into the sorted {@code a[base, base + length)}, before any
+         * equal elements, galloping outward from {@code hint} before binary searching.
+         */
+        private static int gallopLeft(long key, long[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (key > a[base + hint]) {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && key > a[base + hint + offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && key <= a[base + hint - offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (key > a[base + mid]) lastOffset = mid + 1;
+                else offset = mid;
+            }
+            return offset;
+        }
+
+        // Like gallopLeft, but inserts after any equal elements
+        private static int gallopRight(long key, long[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (key < a[base + hint]) {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && key < a[base + hint - offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            } else {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && key >= a[base + hint + offset]) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (key < a[base + mid]) offset = mid;
+                else lastOffset = mid + 1;
+            }
+            return offset;
+        }
+
+        private long[] ensureCapacity(int minCapacity) {
+            if (tmp == null || tmp.length < minCapacity) {
+                // Grow geometrically, but never past half the array
+                int capacity = Integer.highestOneBit(minCapacity) << 1;
+                if (capacity < 0 || capacity > a.length >>> 1) capacity = Math.max(minCapacity, a.length >>> 1);
+                tmp = new long[capacity];
+            }
+            return tmp;
+        }
+    }
+
+    /**
+     * Run-merging state for a single {@code double[]} sort.
+     */
+    static final class Doubles {
+        private final double[] a;
+        private double[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private Doubles(double[] a) {
+            this.a = a;
+        }
+
+        static void sort(double[] a, int low, int high) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+
+            // Short ranges: one run plus binary insertion, no merging
+            if (remaining < MIN_MERGE) {
+                int initRunLen = countRunAndMakeAscending(a, low, high);
+                binaryInsertionSort(a, low, high, low + initRunLen);
+                return;
+            }
+
+            Doubles sorter = new Doubles(a);
+            int minRun = minRunLength(remaining);
+            do {
+                int runLength = countRunAndMakeAscending(a, low, high);
+
+                // Extend short runs to minRun with binary insertion sort
+                if (runLength < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + force, low + runLength);
+                    runLength = force;
+                }
+
+                sorter.pushRun(low, runLength);
+                sorter.mergeCollapse();
+
+                low += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static int countRunAndMakeAscending(double[] a, int low, int high) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+
+            if (Double.compare(a[runHigh++], a[low]) < 0) {
+                while (runHigh < high && Double.compare(a[runHigh], a[runHigh - 1]) < 0) runHigh++;
+                reverseRange(a, low, runHigh);
+            } else {
+                while (runHigh < high && Double.compare(a[runHigh], a[runHigh - 1]) >= 0) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        private static void reverseRange(double[] a, int low, int high) {
+            high--;
+            while (low < high) {
+                double t = a[low];
+                a[low++] = a[high];
+                a[high--] = t;
+            }
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static void binaryInsertionSort(double[] a, int low, int high, int start) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                double pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (Double.compare(pivot, a[mid]) < 0) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges adjacent runs until the stack lengths shrink at least as fast as Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run1 that are already below run2 stay where they are
+            int k = gallopRight(a[base2], a, base1, len1, 0);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Elements of run2 that are already above run1 stay where they are
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLow(base1, len1, base2, len2);
+            else mergeHigh(base1, len1, base2, len2);
+        }
+
+        // Merges left to right, staging the shorter run1 in tmp
+        private void mergeLow(int base1, int len1, int base2, int len2) {
+            double[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+            int end2 = base2 + len2;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                // One element at a time until one run keeps winning
+                do {
+                    if (Double.compare(a[cursor2], t[cursor1]) < 0) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 == end2) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 == len1) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Galloping: copy whole blocks found by exponential search
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1 - cursor1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        if (cursor1 == len1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (cursor2 == end2) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, end2 - cursor2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        if (cursor2 == end2) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (cursor1 == len1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                // Penalise leaving gallop mode
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run2 is already in place
+            if (cursor1 < len1) System.arraycopy(t, cursor1, a, dest, len1 - cursor1);
+        }
+
+        // Merges right to left, staging the shorter run2 in tmp
+        private void mergeHigh(int base1, int len1, int base2, int len2) {
+            double[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                do {
+                    if (Double.compare(t[cursor2], a[cursor1]) < 0) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 < base1) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 < 0) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    int remaining1 = cursor1 - base1 + 1;
+                    count1 = remaining1 - gallopRight(t[cursor2], a, base1, remaining1, remaining1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (cursor1 < base1) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (cursor2 < 0) break outer;
+
+                    count2 = cursor2 + 1 - gallopLeft(a[cursor1], t, 0, cursor2 + 1, cursor2);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (cursor2 < 0) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (cursor1 < base1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run1 is already in place
+            if (cursor2 >= 0) System.arraycopy(t, 0, a, dest - cursor2, cursor2 + 1);
+        }
+
+        /**
+         * Finds where to insert key into the sorted {@code a[base, base + length)}, before any
+         * equal elements, galloping outward from {@code hint} before binary searching.
+         */
+        private static int gallopLeft(double key, double[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (Double.compare(key, a[base + hint]) > 0) {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && Double.compare(key, a[base + hint + offset]) > 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && Double.compare(key, a[base + hint - offset]) <= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (Double.compare(key, a[base + mid]) > 0) lastOffset = mid + 1;
+                else offset = mid;
+            }
+            return offset;
+        }
+
+        // Like gallopLeft, but inserts after any equal elements
+        private static int gallopRight(double key, double[] a, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (Double.compare(key, a[base + hint]) < 0) {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && Double.compare(key, a[base + hint - offset]) < 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            } else {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && Double.compare(key, a[base + hint + offset]) >= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (Double.compare(key, a[base + mid]) < 0) offset = mid;
+                else lastOffset = mid + 1;
+            }
+            return offset;
+        }
+
+        private double[] ensureCapacity(int minCapacity) {
+            if (tmp == null || tmp.length < minCapacity) {
+                // Grow geometrically, but never past half the array
+                int capacity = Integer.highestOneBit(minCapacity) << 1;
+                if (capacity < 0 || capacity > a.length >>> 1) capacity = Math.max(minCapacity, a.length >>> 1);
+                tmp = new double[capacity];
+            }
+            return tmp;
+        }
+    }
+
+    /**
+     * Run-merging state for a single {@code T[]} sort.
+     */
+    static final class Generic<T> {
+        private final T[] a;
+        private final Comparator<? super T> c;
+        private T[] tmp;
+        private int minGallop = MIN_GALLOP;
+        private final int[] runBase = new int[MAX_RUN_STACK];
+        private final int[] runLen = new int[MAX_RUN_STACK];
+        private int stackSize;
+
+        private Generic(T[] a, Comparator<? super T> c) {
+            this.a = a;
+            this.c = c;
+        }
+
+        static <T> void sort(T[] a, int low, int high, Comparator<? super T> c) {
+            int remaining = high - low;
+            if (remaining < 2) return;
+
+            // Short ranges: one run plus binary insertion, no merging
+            if (remaining < MIN_MERGE) {
+                int initRunLen = countRunAndMakeAscending(a, low, high, c);
+                binaryInsertionSort(a, low, high, low + initRunLen, c);
+                return;
+            }
+
+            Generic<T> sorter = new Generic<>(a, c);
+            int minRun = minRunLength(remaining);
+            do {
+                int runLength = countRunAndMakeAscending(a, low, high, c);
+
+                // Extend short runs to minRun with binary insertion sort
+                if (runLength < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(a, low, low + force, low + runLength, c);
+                    runLength = force;
+                }
+
+                sorter.pushRun(low, runLength);
+                sorter.mergeCollapse();
+
+                low += runLength;
+                remaining -= runLength;
+            } while (remaining != 0);
+
+            sorter.mergeForceCollapse();
+        }
+
+        // Length of the run starting at low; a strictly descending run is reversed in place
+        private static <T> int countRunAndMakeAscending(T[] a, int low, int high, Comparator<? super T> c) {
+            int runHigh = low + 1;
+            if (runHigh == high) return 1;
+
+            if (c.compare(a[runHigh++], a[low]) < 0) {
+                while (runHigh < high && c.compare(a[runHigh], a[runHigh - 1]) < 0) runHigh++;
+                reverseRange(a, low, runHigh);
+            } else {
+                while (runHigh < high && c.compare(a[runHigh], a[runHigh - 1]) >= 0) runHigh++;
+            }
+            return runHigh - low;
+        }
+
+        private static <T> void reverseRange(T[] a, int low, int high) {
+            high--;
+            while (low < high) {
+                T t = a[low];
+                a[low++] = a[high];
+                a[high--] = t;
+            }
+        }
+
+        // Sorts [low, high) given that [low, start) is already sorted
+        private static <T> void binaryInsertionSort(T[] a, int low, int high, int start, Comparator<? super T> c) {
+            if (start == low) start++;
+            for (; start < high; start++) {
+                T pivot = a[start];
+                int left = low, right = start;
+                while (left < right) {
+                    int mid = (left + right) >>> 1;
+                    if (c.compare(pivot, a[mid]) < 0) right = mid;
+                    else left = mid + 1;
+                }
+                System.arraycopy(a, left, a, left + 1, start - left);
+                a[left] = pivot;
+            }
+        }
+
+        private void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLen[stackSize] = length;
+            stackSize++;
+        }
+
+        // Merges adjacent runs until the stack lengths shrink at least as fast as Fibonacci numbers
+        private void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                } else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i) {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // Elements of run1 that are already below run2 stay where they are
+            int k = gallopRight(a[base2], a, base1, len1, 0, c);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+
+            // Elements of run2 that are already above run1 stay where they are
+            len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1, c);
+            if (len2 == 0) return;
+
+            if (len1 <= len2) mergeLow(base1, len1, base2, len2);
+            else mergeHigh(base1, len1, base2, len2);
+        }
+
+        // Merges left to right, staging the shorter run1 in tmp
+        private void mergeLow(int base1, int len1, int base2, int len2) {
+            T[] t = ensureCapacity(len1);
+            System.arraycopy(a, base1, t, 0, len1);
+
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+            int end2 = base2 + len2;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                // One element at a time until one run keeps winning
+                do {
+                    if (c.compare(a[cursor2], t[cursor1]) < 0) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 == end2) break outer;
+                    } else {
+                        a[dest++] = t[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 == len1) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Galloping: copy whole blocks found by exponential search
+                do {
+                    count1 = gallopRight(a[cursor2], t, cursor1, len1 - cursor1, 0, c);
+                    if (count1 != 0) {
+                        System.arraycopy(t, cursor1, a, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        if (cursor1 == len1) break outer;
+                    }
+                    a[dest++] = a[cursor2++];
+                    if (cursor2 == end2) break outer;
+
+                    count2 = gallopLeft(t[cursor1], a, cursor2, end2 - cursor2, 0, c);
+                    if (count2 != 0) {
+                        System.arraycopy(a, cursor2, a, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        if (cursor2 == end2) break outer;
+                    }
+                    a[dest++] = t[cursor1++];
+                    if (cursor1 == len1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                // Penalise leaving gallop mode
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run2 is already in place
+            if (cursor1 < len1) System.arraycopy(t, cursor1, a, dest, len1 - cursor1);
+        }
+
+        // Merges right to left, staging the shorter run2 in tmp
+        private void mergeHigh(int base1, int len1, int base2, int len2) {
+            T[] t = ensureCapacity(len2);
+            System.arraycopy(a, base2, t, 0, len2);
+
+            int cursor1 = base1 + len1 - 1, cursor2 = len2 - 1, dest = base2 + len2 - 1;
+            int gallop = minGallop;
+
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+
+                do {
+                    if (c.compare(t[cursor2], a[cursor1]) < 0) {
+                        a[dest--] = a[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (cursor1 < base1) break outer;
+                    } else {
+                        a[dest--] = t[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (cursor2 < 0) break outer;
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    int remaining1 = cursor1 - base1 + 1;
+                    count1 = remaining1 - gallopRight(t[cursor2], a, base1, remaining1, remaining1 - 1, c);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                        if (cursor1 < base1) break outer;
+                    }
+                    a[dest--] = t[cursor2--];
+                    if (cursor2 < 0) break outer;
+
+                    count2 = cursor2 + 1 - gallopLeft(a[cursor1], t, 0, cursor2 + 1, cursor2, c);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        System.arraycopy(t, cursor2 + 1, a, dest + 1, count2);
+                        if (cursor2 < 0) break outer;
+                    }
+                    a[dest--] = a[cursor1--];
+                    if (cursor1 < base1) break outer;
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                if (gallop < 0) gallop = 0;
+                gallop += 2;
+            }
+            minGallop = Math.max(1, gallop);
+
+            // Whatever remains of run1 is already in place
+            if (cursor2 >= 0) System.arraycopy(t, 0, a, dest - cursor2, cursor2 + 1);
+        }
+
+        /**
+         * Finds where to insert key into the sorted {@code a[base, base + length)}, before any
+         * equal elements, galloping outward from {@code hint} before binary searching.
+         */
+        private static <T> int gallopLeft(T key, T[] a, int base, int length, int hint, Comparator<? super T> c) {
+            int lastOffset = 0, offset = 1;
+            if (c.compare(key, a[base + hint]) > 0) {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && c.compare(key, a[base + hint + offset]) > 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && c.compare(key, a[base + hint - offset]) <= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (c.compare(key, a[base + mid]) > 0) lastOffset = mid + 1;
+                else offset = mid;
+            }
+            return offset;
+        }
+
+        // Like gallopLeft, but inserts after any equal elements
+        private static <T> int gallopRight(T key, T[] a, int base, int length, int hint, Comparator<? super T> c) {
+            int lastOffset = 0, offset = 1;
+            if (c.compare(key, a[base + hint]) < 0) {
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && c.compare(key, a[base + hint - offset]) < 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                int t = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - t;
+            } else {
+                int maxOffset = length - hint;
+                while (offset < maxOffset && c.compare(key, a[base + hint + offset]) >= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) offset = maxOffset;
+                }
+                if (offset > maxOffset) offset = maxOffset;
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (c.compare(key, a[base + mid]) < 0) offset = mid;
+                else lastOffset = mid + 1;
+            }
+            return offset;
+        }
+
+        private T[] ensureCapacity(int minCapacity) {
+            if (tmp == null || tmp.length < minCapacity) {
+                // Grow geometrically, but never past half the array
+                int capacity = Integer.highestOneBit(minCapacity) << 1;
+                if (capacity < 0 || capacity > a.length >>> 1) capacity = Math.max(minCapacity, a.length >>> 1);
+                tmp = Arrays.copyOf(a, capacity);
+            }
+            return tmp;
+        }
+    }
+}
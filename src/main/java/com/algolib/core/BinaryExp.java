@@ -3,8 +3,13 @@ package com.algolib.core;
 import java.util.Map;
 
 public class BinaryExp {
+    // Permutations are in scatter form: perm[i] is the position element i moves to.
+    // Sorting.argsort returns gather form (order[r] is the index of the r-th smallest);
+    // invert turns one into the other.
+
     // Compose: result = b ∘ a (i.e., apply 'a' then 'b')
-    private int[] compose(int[] a, int[] b) {
+    public int[] compose(int[] a, int[] b) {
+        checkLength(a.length, b.length);
         int[] result = new int[a.length];
         for (int i = 0; i < a.length; i++) {
             result[i] = b[a[i]];
@@ -12,8 +17,25 @@ public class BinaryExp {
         return result;
     }
 
+    // Inverse permutation: inverse[perm[i]] = i, so compose(perm, inverse) is the identity
+    public int[] invert(int[] perm) {
+        int[] inverse = new int[perm.length];
+        boolean[] seen = new boolean[perm.length];
+        for (int i = 0; i < perm.length; i++) {
+            int target = perm[i];
+            if (target < 0 || target >= perm.length || seen[target])
+                throw new IllegalArgumentException("Not a permutation, bad target " + target + " at index " + i);
+            seen[target] = true;
+            inverse[target] = i;
+        }
+        return inverse;
+    }
+
     // Binary exponentiation of a permutation
-    private int[] permutePower(int[] base, int exponent) {
+    public int[] permutePower(int[] base, int exponent) {
+        if (exponent < 0)
+            throw new IllegalArgumentException("Exponent must be non-negative: " + exponent);
+
         int[] result = new int[base.length];
         for (int i = 0; i < base.length; i++) result[i] = i; // Identity
 
@@ -27,15 +49,44 @@ public class BinaryExp {
         return result;
     }
 
-    // Apply a permutation to an array
-    private String[] apply(String[] arr, int[] perm) {
-        String[] result = new String[arr.length];
+    // Apply a permutation to an array: result[perm[i]] = arr[i]
+    public <T> T[] apply(T[] arr, int[] perm) {
+        checkLength(arr.length, perm.length);
+        T[] result = arr.clone();
+        for (int i = 0; i < arr.length; i++) {
+            result[perm[i]] = arr[i];
+        }
+        return result;
+    }
+
+    public int[] apply(int[] arr, int[] perm) {
+        checkLength(arr.length, perm.length);
+        int[] result = new int[arr.length];
         for (int i = 0; i < arr.length; i++) {
             result[perm[i]] = arr[i];
         }
         return result;
     }
 
+    // Reorder by an index order: result[i] = arr[order[i]], same as apply(arr, invert(order))
+    public <T> T[] gather(T[] arr, int[] order) {
+        checkLength(arr.length, order.length);
+        T[] result = arr.clone();
+        for (int i = 0; i < arr.length; i++) {
+            result[i] = arr[order[i]];
+        }
+        return result;
+    }
+
+    public int[] gather(int[] arr, int[] order) {
+        checkLength(arr.length, order.length);
+        int[] result = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            result[i] = arr[order[i]];
+        }
+        return result;
+    }
+
     public String[] transformN(String[] input, int n, Map<Integer, Integer> map) {
         int len = input.length;
 
@@ -52,4 +103,9 @@ public class BinaryExp {
         int[] poweredPerm = permutePower(perm, n);
         return apply(input, poweredPerm);
     }
+
+    private static void checkLength(int expected, int actual) {
+        if (expected != actual)
+            throw new IllegalArgumentException("Permutation length " + actual + " does not match " + expected);
+    }
 }
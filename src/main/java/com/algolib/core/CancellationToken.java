@@ -0,0 +1,23 @@
+package com.algolib.core;
+
+/**
+ * Lets another thread stop a cancellable sort such as
+ * {@link Sorting#cancellableSort(int[], CancellationToken, SortProgressListener)}.
+ * The sort checks the token between chunks of work and throws
+ * {@link java.util.concurrent.CancellationException} once it is cancelled.
+ */
+public final class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Requests cancellation; sorts using this token stop at their next check. Cannot be undone.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
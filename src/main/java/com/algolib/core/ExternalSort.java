@@ -0,0 +1,323 @@
+package com.algolib.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * External merge sort for files of fixed-width {@code int} or {@code long} records
+ * that do not fit in the heap.
+ *
+ * <p>The input is read in chunks that fit the memory budget, each chunk is sorted with
+ * {@link Sorting#quickSort(int[], int, int)} and written to a temporary run file through a
+ * {@link FileChannel}. Runs are then merged at most {@code mergeFanIn} at a time using a
+ * min-heap over large direct read buffers, repeating passes until one output file remains.
+ *
+ * <p>Records are big-endian, which matches {@link java.io.DataOutputStream}.
+ */
+public class ExternalSort {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+    public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    // Smallest budget that still leaves room for a useful chunk and merge buffers
+    public static final long MIN_MEMORY_BUDGET = 1L << 10;
+
+    // Upper bound for a single read or write buffer
+    private static final int MAX_IO_BUFFER = 1 << 20;
+
+    // While creating runs each of the two I/O buffers takes at most this share of the budget
+    private static final int RUN_PHASE_BUFFER_SHARES = 8;
+
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final int mergeFanIn;
+    private final Sorting sorting = new Sorting();
+
+    /**
+     * Creates an external sorter with the default budget and fan-in, spilling runs to
+     * the system temp directory.
+     */
+    public ExternalSort() {
+        this(DEFAULT_MEMORY_BUDGET, Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_MERGE_FAN_IN);
+    }
+
+    /**
+     * Creates an external sorter.
+     *
+     * @param memoryBudget  approximate bytes used for chunk arrays and merge buffers
+     * @param tempDirectory directory that receives the temporary run files
+     * @param mergeFanIn    maximum number of runs merged in a single pass
+     * @throws IllegalArgumentException if the budget is below {@link #MIN_MEMORY_BUDGET}
+     *                                  or the fan-in is less than 2
+     */
+    public ExternalSort(long memoryBudget, Path tempDirectory, int mergeFanIn) {
+        if (memoryBudget < MIN_MEMORY_BUDGET)
+            throw new IllegalArgumentException("Memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes: " + memoryBudget);
+        if (mergeFanIn < 2)
+            throw new IllegalArgumentException("Merge fan-in must be at least 2: " + mergeFanIn);
+
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.mergeFanIn = mergeFanIn;
+    }
+
+    /**
+     * Sorts a file of 4-byte big-endian {@code int} records into {@code output}.
+     *
+     * @throws IllegalArgumentException if the input length is not a multiple of 4
+     * @throws UncheckedIOException     if reading, spilling or writing fails
+     */
+    public void sortInts(Path input, Path output) {
+        sort(input, output, Integer.BYTES);
+    }
+
+    /**
+     * Sorts a file of 8-byte big-endian {@code long} records into {@code output}.
+     *
+     * @throws IllegalArgumentException if the input length is not a multiple of 8
+     * @throws UncheckedIOException     if reading, spilling or writing fails
+     */
+    public void sortLongs(Path input, Path output) {
+        sort(input, output, Long.BYTES);
+    }
+
+    private void sort(Path input, Path output, int recordBytes) {
+        List<Path> runs = new ArrayList<>();
+        try {
+            long size = Files.size(input);
+            if (size % recordBytes != 0)
+                throw new IllegalArgumentException("File length " + size + " is not a multiple of " + recordBytes + " byte records");
+
+            runs = createRuns(input, recordBytes, size / recordBytes);
+            if (runs.isEmpty()) {
+                writeRun(output, recordBytes, null, new long[0], 0, ioBufferSize(recordBytes, 1));
+                return;
+            }
+
+            // Merge in passes of at most mergeFanIn runs until one pass can produce the output
+            while (runs.size() > mergeFanIn) {
+                List<Path> merged = new ArrayList<>();
+                try {
+                    for (int i = 0; i < runs.size(); i += mergeFanIn) {
+                        List<Path> group = runs.subList(i, Math.min(i + mergeFanIn, runs.size()));
+                        Path run = Files.createTempFile(tempDirectory, "merge-", ".run");
+                        merged.add(run);
+                        mergeRuns(group, run, recordBytes);
+                        deleteAll(group);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    deleteAll(merged);
+                    throw e;
+                }
+                runs = merged;
+            }
+            mergeRuns(runs, output, recordBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteAll(runs);
+        }
+    }
+
+    // Reads budget-sized chunks, sorts each in memory and spills it as a run file. The read and
+    // write buffers come out of the same budget, and the chunk is never longer than the file
+    private List<Path> createRuns(Path input, int recordBytes, long records) throws IOException {
+        int bufferSize = ioBufferSize(recordBytes, RUN_PHASE_BUFFER_SHARES);
+        long chunkBudget = (memoryBudget - 2L * bufferSize) / recordBytes;
+        int chunkLength = (int) Math.max(1, Math.min(Math.min(chunkBudget, records), Integer.MAX_VALUE - 8));
+        int[] intChunk = recordBytes == Integer.BYTES ? new int[chunkLength] : null;
+        long[] longChunk = recordBytes == Long.BYTES ? new long[chunkLength] : null;
+
+        List<Path> runs = new ArrayList<>();
+        try (RunReader in = new RunReader(input, recordBytes, bufferSize)) {
+            while (in.hasNext()) {
+                int count = 0;
+                while (count < chunkLength && in.hasNext()) {
+                    if (intChunk != null) intChunk[count++] = (int) in.next();
+                    else longChunk[count++] = in.next();
+                }
+
+                if (intChunk != null) sorting.quickSort(intChunk, 0, count);
+                else sorting.quickSort(longChunk, 0, count);
+
+                Path run = Files.createTempFile(tempDirectory, "chunk-", ".run");
+                runs.add(run);
+                writeRun(run, recordBytes, intChunk, longChunk, count, bufferSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+        return runs;
+    }
+
+    private void writeRun(Path path, int recordBytes, int[] ints, long[] longs, int count, int bufferSize)
+            throws IOException {
+        try (RunWriter writer = new RunWriter(path, recordBytes, bufferSize)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(ints != null ? ints[i] : longs[i]);
+            }
+        }
+    }
+
+    // k-way merge using a binary min-heap of reader indices keyed by each reader's head record
+    private void mergeRuns(List<Path> runs, Path output, int recordBytes) throws IOException {
+        int k = runs.size();
+        int bufferSize = ioBufferSize(recordBytes, k + 1);
+        RunReader[] readers = new RunReader[k];
+        long[] heads = new long[k];
+        int[] heap = new int[k];
+        int heapSize = 0;
+
+        try (RunWriter writer = new RunWriter(output, recordBytes, bufferSize)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), recordBytes, bufferSize);
+                if (readers[i].hasNext()) {
+                    heads[i] = readers[i].next();
+                    heap[heapSize] = i;
+                    siftUp(heap, heads, heapSize++);
+                }
+            }
+
+            while (heapSize > 0) {
+                int top = heap[0];
+                writer.write(heads[top]);
+
+                if (readers[top].hasNext()) {
+                    heads[top] = readers[top].next();
+                } else {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heads, heapSize);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, long[] heads, int index) {
+        int node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heads[heap[parent]] <= heads[node]) break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = node;
+    }
+
+    private static void siftDown(int[] heap, long[] heads, int size) {
+        if (size == 0) return;
+        int node = heap[0];
+        int index = 0, child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && heads[heap[child + 1]] < heads[heap[child]]) child++;
+            if (heads[node] <= heads[heap[child]]) break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = node;
+    }
+
+    // Splits the budget across the given number of buffers, rounded down to whole records
+    private int ioBufferSize(int recordBytes, int buffers) {
+        long perBuffer = Math.min(memoryBudget / buffers, MAX_IO_BUFFER);
+        return (int) Math.max(recordBytes, perBuffer - perBuffer % recordBytes);
+    }
+
+    private static void deleteAll(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // Best effort cleanup of temporary runs
+            }
+        }
+    }
+
+    /**
+     * Buffered sequential reader over a run file.
+     */
+    private static final class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int recordBytes;
+
+        RunReader(Path path, int recordBytes, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip();
+            this.recordBytes = recordBytes;
+        }
+
+        boolean hasNext() throws IOException {
+            if (buffer.hasRemaining()) return true;
+            buffer.clear();
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until the buffer is full or the channel hits end of file
+            }
+            buffer.flip();
+            return buffer.hasRemaining();
+        }
+
+        long next() {
+            return recordBytes == Integer.BYTES ? buffer.getInt() : buffer.getLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Buffered sequential writer for a run or output file.
+     */
+    private static final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int recordBytes;
+
+        RunWriter(Path path, int recordBytes, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.recordBytes = recordBytes;
+        }
+
+        void write(long value) throws IOException {
+            if (!buffer.hasRemaining()) flush();
+            if (recordBytes == Integer.BYTES) buffer.putInt((int) value);
+            else buffer.putLong(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -3,15 +3,61 @@ package com.algolib.core;
 import com.algolib.utils.helpers.MatrixHelper;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static java.math.BigInteger.ONE;
 import static java.math.BigInteger.ZERO;
 
 public class Fibonacci {
 
+    // Operands at least this many bits long are multiplied with BigInteger.parallelMultiply
+    public static final int PARALLEL_MULTIPLY_THRESHOLD_BITS = 1 << 17;
+
+    // F(92) is the largest Fibonacci number that fits in a long
+    public static final int MAX_LONG_INDEX = 92;
+
+    // F(0) to F(92), filled once when the class loads
+    private static final long[] LONG_VALUES = new long[MAX_LONG_INDEX + 1];
+
+    static {
+        LONG_VALUES[1] = 1;
+        for (int i = 2; i <= MAX_LONG_INDEX; i++) {
+            LONG_VALUES[i] = LONG_VALUES[i - 1] + LONG_VALUES[i - 2];
+        }
+    }
+
+    // Moduli up to this bound are factored by trial division to find their Pisano period
+    public static final long MAX_PISANO_MODULUS = Integer.MAX_VALUE;
+    public static final int DEFAULT_PISANO_MAX_MODULI = 64;
+    public static final int DEFAULT_PISANO_MAX_TABLE_VALUES = 1 << 22;
+
+    private final PisanoCache pisanoCache;
+
+    public Fibonacci() {
+        this(DEFAULT_PISANO_MAX_MODULI, DEFAULT_PISANO_MAX_TABLE_VALUES);
+    }
+
+    /**
+     * Creates an instance whose Pisano cache keeps at most {@code pisanoMaxModuli} moduli and
+     * {@code pisanoMaxTableValues} table entries across them, 4 bytes each.
+     *
+     * @throws IllegalArgumentException if pisanoMaxModuli is less than 1 or pisanoMaxTableValues is negative
+     */
+    public Fibonacci(int pisanoMaxModuli, int pisanoMaxTableValues) {
+        if (pisanoMaxModuli < 1)
+            throw new IllegalArgumentException("Pisano cache must hold at least one modulus: " + pisanoMaxModuli);
+        if (pisanoMaxTableValues < 0)
+            throw new IllegalArgumentException("Pisano table budget must not be negative: " + pisanoMaxTableValues);
+
+        this.pisanoCache = new PisanoCache(pisanoMaxModuli, pisanoMaxTableValues);
+    }
+
+    // Values up to MAX_LONG_INDEX come from the precomputed table; past it the long overflows
     public long fibonacci(int n) {
         if (n <= 0) return 0;
-        if (n == 1) return 1;
+        if (n <= MAX_LONG_INDEX) return LONG_VALUES[n];
 
         long secondLastSum = 0, lastSum = 1;
         for (int i = 2; i <= n; i++) {
@@ -53,4 +99,217 @@ public class Fibonacci {
 
         return result[0][0];
     }
+
+    /**
+     * Computes F(n) by fast doubling, using {@code F(2k) = F(k) * (2F(k+1) - F(k))} and
+     * {@code F(2k+1) = F(k)^2 + F(k+1)^2}: one multiply and two squarings per bit of n, against
+     * the eight multiplies per bit of {@link #fibonacciMatrixExp(int)}. The last bit only needs
+     * F(n), which saves one or two more.
+     *
+     * <p>Once the operands reach {@link #PARALLEL_MULTIPLY_THRESHOLD_BITS} bits the products are
+     * computed with {@link BigInteger#parallelMultiply(BigInteger)} on the common pool.
+     *
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger fibonacciFastDoubling(int n) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + n);
+
+        BigInteger[] half = fibonacciPair(n >>> 1);
+        BigInteger a = half[0], b = half[1];
+        return (n & 1) == 0 ? multiply(a, b.shiftLeft(1).subtract(a)) : multiply(a, a).add(multiply(b, b));
+    }
+
+    // F(n) for 0 <= n <= MAX_LONG_INDEX, straight from the table
+    static long longValue(int n) {
+        return LONG_VALUES[n];
+    }
+
+    // {F(n), F(n+1)} by fast doubling over every bit of n
+    static BigInteger[] fibonacciPair(int n) {
+        if (n <= MAX_LONG_INDEX - 1) {
+            return new BigInteger[]{BigInteger.valueOf(LONG_VALUES[n]), BigInteger.valueOf(LONG_VALUES[n + 1])};
+        }
+
+        BigInteger a = ZERO, b = ONE; // F(k), F(k+1) for k = the bits of n seen so far
+        for (int bit = 31 - Integer.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            BigInteger c = multiply(a, b.shiftLeft(1).subtract(a));
+            BigInteger d = multiply(a, a).add(multiply(b, b));
+            if ((n >>> bit & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return new BigInteger[]{a, b};
+    }
+
+    // multiply(x, x) squares in both paths, BigInteger checks for the same instance
+    static BigInteger multiply(BigInteger x, BigInteger y) {
+        return x.bitLength() >= PARALLEL_MULTIPLY_THRESHOLD_BITS ? x.parallelMultiply(y) : x.multiply(y);
+    }
+
+    /**
+     * Computes F(n) mod {@code modulus} for indices up to {@code Long.MAX_VALUE} with primitive
+     * arithmetic only.
+     *
+     * <p>Each step squares the Fibonacci matrix {@code [[F(k+1), F(k)], [F(k), F(k-1)]]}; its
+     * symmetry reduces the product to the fast-doubling formulas, three modular multiplies per
+     * bit of n. Odd moduli use Montgomery reduction, so no step divides; an even modulus is
+     * split into its odd and power-of-two parts, solved separately and recombined.
+     *
+     * @param modulus any modulus in {@code [1, Long.MAX_VALUE]}
+     * @return F(n) mod {@code modulus}, in {@code [0, modulus)}
+     * @throws IllegalArgumentException if n is negative or the modulus is not positive
+     */
+    public long fibonacciMod(long n, long modulus) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + n);
+        if (modulus <= 0) throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+
+        ModularArithmetic odd = ModularArithmetic.oddPart(modulus);
+        ModularArithmetic powerOfTwo = ModularArithmetic.powerOfTwoPart(modulus);
+        if (powerOfTwo == null) return odd == null ? 0 : fibonacciMod(n, odd);
+        if (odd == null) return fibonacciMod(n, powerOfTwo);
+        return ModularArithmetic.combine(modulus, fibonacciMod(n, odd), fibonacciMod(n, powerOfTwo));
+    }
+
+    /**
+     * Returns F(from), ..., F(to - 1) straight from the table of values that fit in a {@code long}.
+     *
+     * @throws IllegalArgumentException if from is negative, from exceeds to, or to exceeds
+     *                                  {@code MAX_LONG_INDEX + 1}
+     */
+    public long[] fibonacciRange(int from, int to) {
+        checkRange(from, to);
+        if (to > MAX_LONG_INDEX + 1)
+            throw new IllegalArgumentException("F(" + (to - 1) + ") does not fit in a long, the last that does is F("
+                    + MAX_LONG_INDEX + ")");
+
+        return Arrays.copyOfRange(LONG_VALUES, from, to);
+    }
+
+    /**
+     * Returns F(from), ..., F(to - 1) mod {@code modulus}: two fast-doubling seeds, then one modular
+     * addition per term.
+     *
+     * @param modulus any modulus in {@code [1, Long.MAX_VALUE]}
+     * @throws IllegalArgumentException if from is negative, from exceeds to, the range holds more
+     *                                  than {@code Integer.MAX_VALUE} terms or the modulus is not positive
+     */
+    public long[] fibonacciRange(long from, long to, long modulus) {
+        if (from < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + from);
+        if (from > to) throw new IllegalArgumentException("from " + from + " exceeds to " + to);
+        if (to - from > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Range of " + (to - from) + " terms does not fit in an array");
+        if (modulus <= 0) throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+
+        long[] values = new long[(int) (to - from)];
+        if (values.length == 0) return values;
+        values[0] = fibonacciMod(from, modulus);
+        if (values.length == 1) return values;
+        values[1] = fibonacciMod(from + 1, modulus);
+        for (int i = 2; i < values.length; i++) {
+            // Both terms are below the modulus, so their sum fits in 64 unsigned bits
+            long sum = values[i - 1] + values[i - 2];
+            values[i] = Long.compareUnsigned(sum, modulus) >= 0 ? sum - modulus : sum;
+        }
+        return values;
+    }
+
+    /**
+     * Lazily streams F(from), ..., F(to - 1). The first term costs one fast-doubling evaluation,
+     * each later term one BigInteger addition.
+     *
+     * @throws IllegalArgumentException if from is negative or exceeds to
+     */
+    public Stream<BigInteger> fibonacciRangeStream(int from, int to) {
+        checkRange(from, to);
+
+        BigInteger[] first = fibonacciPair(from);
+        return Stream.iterate(first, pair -> new BigInteger[]{pair[1], pair[0].add(pair[1])})
+                .limit(to - from)
+                .map(pair -> pair[0]);
+    }
+
+    private static void checkRange(int from, int to) {
+        if (from < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + from);
+        if (from > to) throw new IllegalArgumentException("from " + from + " exceeds to " + to);
+    }
+
+    public long[] fibonacciBatch(long[] ns, long modulus) {
+        return fibonacciBatch(ns, modulus, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Computes F(n) mod {@code modulus} for every index in {@code ns}, in the same order.
+     *
+     * <p>The indices are sorted and deduplicated, and each one is reached from the previous one:
+     * a small gap by additions, a large gap {@code g} by fast doubling over the bits of {@code g}
+     * only. Clustered queries therefore cost far less than one {@link #fibonacciMod} call each.
+     *
+     * @param ns          the indices, left unchanged
+     * @param modulus     any modulus in {@code [1, Long.MAX_VALUE]}
+     * @param pool        the pool to split the sorted indices over, or null to run on the caller
+     * @param granularity distinct indices walked sequentially by one task
+     * @return {@code result[i] = F(ns[i]) mod modulus}
+     * @throws IllegalArgumentException if an index is negative, the modulus is not positive or
+     *                                  granularity is not positive
+     */
+    public long[] fibonacciBatch(long[] ns, long modulus, ForkJoinPool pool, int granularity) {
+        for (long n : ns) {
+            if (n < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + n);
+        }
+        if (modulus <= 0) throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+        if (granularity < 1)
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+
+        return FibonacciBatch.evaluate(ns, modulus, pool, granularity);
+    }
+
+    /**
+     * Returns the Pisano period π(m), the period of F(n) mod {@code modulus}, from the factorisation
+     * of the modulus rather than by walking the sequence. The result is cached together with the
+     * modulus's period table.
+     *
+     * @param modulus any modulus in {@code [1, MAX_PISANO_MODULUS]}
+     * @return π(m), between 1 and {@code 6 * modulus}
+     * @throws IllegalArgumentException if the modulus is outside that range
+     */
+    public long pisanoPeriod(long modulus) {
+        checkPisanoModulus(modulus);
+        return pisanoCache.lookup(modulus).length;
+    }
+
+    /**
+     * Computes F(n) mod {@code modulus} like {@link #fibonacciMod}, but for moduli up to
+     * {@link #MAX_PISANO_MODULUS} reduces n modulo the cached Pisano period first. The first query
+     * for a modulus pays for factoring it and, if the period fits the cache's table budget, for
+     * filling a table of one period; every later query is a single array read. Periods too long
+     * for a table still shorten the fast doubling to the bits of {@code n mod π(m)}.
+     *
+     * @param modulus any modulus in {@code [1, Long.MAX_VALUE]}
+     * @return F(n) mod {@code modulus}, in {@code [0, modulus)}
+     * @throws IllegalArgumentException if n is negative or the modulus is not positive
+     */
+    public long fibonacciModPisano(long n, long modulus) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + n);
+        if (modulus <= 0) throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+        if (modulus > MAX_PISANO_MODULUS) return fibonacciMod(n, modulus);
+
+        PisanoCache.Period period = pisanoCache.lookup(modulus);
+        long index = n % period.length;
+        return period.table != null ? period.table[(int) index] : fibonacciMod(index, modulus);
+    }
+
+    private static void checkPisanoModulus(long modulus) {
+        if (modulus < 1 || modulus > MAX_PISANO_MODULUS)
+            throw new IllegalArgumentException("Pisano modulus must be in [1, " + MAX_PISANO_MODULUS + "]: " + modulus);
+    }
+
+    private static long fibonacciMod(long n, ModularArithmetic ring) {
+        long[] pair = new long[2];
+        FibonacciBatch.pair(n, ring, pair);
+        return ring.toLong(pair[0]);
+    }
 }
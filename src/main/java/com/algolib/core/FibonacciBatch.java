@@ -0,0 +1,183 @@
+package com.algolib.core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Kernels backing {@link Fibonacci#fibonacciBatch(long[], long)}.
+ *
+ * <p>The queries are sorted and deduplicated, then walked in increasing order carrying the pair
+ * {@code F(k), F(k+1)} from one index to the next. A short gap is covered by plain additions; a
+ * longer gap {@code g} costs fast doubling over the bits of {@code g} plus four multiplies, not
+ * over the bits of the index itself. In parallel, each task walks its own slice of the sorted
+ * indices and seeds its first index from scratch.
+ */
+final class FibonacciBatch {
+
+    // Gaps up to this length are stepped with additions, about as cheap as doubling over their bits
+    private static final int STEP_LIMIT = 64;
+
+    private FibonacciBatch() {
+    }
+
+    static long[] evaluate(long[] ns, long modulus, ForkJoinPool pool, int granularity) {
+        long[] keys = new long[ns.length];
+        int[] slots = new int[ns.length];
+        int distinct = sortDistinct(ns, keys, slots);
+
+        long[] values = new long[distinct];
+        if (pool == null || distinct <= granularity || pool.getParallelism() <= 1) {
+            walk(keys, 0, distinct, modulus, values);
+        } else {
+            pool.invoke(new WalkTask(keys, 0, distinct, modulus, values, granularity));
+        }
+
+        long[] result = new long[ns.length];
+        for (int i = 0; i < ns.length; i++) {
+            result[i] = values[slots[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Fills {@code keys} with the distinct indices in increasing order and points {@code slots[i]}
+     * at the key equal to {@code ns[i]}; returns the number of distinct keys. When the indices span
+     * few enough bits, each is packed with its query position as {@code (n - min) << indexBits | i},
+     * so one primitive sort also carries the positions; otherwise every query binary searches the
+     * sorted keys, which costs more than the walk itself on clustered batches.
+     */
+    private static int sortDistinct(long[] ns, long[] keys, int[] slots) {
+        int n = ns.length;
+        if (n == 0) return 0;
+        long min = Long.MAX_VALUE, max = 0;
+        for (long value : ns) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        int indexBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        int distinct = 0;
+
+        if ((max - min) >>> (63 - indexBits) == 0) {
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) packed[i] = (ns[i] - min) << indexBits | i;
+            Arrays.sort(packed);
+            long mask = (1L << indexBits) - 1;
+            for (long entry : packed) {
+                long key = (entry >>> indexBits) + min;
+                if (distinct == 0 || keys[distinct - 1] != key) keys[distinct++] = key;
+                slots[(int) (entry & mask)] = distinct - 1;
+            }
+            return distinct;
+        }
+
+        System.arraycopy(ns, 0, keys, 0, n);
+        Arrays.sort(keys);
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) keys[distinct++] = keys[i];
+        }
+        for (int i = 0; i < n; i++) slots[i] = Arrays.binarySearch(keys, 0, distinct, ns[i]);
+        return distinct;
+    }
+
+    // values[i] = F(keys[i]) mod modulus for i in [low, high), keys sorted and distinct
+    static void walk(long[] keys, int low, int high, long modulus, long[] values) {
+        ModularArithmetic odd = ModularArithmetic.oddPart(modulus);
+        ModularArithmetic powerOfTwo = ModularArithmetic.powerOfTwoPart(modulus);
+        if (powerOfTwo == null) {
+            if (odd != null) walk(keys, low, high, odd, values, 0);
+            return;
+        }
+        if (odd == null) {
+            walk(keys, low, high, powerOfTwo, values, 0);
+            return;
+        }
+
+        // Sized to this slice only, each parallel task allocates its own
+        long[] powerOfTwoValues = new long[high - low];
+        walk(keys, low, high, odd, values, 0);
+        walk(keys, low, high, powerOfTwo, powerOfTwoValues, low);
+        for (int i = low; i < high; i++) {
+            values[i] = ModularArithmetic.combine(modulus, values[i], powerOfTwoValues[i - low]);
+        }
+    }
+
+    // Writes F(keys[i]) to values[i - offset]
+    private static void walk(long[] keys, int low, int high, ModularArithmetic ring, long[] values, int offset) {
+        long[] step = new long[2];
+        long a = ring.fromLong(0), b = ring.fromLong(1); // F(position), F(position+1)
+        long position = 0;
+        for (int i = low; i < high; i++) {
+            long gap = keys[i] - position;
+            if (gap <= STEP_LIMIT) {
+                for (; gap > 0; gap--) {
+                    long c = ring.add(a, b);
+                    a = b;
+                    b = c;
+                }
+            } else {
+                // [F(p+g), F(p+g+1)] = [[F(g-1), F(g)], [F(g), F(g+1)]] [F(p), F(p+1)]
+                pair(gap, ring, step);
+                long fg = step[0], fg1 = step[1], fgMinus1 = ring.subtract(fg1, fg);
+                long next = ring.add(ring.multiply(a, fgMinus1), ring.multiply(b, fg));
+                b = ring.add(ring.multiply(a, fg), ring.multiply(b, fg1));
+                a = next;
+            }
+            position = keys[i];
+            values[i - offset] = ring.toLong(a);
+        }
+    }
+
+    // out = {F(n), F(n+1)} as residues of ring, by fast doubling
+    static void pair(long n, ModularArithmetic ring, long[] out) {
+        long a = ring.fromLong(0), b = ring.fromLong(1);
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long c = ring.multiply(a, ring.subtract(ring.add(b, b), a));
+            long d = ring.add(ring.multiply(a, a), ring.multiply(b, b));
+            if ((n >>> bit & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = ring.add(c, d);
+            }
+        }
+        out[0] = a;
+        out[1] = b;
+    }
+
+    /**
+     * Walks {@code keys[low, high)}, halving the slice until it is at most {@code granularity} long.
+     */
+    @SuppressWarnings("serial")
+    static final class WalkTask extends RecursiveAction {
+        private final long[] keys;
+        private final int low;
+        private final int high;
+        private final long modulus;
+        private final long[] values;
+        private final int granularity;
+
+        WalkTask(long[] keys, int low, int high, long modulus, long[] values, int granularity) {
+            this.keys = keys;
+            this.low = low;
+            this.high = high;
+            this.modulus = modulus;
+            this.values = values;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= granularity) {
+                walk(keys, low, high, modulus, values);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            invokeAll(
+                    new WalkTask(keys, low, mid, modulus, values, granularity),
+                    new WalkTask(keys, mid, high, modulus, values, granularity));
+        }
+    }
+}
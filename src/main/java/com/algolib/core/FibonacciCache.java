@@ -0,0 +1,193 @@
+package com.algolib.core;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe memoizing front end for Fibonacci numbers that outgrow a {@code long}.
+ *
+ * <p>F(0) to F({@value Fibonacci#MAX_LONG_INDEX}) come from the static table in
+ * {@link Fibonacci}. Every larger result is stored as a checkpoint holding the pair
+ * {@code F(k), F(k+1)}, in a least-recently-used map bounded both by entry count and by the total
+ * bit length of the stored values. A request for n is answered in one of three ways:
+ *
+ * <ul>
+ *   <li>a <b>hit</b> when n itself is a checkpoint;</li>
+ *   <li>a <b>near hit</b> when a checkpoint k lies within {@value #NEAR_DISTANCE} of n:
+ *       the pair for n is the pair for k times the transition matrix for the distance
+ *       {@code d = n - k}, whose entries F(d-1), F(d), F(d+1) are much smaller than F(n);</li>
+ *   <li>a <b>miss</b>, computed from scratch by fast doubling.</li>
+ * </ul>
+ *
+ * Near hits and misses both become new checkpoints. Computation happens outside the lock, so
+ * concurrent requests for the same uncached n may each compute it once.
+ */
+public class FibonacciCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 128;
+    public static final long DEFAULT_MAX_BITS = 64L << 20;
+
+    // A checkpoint k serves n when |n - k| <= NEAR_DISTANCE. F(2048) has about 1400 bits, under
+    // BigInteger's Karatsuba threshold, so the shift is four schoolbook multiplies linear in the size
+    // of F(n); past that BigInteger pads the short operand and a shift costs as much as fast doubling
+    public static final int NEAR_DISTANCE = 2048;
+
+    private final int maxEntries;
+    private final long maxBits;
+    private final LinkedHashMap<Integer, BigInteger[]> checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+    private long storedBits;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache of at most {@value #DEFAULT_MAX_ENTRIES} checkpoints and 8 MB of values.
+     */
+    public FibonacciCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BITS);
+    }
+
+    /**
+     * @param maxEntries most checkpoints kept at once
+     * @param maxBits    most bits kept across all checkpoint values; a single result larger than
+     *                   this is returned but not cached
+     * @throws IllegalArgumentException if either bound is less than 1
+     */
+    public FibonacciCache(int maxEntries, long maxBits) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Cache must hold at least one entry: " + maxEntries);
+        if (maxBits < 1)
+            throw new IllegalArgumentException("Cache must hold at least one bit: " + maxBits);
+
+        this.maxEntries = maxEntries;
+        this.maxBits = maxBits;
+    }
+
+    /**
+     * Returns F(n), from the long table, a cached checkpoint, a nearby checkpoint or fast doubling.
+     *
+     * @throws IllegalArgumentException if n is negative
+     */
+    public BigInteger fibonacci(int n) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci index must not be negative: " + n);
+        if (n <= Fibonacci.MAX_LONG_INDEX) {
+            hits.increment();
+            return BigInteger.valueOf(Fibonacci.longValue(n));
+        }
+
+        int nearest;
+        BigInteger[] base;
+        synchronized (checkpoints) {
+            BigInteger[] exact = checkpoints.get(n);
+            if (exact != null) {
+                hits.increment();
+                return exact[0];
+            }
+            nearest = nearestCheckpoint(n);
+            // get refreshes the checkpoint's recency, it just proved useful
+            base = nearest < 0 ? null : checkpoints.get(nearest);
+        }
+
+        BigInteger[] pair;
+        if (base != null) {
+            nearHits.increment();
+            pair = shift(base, n - nearest);
+        } else {
+            misses.increment();
+            pair = Fibonacci.fibonacciPair(n);
+        }
+        store(n, pair);
+        return pair[0];
+    }
+
+    // Closest checkpoint within NEAR_DISTANCE of n, or -1; caller holds the lock
+    private int nearestCheckpoint(int n) {
+        int best = -1;
+        long bestDistance = NEAR_DISTANCE + 1L;
+        for (int k : checkpoints.keySet()) {
+            long distance = Math.abs((long) n - k);
+            if (distance < bestDistance) {
+                best = k;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Moves the pair {F(k), F(k+1)} by d. With M(d) = [[F(d-1), F(d)], [F(d), F(d+1)]],
+     * the pair at k + d is M(d) times the pair at k; for d < 0 the inverse of M(|d|) is
+     * (-1)^|d| [[F(|d|+1), -F(|d|)], [-F(|d|), F(|d|-1)]] by Cassini's identity.
+     */
+    static BigInteger[] shift(BigInteger[] pair, int d) {
+        int e = Math.abs(d);
+        BigInteger[] step = Fibonacci.fibonacciPair(e);
+        BigInteger fe = step[0], fe1 = step[1], feMinus1 = fe1.subtract(fe);
+        BigInteger fk = pair[0], fk1 = pair[1];
+
+        if (d >= 0) {
+            return new BigInteger[]{
+                    Fibonacci.multiply(fk, feMinus1).add(Fibonacci.multiply(fk1, fe)),
+                    Fibonacci.multiply(fk, fe).add(Fibonacci.multiply(fk1, fe1))};
+        }
+        BigInteger first = Fibonacci.multiply(fk, fe1).subtract(Fibonacci.multiply(fk1, fe));
+        BigInteger second = Fibonacci.multiply(fk1, feMinus1).subtract(Fibonacci.multiply(fk, fe));
+        return (e & 1) == 0
+                ? new BigInteger[]{first, second}
+                : new BigInteger[]{first.negate(), second.negate()};
+    }
+
+    private void store(int n, BigInteger[] pair) {
+        long bits = bits(pair);
+        if (bits > maxBits) return;
+
+        synchronized (checkpoints) {
+            BigInteger[] previous = checkpoints.put(n, pair);
+            storedBits += bits - (previous == null ? 0 : bits(previous));
+            // Iteration order is least recently used first
+            Iterator<Map.Entry<Integer, BigInteger[]>> eldest = checkpoints.entrySet().iterator();
+            while (checkpoints.size() > maxEntries || storedBits > maxBits) {
+                storedBits -= bits(eldest.next().getValue());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long bits(BigInteger[] pair) {
+        return (long) pair[0].bitLength() + pair[1].bitLength();
+    }
+
+    /** Requests answered from the long table or an exact checkpoint. */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** Requests derived from a nearby checkpoint. */
+    public long nearHitCount() {
+        return nearHits.sum();
+    }
+
+    /** Requests computed from scratch. */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /** Checkpoints currently held. */
+    public int size() {
+        synchronized (checkpoints) {
+            return checkpoints.size();
+        }
+    }
+
+    /** Drops every checkpoint; the counters keep running. */
+    public void clear() {
+        synchronized (checkpoints) {
+            checkpoints.clear();
+            storedBits = 0;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.algolib.core;
+
+import com.algolib.core.datastructures.lists.LinkedList;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Merges any number of already sorted inputs into one sorted sequence.
+ *
+ * <p>Every merge is driven by a loser tree: each internal node keeps the input that lost the
+ * match played there and slot 0 keeps the overall winner. Emitting an element only replays the
+ * matches on the path from the winner's leaf to the root, so each output costs
+ * {@code ceil(log2 k)} comparisons against the stored losers, about half of what a binary
+ * heap's sift-down needs for the same {@code k}.
+ *
+ * <p>Ties go to the input listed first, so the object merges are stable. Inputs are assumed to
+ * be sorted already; unsorted input gives an unspecified order but never loses elements.
+ */
+public class KWayMerge {
+
+    // Largest array the merges will allocate, the usual VM limit
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    // Primitive arrays
+
+    /**
+     * Merges sorted int arrays into a new sorted array.
+     *
+     * @return a new array holding every element of {@code runs}
+     * @throws IllegalArgumentException if the runs hold more elements than an array can
+     */
+    public int[] merge(int[]... runs) {
+        IntLoserTree tree = new IntLoserTree(runs);
+        int[] result = new int[checkedLength(tree.remaining)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tree.pop();
+        }
+        return result;
+    }
+
+    /**
+     * Streams the merge of sorted int arrays to {@code sink} without materializing it.
+     */
+    public void merge(int[][] runs, IntConsumer sink) {
+        Objects.requireNonNull(sink, "sink");
+        IntLoserTree tree = new IntLoserTree(runs);
+        for (long i = tree.remaining; i > 0; i--) {
+            sink.accept(tree.pop());
+        }
+    }
+
+    /**
+     * Merges sorted long arrays into a new sorted array.
+     *
+     * @return a new array holding every element of {@code runs}
+     * @throws IllegalArgumentException if the runs hold more elements than an array can
+     */
+    public long[] merge(long[]... runs) {
+        LongLoserTree tree = new LongLoserTree(runs);
+        long[] result = new long[checkedLength(tree.remaining)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = tree.pop();
+        }
+        return result;
+    }
+
+    /**
+     * Streams the merge of sorted long arrays to {@code sink} without materializing it.
+     */
+    public void merge(long[][] runs, LongConsumer sink) {
+        Objects.requireNonNull(sink, "sink");
+        LongLoserTree tree = new LongLoserTree(runs);
+        for (long i = tree.remaining; i > 0; i--) {
+            sink.accept(tree.pop());
+        }
+    }
+
+    private static int checkedLength(long total) {
+        if (total > MAX_ARRAY_LENGTH)
+            throw new IllegalArgumentException("Merged length " + total + " exceeds the maximum array length");
+        return (int) total;
+    }
+
+    // Iterators and lists
+
+    /**
+     * Lazily merges sorted iterators in natural order.
+     *
+     * @see #merge(List, Comparator)
+     */
+    public <T extends Comparable<? super T>> Iterator<T> merge(List<? extends Iterator<? extends T>> inputs) {
+        return merge(inputs, Comparator.naturalOrder());
+    }
+
+    /**
+     * Lazily merges iterators that are each sorted by {@code comparator}.
+     *
+     * <p>Nothing is buffered beyond the current head of each input: an input is advanced only
+     * after its head has been returned, so the merge of arbitrarily large or unbounded streams
+     * can be consumed incrementally.
+     *
+     * @return an iterator over the merged sequence; equal elements keep the order of the inputs
+     */
+    public <T> Iterator<T> merge(List<? extends Iterator<? extends T>> inputs, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return new LoserTreeIterator<>(inputs, comparator);
+    }
+
+    /**
+     * Merges sorted linked lists onto the end of {@code target}, leaving the inputs untouched.
+     * Any mix of {@link com.algolib.core.datastructures.lists.SinglyLinkedList} and
+     * {@link com.algolib.core.datastructures.lists.DoublyLinkedList} can be merged into either.
+     *
+     * @return {@code target}
+     */
+    public <T extends Comparable<T>, L extends LinkedList<T, ?>> L mergeInto(List<? extends LinkedList<T, ?>> lists, L target) {
+        Objects.requireNonNull(target, "target");
+        Iterator<T> merged = merge(lists.stream().map(LinkedList::iterator).toList());
+        while (merged.hasNext()) {
+            target.add(merged.next());
+        }
+        return target;
+    }
+
+    // Loser trees
+
+    /**
+     * Loser tree over int runs. A run's head is packed with its index into one long key, so a
+     * match is a single comparison and an exhausted run simply holds {@code Long.MAX_VALUE}.
+     */
+    private static final class IntLoserTree {
+        private final int[][] runs;
+        private final int[] positions;
+        private final long[] keys;
+        private final int[] tree;
+        private final long remaining;
+
+        IntLoserTree(int[][] runs) {
+            int k = runs.length;
+            this.runs = runs;
+            this.positions = new int[k];
+            this.keys = new long[k];
+            long total = 0;
+            for (int r = 0; r < k; r++) {
+                total += runs[r].length;
+                keys[r] = key(r);
+            }
+            this.remaining = total;
+            this.tree = build(k, (a, b) -> keys[a] < keys[b]);
+        }
+
+        private long key(int r) {
+            int position = positions[r];
+            return position < runs[r].length ? (long) runs[r][position] << 32 | r : Long.MAX_VALUE;
+        }
+
+        // Only called while elements remain, so the winner is never an exhausted run
+        int pop() {
+            int winner = tree[0];
+            int value = (int) (keys[winner] >> 32);
+            positions[winner]++;
+            long key = keys[winner] = key(winner);
+            for (int node = (winner + tree.length) >>> 1; node > 0; node >>>= 1) {
+                int loser = tree[node];
+                if (keys[loser] < key) {
+                    tree[node] = winner;
+                    winner = loser;
+                    key = keys[loser];
+                }
+            }
+            tree[0] = winner;
+            return value;
+        }
+    }
+
+    /**
+     * Loser tree over long runs. Every long is a valid key, so exhaustion is tracked by
+     * position and checked before comparing heads.
+     */
+    private static final class LongLoserTree {
+        private final long[][] runs;
+        private final int[] positions;
+        private final long[] heads;
+        private final int[] tree;
+        private final long remaining;
+
+        LongLoserTree(long[][] runs) {
+            int k = runs.length;
+            this.runs = runs;
+            this.positions = new int[k];
+            this.heads = new long[k];
+            long total = 0;
+            for (int r = 0; r < k; r++) {
+                total += runs[r].length;
+                if (runs[r].length > 0) heads[r] = runs[r][0];
+            }
+            this.remaining = total;
+            this.tree = build(k, this::beats);
+        }
+
+        private boolean beats(int a, int b) {
+            if (positions[a] == runs[a].length) return false;
+            if (positions[b] == runs[b].length) return true;
+            return heads[a] < heads[b];
+        }
+
+        long pop() {
+            int winner = tree[0];
+            long value = heads[winner];
+            int position = ++positions[winner];
+            if (position < runs[winner].length) heads[winner] = runs[winner][position];
+            for (int node = (winner + tree.length) >>> 1; node > 0; node >>>= 1) {
+                int loser = tree[node];
+                if (beats(loser, winner)) {
+                    tree[node] = winner;
+                    winner = loser;
+                }
+            }
+            tree[0] = winner;
+            return value;
+        }
+    }
+
+    /**
+     * Loser tree over iterators, advancing each input only after its head is consumed.
+     */
+    private static final class LoserTreeIterator<T> implements Iterator<T> {
+        private final Iterator<? extends T>[] inputs;
+        private final Object[] heads;
+        private final boolean[] exhausted;
+        private final Comparator<? super T> comparator;
+        private final int[] tree;
+
+        @SuppressWarnings("unchecked")
+        LoserTreeIterator(List<? extends Iterator<? extends T>> inputs, Comparator<? super T> comparator) {
+            int k = inputs.size();
+            this.inputs = (Iterator<? extends T>[]) inputs.toArray(new Iterator<?>[0]);
+            this.heads = new Object[k];
+            this.exhausted = new boolean[k];
+            this.comparator = comparator;
+            for (int r = 0; r < k; r++) {
+                advance(Objects.requireNonNull(this.inputs[r], "input"), r);
+            }
+            this.tree = build(k, this::beats);
+        }
+
+        private void advance(Iterator<? extends T> input, int r) {
+            if (input.hasNext()) {
+                heads[r] = input.next();
+            } else {
+                heads[r] = null;
+                exhausted[r] = true;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean beats(int a, int b) {
+            if (exhausted[a]) return false;
+            if (exhausted[b]) return true;
+            int cmp = comparator.compare((T) heads[a], (T) heads[b]);
+            return cmp < 0 || (cmp == 0 && a < b);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return tree.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int winner = tree[0];
+            T value = (T) heads[winner];
+            advance(inputs[winner], winner);
+            for (int node = (winner + tree.length) >>> 1; node > 0; node >>>= 1) {
+                int loser = tree[node];
+                if (beats(loser, winner)) {
+                    tree[node] = winner;
+                    winner = loser;
+                }
+            }
+            tree[0] = winner;
+            return value;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Match {
+        boolean beats(int a, int b);
+    }
+
+    /**
+     * Plays the initial tournament over inputs {@code 0..k-1}. Input {@code r} sits at leaf
+     * {@code r + k} of an implicit heap whose internal nodes are {@code 1..k-1}; each leaf climbs
+     * until it finds an empty node to wait at, or plays the waiting input and carries the
+     * winner up. Exactly one input reaches the top and becomes the winner in slot 0.
+     */
+    private static int[] build(int k, Match match) {
+        int[] tree = new int[k];
+        Arrays.fill(tree, -1);
+        for (int r = 0; r < k; r++) {
+            int winner = r;
+            int node = (r + k) >>> 1;
+            for (; node > 0; node >>>= 1) {
+                if (tree[node] == -1) {
+                    tree[node] = winner;
+                    break;
+                }
+                if (match.beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            if (node == 0) tree[0] = winner;
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,129 @@
+package com.algolib.core;
+
+import java.util.Arrays;
+
+/**
+ * A linear recurrence {@code a(n) = c1 a(n-1) + c2 a(n-2) + ... + ck a(n-k)} of order {@code k},
+ * with terms evaluated modulo any {@code long} modulus by Kitamasa's method.
+ *
+ * <p>Instead of raising the {@code k x k} companion matrix to the n-th power, which costs
+ * {@code O(k^3 log n)}, the engine computes {@code x^n mod P(x)} for the characteristic polynomial
+ * {@code P(x) = x^k - c1 x^(k-1) - ... - ck}. If that remainder is {@code d0 + d1 x + ...}, then
+ * {@code a(n) = d0 a(0) + d1 a(1) + ...}, for {@code O(k^2 log n)} modular multiplies in all.
+ * The arithmetic is {@code long}-only, with Montgomery reduction for odd moduli.
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+public class LinearRecurrence {
+
+    private final long[] coefficients;
+    private final long[] initialTerms;
+
+    /**
+     * Creates the recurrence {@code a(n) = coefficients[0] a(n-1) + ... + coefficients[k-1] a(n-k)}
+     * starting from {@code a(0), ..., a(k-1)}. Negative values are taken modulo each modulus.
+     *
+     * @throws IllegalArgumentException if the arrays are empty or differ in length
+     */
+    public LinearRecurrence(long[] coefficients, long[] initialTerms) {
+        if (coefficients.length == 0)
+            throw new IllegalArgumentException("A recurrence needs at least one coefficient");
+        if (coefficients.length != initialTerms.length)
+            throw new IllegalArgumentException("Order " + coefficients.length + " recurrence needs "
+                    + coefficients.length + " initial terms, got " + initialTerms.length);
+
+        this.coefficients = coefficients.clone();
+        this.initialTerms = initialTerms.clone();
+    }
+
+    /** F(n) = F(n-1) + F(n-2) from 0, 1. */
+    public static LinearRecurrence fibonacci() {
+        return new LinearRecurrence(new long[]{1, 1}, new long[]{0, 1});
+    }
+
+    /** T(n) = T(n-1) + T(n-2) + T(n-3) from 0, 0, 1. */
+    public static LinearRecurrence tribonacci() {
+        return new LinearRecurrence(new long[]{1, 1, 1}, new long[]{0, 0, 1});
+    }
+
+    public int order() {
+        return coefficients.length;
+    }
+
+    /**
+     * Returns {@code a(n) mod modulus}.
+     *
+     * @param modulus any modulus in {@code [1, Long.MAX_VALUE]}
+     * @return the term, in {@code [0, modulus)}
+     * @throws IllegalArgumentException if n is negative or the modulus is not positive
+     */
+    public long termMod(long n, long modulus) {
+        if (n < 0) throw new IllegalArgumentException("Term index must not be negative: " + n);
+        if (modulus <= 0) throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+
+        ModularArithmetic odd = ModularArithmetic.oddPart(modulus);
+        ModularArithmetic powerOfTwo = ModularArithmetic.powerOfTwoPart(modulus);
+        if (powerOfTwo == null) return odd == null ? 0 : termMod(n, odd);
+        if (odd == null) return termMod(n, powerOfTwo);
+        return ModularArithmetic.combine(modulus, termMod(n, odd), termMod(n, powerOfTwo));
+    }
+
+    private long termMod(long n, ModularArithmetic ring) {
+        int k = coefficients.length;
+        long[] c = new long[k];
+        long[] a = new long[k];
+        for (int i = 0; i < k; i++) {
+            c[i] = ring.fromLong(coefficients[i]);
+            a[i] = ring.fromLong(initialTerms[i]);
+        }
+        if (n < k) return ring.toLong(a[(int) n]);
+
+        // remainder holds x^e mod P(x), starting from e = 1 at the top bit of n
+        long[] remainder = new long[k];
+        long[] product = new long[2 * k - 1];
+        if (k == 1) remainder[0] = c[0];
+        else remainder[1] = ring.fromLong(1);
+        for (int bit = 62 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            square(remainder, product, c, ring);
+            if ((n >>> bit & 1) != 0) multiplyByX(remainder, c, ring);
+        }
+
+        long term = ring.fromLong(0);
+        for (int i = 0; i < k; i++) {
+            term = ring.add(term, ring.multiply(remainder[i], a[i]));
+        }
+        return ring.toLong(term);
+    }
+
+    // remainder = remainder^2 mod P(x), using product as scratch
+    private static void square(long[] remainder, long[] product, long[] c, ModularArithmetic ring) {
+        int k = remainder.length;
+        long zero = ring.fromLong(0);
+        Arrays.fill(product, zero);
+        for (int i = 0; i < k; i++) {
+            if (remainder[i] == zero) continue;
+            for (int j = 0; j < k; j++) {
+                product[i + j] = ring.add(product[i + j], ring.multiply(remainder[i], remainder[j]));
+            }
+        }
+        // Fold each degree d >= k down with x^k = c1 x^(k-1) + ... + ck
+        for (int d = 2 * k - 2; d >= k; d--) {
+            long top = product[d];
+            for (int j = 0; j < k; j++) {
+                product[d - 1 - j] = ring.add(product[d - 1 - j], ring.multiply(top, c[j]));
+            }
+        }
+        System.arraycopy(product, 0, remainder, 0, k);
+    }
+
+    // remainder = remainder * x mod P(x)
+    private static void multiplyByX(long[] remainder, long[] c, ModularArithmetic ring) {
+        int k = remainder.length;
+        long top = remainder[k - 1];
+        System.arraycopy(remainder, 0, remainder, 1, k - 1);
+        remainder[0] = ring.fromLong(0);
+        for (int j = 0; j < k; j++) {
+            remainder[k - 1 - j] = ring.add(remainder[k - 1 - j], ring.multiply(top, c[j]));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.algolib.core;
+
+/**
+ * Allocation-free arithmetic modulo any {@code m} in {@code [1, 2^63)}, used by the modular
+ * Fibonacci and linear recurrence code.
+ *
+ * <p>An even modulus is split as {@code m = q * 2^s} with {@code q} odd. Residues modulo
+ * {@code q} are kept in Montgomery form, so a multiply is two {@code long} multiplies and a
+ * {@link Math#unsignedMultiplyHigh} instead of a 128-bit division. Residues modulo {@code 2^s}
+ * need no reduction at all, since {@code long} arithmetic already wraps modulo {@code 2^64}.
+ * Callers run the same computation once per part and recombine with {@link #combine}.
+ *
+ * <p>Each part is an instance whose methods take and return residues in its own representation;
+ * convert with {@link #fromLong(long)} and {@link #toLong(long)} at the boundaries.
+ */
+abstract class ModularArithmetic {
+
+    /**
+     * The odd part of {@code modulus}, or null when it is a power of two.
+     */
+    static ModularArithmetic oddPart(long modulus) {
+        long q = modulus >>> Long.numberOfTrailingZeros(modulus);
+        return q == 1 ? null : new Montgomery(q);
+    }
+
+    /**
+     * The power-of-two part of {@code modulus}, or null when it is odd.
+     */
+    static ModularArithmetic powerOfTwoPart(long modulus) {
+        int s = Long.numberOfTrailingZeros(modulus);
+        return s == 0 ? null : new PowerOfTwo(s);
+    }
+
+    /**
+     * Returns the {@code x} in {@code [0, m)} congruent to {@code oddResidue} modulo the odd part
+     * {@code q} of {@code m} and to {@code powerOfTwoResidue} modulo {@code m / q}.
+     */
+    static long combine(long modulus, long oddResidue, long powerOfTwoResidue) {
+        int s = Long.numberOfTrailingZeros(modulus);
+        long q = modulus >>> s;
+        long mask = (1L << s) - 1;
+        // x = a + q * t with t = (b - a) / q mod 2^s, which stays below q * 2^s = m
+        long t = (powerOfTwoResidue - oddResidue) * inverse(q) & mask;
+        return oddResidue + q * t;
+    }
+
+    // Inverse of an odd x modulo 2^64 by Newton's iteration, each step doubling the correct bits
+    static long inverse(long x) {
+        long inv = x; // correct to 3 bits, since x * x == 1 mod 8 for odd x
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - x * inv;
+        }
+        return inv;
+    }
+
+    abstract long fromLong(long value);
+
+    abstract long toLong(long residue);
+
+    abstract long add(long a, long b);
+
+    abstract long subtract(long a, long b);
+
+    abstract long multiply(long a, long b);
+
+    /**
+     * Montgomery arithmetic modulo an odd {@code q}: the residue of {@code x} is stored as
+     * {@code x * 2^64 mod q}, and {@link #reduce} divides a 128-bit product by {@code 2^64}
+     * modulo {@code q} without dividing by {@code q}.
+     */
+    static final class Montgomery extends ModularArithmetic {
+        private final long q;
+        private final long negInverse; // -q^-1 mod 2^64
+        private final long r2;         // 2^128 mod q, converts into Montgomery form
+
+        Montgomery(long q) {
+            this.q = q;
+            this.negInverse = -inverse(q);
+            // Start from 2 in Montgomery form (2 * 2^64 mod q); six squarings give 2^64 in
+            // Montgomery form, which is 2^128 mod q
+            long one = Long.remainderUnsigned(-q, q);
+            long x = add(one, one);
+            for (int i = 0; i < 6; i++) {
+                x = multiply(x, x);
+            }
+            this.r2 = x;
+        }
+
+        // (hi * 2^64 + lo) / 2^64 mod q, for hi:lo below q * 2^64
+        private long reduce(long hi, long lo) {
+            long u = lo * negInverse;
+            // lo + u * q is 0 mod 2^64 by construction; it only carries when lo is non-zero
+            long t = hi + Math.unsignedMultiplyHigh(u, q) + (lo != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, q) >= 0 ? t - q : t;
+        }
+
+        @Override
+        long fromLong(long value) {
+            long x = Math.floorMod(value, q);
+            return reduce(Math.unsignedMultiplyHigh(x, r2), x * r2);
+        }
+
+        @Override
+        long toLong(long residue) {
+            return reduce(0, residue);
+        }
+
+        @Override
+        long add(long a, long b) {
+            long s = a + b;
+            return Long.compareUnsigned(s, q) >= 0 ? s - q : s;
+        }
+
+        @Override
+        long subtract(long a, long b) {
+            long d = a - b;
+            return d < 0 ? d + q : d;
+        }
+
+        @Override
+        long multiply(long a, long b) {
+            return reduce(Math.unsignedMultiplyHigh(a, b), a * b);
+        }
+    }
+
+    /**
+     * Arithmetic modulo {@code 2^s}: plain wrapping {@code long} arithmetic, masked on the way out.
+     */
+    static final class PowerOfTwo extends ModularArithmetic {
+        private final long mask;
+
+        PowerOfTwo(int s) {
+            this.mask = (1L << s) - 1;
+        }
+
+        @Override
+        long fromLong(long value) {
+            return value;
+        }
+
+        @Override
+        long toLong(long residue) {
+            return residue & mask;
+        }
+
+        @Override
+        long add(long a, long b) {
+            return a + b;
+        }
+
+        @Override
+        long subtract(long a, long b) {
+            return a - b;
+        }
+
+        @Override
+        long multiply(long a, long b) {
+            return a * b;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.algolib.core;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+/**
+ * Chunked merge sort behind the cancellable sorts in {@link Sorting}.
+ *
+ * <p>The work is cut into slices of at most {@link #SLICE} elements: first runs of that length
+ * are sorted independently, then bottom-up merge passes double the run length, each pass split
+ * into output slices located by binary search on the merge path. A slice is the unit for
+ * cancellation checks, progress reports and, when a pool is given, parallel tasks, so a cancel
+ * is noticed within one slice of work and sequential and parallel runs behave the same.
+ *
+ * <p>Merge passes read from one array and write the other. The source of the current pass
+ * always holds every element, so on cancellation it is copied back if needed and the caller's
+ * array is left as a permutation of its input.
+ */
+final class MonitoredSort {
+
+    // Elements per run and per merge slice, small enough to react quickly, large enough to be cheap
+    static final int SLICE = 1 << 16;
+
+    private static final Sorting SCALAR = new Sorting();
+
+    private final int[] a;
+    private final ForkJoinPool pool;
+    private final CancellationToken token;
+    private final SortProgressListener listener;
+    private final Thread caller = Thread.currentThread();
+    private final AtomicLong completed = new AtomicLong();
+
+    private MonitoredSort(int[] a, ForkJoinPool pool, CancellationToken token, SortProgressListener listener) {
+        this.a = a;
+        this.pool = pool;
+        this.token = token;
+        this.listener = listener;
+    }
+
+    /**
+     * Sorts {@code a}, on {@code pool} when it is not null.
+     *
+     * @throws CancellationException if the token is cancelled or the calling thread is interrupted;
+     *                               the interrupt flag is left set
+     */
+    static void sort(int[] a, ForkJoinPool pool, CancellationToken token, SortProgressListener listener) {
+        new MonitoredSort(a, pool, token, listener).run();
+    }
+
+    private void run() {
+        int n = a.length;
+        int runs = (n + SLICE - 1) / SLICE;
+        forEach(runs, run -> {
+            checkCancelled();
+            int low = run * SLICE, high = Math.min(low + SLICE, n);
+            SCALAR.quickSort(a, low, high);
+            report(SortPhase.SORTING_RUNS, high - low, n);
+        });
+
+        long mergeTotal = (long) n * passes(runs);
+        completed.set(0);
+        int[] src = a, dst = new int[n];
+        try {
+            for (int width = SLICE; width < n; width <<= 1) {
+                int[] from = src, to = dst;
+                int runWidth = width;
+                forEach(runs, slice -> {
+                    checkCancelled();
+                    int low = slice * SLICE, high = Math.min(low + SLICE, n);
+                    mergeSlice(from, to, runWidth, low, high);
+                    report(SortPhase.MERGING, high - low, mergeTotal);
+                });
+                src = to;
+                dst = from;
+            }
+        } finally {
+            // src holds every element whether the passes finished or were cancelled
+            if (src != a) System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    // Writes to[low, high) with the elements the merge of runWidth-wide pairs puts there
+    private static void mergeSlice(int[] from, int[] to, int runWidth, int low, int high) {
+        int n = from.length;
+        int pairLow = low / (2 * runWidth) * (2 * runWidth);
+        int mid = Math.min(pairLow + runWidth, n);
+        int pairHigh = Math.min(pairLow + 2 * runWidth, n);
+
+        // Start of this slice in each run, found on the merge path
+        int i = pairLow + leftCount(from, pairLow, mid, mid, pairHigh, low - pairLow);
+        int j = mid + (low - pairLow) - (i - pairLow);
+        for (int k = low; k < high; k++) {
+            to[k] = j >= pairHigh || (i < mid && from[i] <= from[j]) ? from[i++] : from[j++];
+        }
+    }
+
+    // How many of the first k merged elements come from the left run, left winning ties
+    private static int leftCount(int[] from, int leftLow, int leftHigh, int rightLow, int rightHigh, int k) {
+        int lo = Math.max(0, k - (rightHigh - rightLow));
+        int hi = Math.min(k, leftHigh - leftLow);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            if (from[leftLow + i] <= from[rightLow + k - i - 1]) lo = i + 1;
+            else hi = i;
+        }
+        return lo;
+    }
+
+    private static int passes(int runs) {
+        return runs <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(runs - 1);
+    }
+
+    // Every slice task is joined before this returns, even after one has failed, so no slice is
+    // still writing to either array when a cancellation reaches the caller. Slices that start after
+    // a failure return without touching anything
+    private void forEach(int count, IntConsumer body) {
+        if (pool == null) {
+            for (int i = 0; i < count; i++) body.accept(i);
+            return;
+        }
+
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[count];
+        for (int i = 0; i < count; i++) {
+            int slice = i;
+            tasks[i] = pool.submit(() -> {
+                if (failure.get() != null) return;
+                try {
+                    body.accept(slice);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+        if (failure.get() != null) throw failure.get();
+    }
+
+    private void checkCancelled() {
+        if (token.isCancelled()) throw new CancellationException("Sort cancelled");
+        if (caller.isInterrupted()) throw new CancellationException("Sorting thread interrupted");
+    }
+
+    private void report(SortPhase phase, int elements, long total) {
+        if (listener != SortProgressListener.NONE) {
+            listener.onProgress(phase, completed.addAndGet(elements), total);
+        }
+    }
+}
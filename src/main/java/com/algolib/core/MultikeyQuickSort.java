@@ -0,0 +1,218 @@
+package com.algolib.core;
+
+/**
+ * Three-way multikey quicksort (Bentley and Sedgewick) kernels backing
+ * {@link Sorting#multikeyQuickSort(String[])}.
+ *
+ * <p>Elements are partitioned on a single key at the current depth into less, equal and
+ * greater parts; only the equal part moves on to the next key. Each key of a distinguishing
+ * prefix is examined about log n times instead of every full comparison rescanning shared
+ * prefixes, which is what makes {@link String#compareTo(String)} slow on URLs and log keys.
+ * Small ranges finish with an insertion sort that compares from the current depth.
+ *
+ * <p>Strings are ordered like {@link String#compareTo(String)}, by UTF-16 code unit, and byte
+ * arrays like {@link java.util.Arrays#compareUnsigned(byte[], byte[])}. A sequence that ends
+ * has key -1, so it sorts before its extensions.
+ */
+final class MultikeyQuickSort {
+
+    // Ranges at or below this size are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // Ranges longer than this pick their pivot key as a ninther of nine samples
+    private static final int NINTHER_THRESHOLD = 128;
+
+    private MultikeyQuickSort() {
+    }
+
+    // String[] kernels
+
+    static void sort(String[] a, int low, int high) {
+        sort(a, low, high, 0);
+    }
+
+    // Every element of a[low, high) shares its first depth keys
+    private static void sort(String[] a, int low, int high, int depth) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int pivot = pivot(a, low, high, depth);
+
+            // Three-way partition on the key at depth: [low, lt) < pivot, [lt, gt] == pivot, (gt, high) > pivot
+            int lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                int key = keyAt(a[i], depth);
+                if (key < pivot) swap(a, lt++, i++);
+                else if (key > pivot) swap(a, i, gt--);
+                else i++;
+            }
+
+            // Recurse into the two smaller parts and loop on the largest, so the stack stays
+            // O(log n) whether the partitions or the shared prefixes are unbalanced. The middle
+            // moves on to the next key, unless its elements all ended at depth and are equal
+            boolean middleDone = pivot < 0;
+            int lessLength = lt - low, middleLength = middleDone ? 0 : gt + 1 - lt, greaterLength = high - gt - 1;
+            if (middleDone && lessLength == 0 && greaterLength == 0) return;
+            if (!middleDone && middleLength >= lessLength && middleLength >= greaterLength) {
+                sort(a, low, lt, depth);
+                sort(a, gt + 1, high, depth);
+                low = lt;
+                high = gt + 1;
+                depth++;
+            } else if (lessLength >= greaterLength) {
+                sort(a, gt + 1, high, depth);
+                if (!middleDone) sort(a, lt, gt + 1, depth + 1);
+                high = lt;
+            } else {
+                sort(a, low, lt, depth);
+                if (!middleDone) sort(a, lt, gt + 1, depth + 1);
+                low = gt + 1;
+            }
+        }
+        insertionSort(a, low, high, depth);
+    }
+
+    private static void insertionSort(String[] a, int low, int high, int depth) {
+        for (int i = low + 1; i < high; i++) {
+            String element = a[i];
+            int j = i - 1;
+            while (j >= low && compareFrom(a[j], element, depth) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    // Compares the suffixes starting at depth, the shared prefix is never rescanned
+    private static int compareFrom(String x, String y, int depth) {
+        int end = Math.min(length(x), length(y));
+        for (int d = depth; d < end; d++) {
+            int diff = keyAt(x, d) - keyAt(y, d);
+            if (diff != 0) return diff;
+        }
+        return length(x) - length(y);
+    }
+
+    private static void swap(String[] a, int i, int j) {
+        String t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    // byte[][] kernels
+
+    static void sort(byte[][] a, int low, int high) {
+        sort(a, low, high, 0);
+    }
+
+    // Every element of a[low, high) shares its first depth keys
+    private static void sort(byte[][] a, int low, int high, int depth) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            int pivot = pivot(a, low, high, depth);
+
+            // Three-way partition on the key at depth: [low, lt) < pivot, [lt, gt] == pivot, (gt, high) > pivot
+            int lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                int key = keyAt(a[i], depth);
+                if (key < pivot) swap(a, lt++, i++);
+                else if (key > pivot) swap(a, i, gt--);
+                else i++;
+            }
+
+            // Recurse into the two smaller parts and loop on the largest, so the stack stays
+            // O(log n) whether the partitions or the shared prefixes are unbalanced. The middle
+            // moves on to the next key, unless its elements all ended at depth and are equal
+            boolean middleDone = pivot < 0;
+            int lessLength = lt - low, middleLength = middleDone ? 0 : gt + 1 - lt, greaterLength = high - gt - 1;
+            if (middleDone && lessLength == 0 && greaterLength == 0) return;
+            if (!middleDone && middleLength >= lessLength && middleLength >= greaterLength) {
+                sort(a, low, lt, depth);
+                sort(a, gt + 1, high, depth);
+                low = lt;
+                high = gt + 1;
+                depth++;
+            } else if (lessLength >= greaterLength) {
+                sort(a, gt + 1, high, depth);
+                if (!middleDone) sort(a, lt, gt + 1, depth + 1);
+                high = lt;
+            } else {
+                sort(a, low, lt, depth);
+                if (!middleDone) sort(a, lt, gt + 1, depth + 1);
+                low = gt + 1;
+            }
+        }
+        insertionSort(a, low, high, depth);
+    }
+
+    private static void insertionSort(byte[][] a, int low, int high, int depth) {
+        for (int i = low + 1; i < high; i++) {
+            byte[] element = a[i];
+            int j = i - 1;
+            while (j >= low && compareFrom(a[j], element, depth) > 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = element;
+        }
+    }
+
+    // Compares the suffixes starting at depth, the shared prefix is never rescanned
+    private static int compareFrom(byte[] x, byte[] y, int depth) {
+        int end = Math.min(length(x), length(y));
+        for (int d = depth; d < end; d++) {
+            int diff = keyAt(x, d) - keyAt(y, d);
+            if (diff != 0) return diff;
+        }
+        return length(x) - length(y);
+    }
+
+    private static void swap(byte[][] a, int i, int j) {
+        byte[] t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    private static int keyAt(String s, int depth) {
+        return depth < s.length() ? s.charAt(depth) : -1;
+    }
+
+    private static int keyAt(byte[] b, int depth) {
+        return depth < b.length ? b[depth] & 0xFF : -1;
+    }
+
+    private static int length(String s) {
+        return s.length();
+    }
+
+    private static int length(byte[] b) {
+        return b.length;
+    }
+
+    // Median of three keys, or on larger ranges Tukey's ninther, which median-of-3 killer inputs do not defeat
+    private static int pivot(String[] a, int low, int high, int depth) {
+        int mid = (low + high) >>> 1;
+        if (high - low <= NINTHER_THRESHOLD) {
+            return medianOfThree(keyAt(a[low], depth), keyAt(a[mid], depth), keyAt(a[high - 1], depth));
+        }
+        int step = (high - low) >>> 3;
+        return medianOfThree(
+                medianOfThree(keyAt(a[low], depth), keyAt(a[low + step], depth), keyAt(a[low + 2 * step], depth)),
+                medianOfThree(keyAt(a[mid - step], depth), keyAt(a[mid], depth), keyAt(a[mid + step], depth)),
+                medianOfThree(keyAt(a[high - 1 - 2 * step], depth), keyAt(a[high - 1 - step], depth), keyAt(a[high - 1], depth)));
+    }
+
+    private static int pivot(byte[][] a, int low, int high, int depth) {
+        int mid = (low + high) >>> 1;
+        if (high - low <= NINTHER_THRESHOLD) {
+            return medianOfThree(keyAt(a[low], depth), keyAt(a[mid], depth), keyAt(a[high - 1], depth));
+        }
+        int step = (high - low) >>> 3;
+        return medianOfThree(
+                medianOfThree(keyAt(a[low], depth), keyAt(a[low + step], depth), keyAt(a[low + 2 * step], depth)),
+                medianOfThree(keyAt(a[mid - step], depth), keyAt(a[mid], depth), keyAt(a[mid + step], depth)),
+                medianOfThree(keyAt(a[high - 1 - 2 * step], depth), keyAt(a[high - 1 - step], depth), keyAt(a[high - 1], depth)));
+    }
+
+    private static int medianOfThree(int x, int y, int z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+}
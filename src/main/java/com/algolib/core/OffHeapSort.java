@@ -0,0 +1,558 @@
+package com.algolib.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Sorts {@link MemorySegment} regions of {@code int}s, {@code long}s or fixed-width records
+ * in place, so off-heap and memory-mapped data never has to be copied onto the heap.
+ *
+ * <p>Quick sort is a three-way introsort that needs no extra memory; radix sort is an LSD sort
+ * with 11-bit digits that uses one off-heap scratch segment the size of the input. Records are
+ * ordered by the signed {@code long} key in their first {@link #KEY_BYTES} bytes and the rest
+ * of each record is payload that moves with its key. The {@code sort...File} methods map a file
+ * read-write and quick sort it in place.
+ *
+ * <p>Values are read with the byte order given at construction. Use
+ * {@link ByteOrder#BIG_ENDIAN} for files written by {@link ExternalSort} or
+ * {@link java.io.DataOutputStream}.
+ *
+ * <p>{@code java.lang.foreign} is a preview API in Java 21, so this class needs
+ * {@code --enable-preview} at run time. No other class in the library depends on it.
+ */
+public class OffHeapSort {
+
+    // Records start with a long key
+    public static final int KEY_BYTES = Long.BYTES;
+
+    // Ranges at or below this size are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int INT_PASSES = 3;
+    private static final int LONG_PASSES = 6;
+
+    // Kernels always access native order through constant layouts, which the JIT compiles to
+    // plain loads and stores; other byte orders are swapped before and after sorting
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED;
+
+    private final boolean swapBytes;
+
+    /**
+     * Creates a sorter that reads values in the platform's native byte order.
+     */
+    public OffHeapSort() {
+        this(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Creates a sorter that reads values in the given byte order. Values need not be aligned.
+     */
+    public OffHeapSort(ByteOrder order) {
+        this.swapBytes = order != ByteOrder.nativeOrder();
+    }
+
+    /**
+     * Sorts a segment of {@code int}s in place without extra memory.
+     *
+     * @throws IllegalArgumentException if the segment size is not a multiple of 4
+     */
+    public void quickSortInts(MemorySegment segment) {
+        long n = count(segment, Integer.BYTES);
+        if (n <= 1) return;
+
+        swapIntByteOrder(segment, n);
+        try {
+            quickSortInts(segment, 0, n, depthLimit(n));
+        } finally {
+            swapIntByteOrder(segment, n);
+        }
+    }
+
+    /**
+     * Radix sorts a segment of {@code int}s through an off-heap scratch segment of the same size.
+     *
+     * @throws IllegalArgumentException if the segment size is not a multiple of 4
+     */
+    public void radixSortInts(MemorySegment segment) {
+        long n = count(segment, Integer.BYTES);
+        if (n < Sorting.MIN_RADIX_SORT_LENGTH) {
+            quickSortInts(segment);
+            return;
+        }
+
+        swapIntByteOrder(segment, n);
+        try {
+            radixSortInts(segment, n);
+        } finally {
+            swapIntByteOrder(segment, n);
+        }
+    }
+
+    public void quickSortLongs(MemorySegment segment) {
+        long n = count(segment, Long.BYTES);
+        if (n <= 1) return;
+
+        swapLongByteOrder(segment, n, Long.BYTES);
+        try {
+            quickSortLongs(segment, 0, n, depthLimit(n));
+        } finally {
+            swapLongByteOrder(segment, n, Long.BYTES);
+        }
+    }
+
+    public void radixSortLongs(MemorySegment segment) {
+        long n = count(segment, Long.BYTES);
+        if (n < Sorting.MIN_RADIX_SORT_LENGTH) {
+            quickSortLongs(segment);
+            return;
+        }
+
+        swapLongByteOrder(segment, n, Long.BYTES);
+        try {
+            radixSortLongs(segment, n);
+        } finally {
+            swapLongByteOrder(segment, n, Long.BYTES);
+        }
+    }
+
+    /**
+     * Sorts a segment of {@code recordBytes}-wide records by their leading {@code long} key,
+     * in place. Not stable.
+     *
+     * @throws IllegalArgumentException if records are narrower than {@link #KEY_BYTES} or the
+     *                                  segment size is not a multiple of {@code recordBytes}
+     */
+    public void quickSortRecords(MemorySegment segment, int recordBytes) {
+        long n = count(segment, checkRecordBytes(recordBytes));
+        if (n <= 1) return;
+
+        swapLongByteOrder(segment, n, recordBytes);
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment temp = arena.allocate(recordBytes);
+            quickSortRecords(segment, recordBytes, temp, 0, n, depthLimit(n));
+        } finally {
+            swapLongByteOrder(segment, n, recordBytes);
+        }
+    }
+
+    /**
+     * Stable radix sort of records by their leading {@code long} key. Each record is copied
+     * once per non-trivial digit, which suits wide payloads better than quick sort's swaps.
+     */
+    public void radixSortRecords(MemorySegment segment, int recordBytes) {
+        long n = count(segment, checkRecordBytes(recordBytes));
+        if (n <= 1) return;
+
+        swapLongByteOrder(segment, n, recordBytes);
+        try {
+            radixSortRecords(segment, n, recordBytes);
+        } finally {
+            swapLongByteOrder(segment, n, recordBytes);
+        }
+    }
+
+    /**
+     * Memory-maps a file of {@code int} values and sorts it in place.
+     *
+     * @throws IllegalArgumentException if the file length is not a multiple of 4
+     * @throws UncheckedIOException     if the file cannot be mapped or written back
+     */
+    public void sortIntFile(Path file) {
+        sortMapped(file, Integer.BYTES, this::quickSortInts);
+    }
+
+    public void sortLongFile(Path file) {
+        sortMapped(file, Long.BYTES, this::quickSortLongs);
+    }
+
+    public void sortRecordFile(Path file, int recordBytes) {
+        sortMapped(file, checkRecordBytes(recordBytes), segment -> quickSortRecords(segment, recordBytes));
+    }
+
+    private static void sortMapped(Path file, int width, Consumer<MemorySegment> sorter) {
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE); Arena arena = Arena.ofConfined()) {
+            long size = channel.size();
+            if (size % width != 0)
+                throw new IllegalArgumentException("File length " + size + " is not a multiple of " + width + " byte records");
+            if (size == 0) return;
+
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            sorter.accept(segment);
+            segment.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Converts every int between the requested byte order and native order, in both directions
+    private void swapIntByteOrder(MemorySegment s, long n) {
+        if (!swapBytes) return;
+        for (long i = 0; i < n; i++) {
+            s.setAtIndex(INT, i, Integer.reverseBytes(s.getAtIndex(INT, i)));
+        }
+    }
+
+    // Converts the long key at the start of every width-byte slot the same way
+    private void swapLongByteOrder(MemorySegment s, long n, int width) {
+        if (!swapBytes) return;
+        for (long i = 0; i < n; i++) {
+            s.set(LONG, i * width, Long.reverseBytes(s.get(LONG, i * width)));
+        }
+    }
+
+    private static long count(MemorySegment segment, int width) {
+        long size = segment.byteSize();
+        if (size % width != 0)
+            throw new IllegalArgumentException("Segment size " + size + " is not a multiple of " + width + " bytes");
+        return size / width;
+    }
+
+    private static int checkRecordBytes(int recordBytes) {
+        if (recordBytes < KEY_BYTES)
+            throw new IllegalArgumentException("Records must be at least " + KEY_BYTES + " bytes wide: " + recordBytes);
+        return recordBytes;
+    }
+
+    private static int depthLimit(long length) {
+        return 2 * (63 - Long.numberOfLeadingZeros(length));
+    }
+
+    private static long[] prefixOffsets(long[] count) {
+        long[] offsets = new long[RADIX];
+        long sum = 0;
+        for (int d = 0; d < RADIX; d++) {
+            offsets[d] = sum;
+            sum += count[d];
+        }
+        return offsets;
+    }
+
+    // int element kernels, indices are longs so segments may hold more than 2^31 elements
+
+    private static void quickSortInts(MemorySegment s, long low, long high, int depthLimit) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortInts(s, low, high);
+                return;
+            }
+
+            long mid = (low + high) >>> 1;
+            int pivot = medianOfThree(s.getAtIndex(INT, low), s.getAtIndex(INT, mid), s.getAtIndex(INT, high - 1));
+
+            // Three-way partition: [low, lt) < pivot, [lt, gt] == pivot, (gt, high) > pivot
+            long lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                int value = s.getAtIndex(INT, i);
+                if (value < pivot) swapInts(s, lt++, i++);
+                else if (value > pivot) swapInts(s, i, gt--);
+                else i++;
+            }
+
+            // Recurse into the smaller side and loop on the larger one
+            if (lt - low < high - gt) {
+                quickSortInts(s, low, lt, depthLimit);
+                low = gt + 1;
+            } else {
+                quickSortInts(s, gt + 1, high, depthLimit);
+                high = lt;
+            }
+        }
+
+        for (long i = low + 1; i < high; i++) {
+            int value = s.getAtIndex(INT, i);
+            long j = i - 1;
+            while (j >= low && s.getAtIndex(INT, j) > value) {
+                s.setAtIndex(INT, j + 1, s.getAtIndex(INT, j));
+                j--;
+            }
+            s.setAtIndex(INT, j + 1, value);
+        }
+    }
+
+    private static void heapSortInts(MemorySegment s, long low, long high) {
+        long n = high - low;
+        for (long node = n / 2 - 1; node >= 0; node--) {
+            siftDownInts(s, low, node, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            swapInts(s, low, low + end);
+            siftDownInts(s, low, 0, end);
+        }
+    }
+
+    private static void siftDownInts(MemorySegment s, long offset, long node, long size) {
+        int value = s.getAtIndex(INT, offset + node);
+        long child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && s.getAtIndex(INT, offset + child) < s.getAtIndex(INT, offset + child + 1)) child++;
+            if (value >= s.getAtIndex(INT, offset + child)) break;
+            s.setAtIndex(INT, offset + node, s.getAtIndex(INT, offset + child));
+            node = child;
+        }
+        s.setAtIndex(INT, offset + node, value);
+    }
+
+    private static void swapInts(MemorySegment s, long i, long j) {
+        int t = s.getAtIndex(INT, i);
+        s.setAtIndex(INT, i, s.getAtIndex(INT, j));
+        s.setAtIndex(INT, j, t);
+    }
+
+    private static int medianOfThree(int x, int y, int z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+
+    // LSD radix sort through an off-heap scratch segment of the same size
+    private static void radixSortInts(MemorySegment s, long n) {
+        long[][] counts = new long[INT_PASSES][RADIX];
+        for (long i = 0; i < n; i++) {
+            int key = s.getAtIndex(INT, i);
+            for (int pass = 0; pass < INT_PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment src = s, dst = arena.allocate(s.byteSize(), Long.BYTES);
+            for (int pass = 0; pass < INT_PASSES; pass++) {
+                // Every key has the same digit here, so this pass would not move anything
+                if (counts[pass][digit(src.getAtIndex(INT, 0), pass)] == n) continue;
+
+                long[] offsets = prefixOffsets(counts[pass]);
+                for (long i = 0; i < n; i++) {
+                    int key = src.getAtIndex(INT, i);
+                    dst.setAtIndex(INT, offsets[digit(key, pass)]++, key);
+                }
+                MemorySegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if (src != s) MemorySegment.copy(src, 0, s, 0, s.byteSize());
+        }
+    }
+
+    // Flipping the sign bit makes unsigned digit order match signed order
+    private static int digit(int key, int pass) {
+        return (key ^ Integer.MIN_VALUE) >>> (pass * RADIX_BITS) & (RADIX - 1);
+    }
+
+    // long element kernels, indices are longs so segments may hold more than 2^31 elements
+
+    private static void quickSortLongs(MemorySegment s, long low, long high, int depthLimit) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortLongs(s, low, high);
+                return;
+            }
+
+            long mid = (low + high) >>> 1;
+            long pivot = medianOfThree(s.getAtIndex(LONG, low), s.getAtIndex(LONG, mid), s.getAtIndex(LONG, high - 1));
+
+            // Three-way partition: [low, lt) < pivot, [lt, gt] == pivot, (gt, high) > pivot
+            long lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                long value = s.getAtIndex(LONG, i);
+                if (value < pivot) swapLongs(s, lt++, i++);
+                else if (value > pivot) swapLongs(s, i, gt--);
+                else i++;
+            }
+
+            // Recurse into the smaller side and loop on the larger one
+            if (lt - low < high - gt) {
+                quickSortLongs(s, low, lt, depthLimit);
+                low = gt + 1;
+            } else {
+                quickSortLongs(s, gt + 1, high, depthLimit);
+                high = lt;
+            }
+        }
+
+        for (long i = low + 1; i < high; i++) {
+            long value = s.getAtIndex(LONG, i);
+            long j = i - 1;
+            while (j >= low && s.getAtIndex(LONG, j) > value) {
+                s.setAtIndex(LONG, j + 1, s.getAtIndex(LONG, j));
+                j--;
+            }
+            s.setAtIndex(LONG, j + 1, value);
+        }
+    }
+
+    private static void heapSortLongs(MemorySegment s, long low, long high) {
+        long n = high - low;
+        for (long node = n / 2 - 1; node >= 0; node--) {
+            siftDownLongs(s, low, node, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            swapLongs(s, low, low + end);
+            siftDownLongs(s, low, 0, end);
+        }
+    }
+
+    private static void siftDownLongs(MemorySegment s, long offset, long node, long size) {
+        long value = s.getAtIndex(LONG, offset + node);
+        long child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && s.getAtIndex(LONG, offset + child) < s.getAtIndex(LONG, offset + child + 1)) child++;
+            if (value >= s.getAtIndex(LONG, offset + child)) break;
+            s.setAtIndex(LONG, offset + node, s.getAtIndex(LONG, offset + child));
+            node = child;
+        }
+        s.setAtIndex(LONG, offset + node, value);
+    }
+
+    private static void swapLongs(MemorySegment s, long i, long j) {
+        long t = s.getAtIndex(LONG, i);
+        s.setAtIndex(LONG, i, s.getAtIndex(LONG, j));
+        s.setAtIndex(LONG, j, t);
+    }
+
+    private static long medianOfThree(long x, long y, long z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+
+    // LSD radix sort through an off-heap scratch segment of the same size
+    private static void radixSortLongs(MemorySegment s, long n) {
+        long[][] counts = new long[LONG_PASSES][RADIX];
+        for (long i = 0; i < n; i++) {
+            long key = s.getAtIndex(LONG, i);
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment src = s, dst = arena.allocate(s.byteSize(), Long.BYTES);
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                // Every key has the same digit here, so this pass would not move anything
+                if (counts[pass][digit(src.getAtIndex(LONG, 0), pass)] == n) continue;
+
+                long[] offsets = prefixOffsets(counts[pass]);
+                for (long i = 0; i < n; i++) {
+                    long key = src.getAtIndex(LONG, i);
+                    dst.setAtIndex(LONG, offsets[digit(key, pass)]++, key);
+                }
+                MemorySegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if (src != s) MemorySegment.copy(src, 0, s, 0, s.byteSize());
+        }
+    }
+
+    // Flipping the sign bit makes unsigned digit order match signed order
+    private static int digit(long key, int pass) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> (pass * RADIX_BITS)) & (RADIX - 1);
+    }
+
+    // Record kernels: key at the start of each record, records swapped through a temp segment
+
+    private static void quickSortRecords(MemorySegment s, int width, MemorySegment temp,
+                                         long low, long high, int depthLimit) {
+        while (high - low > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSortRecords(s, width, temp, low, high);
+                return;
+            }
+
+            long mid = (low + high) >>> 1;
+            long pivot = medianOfThree(key(s, width, low), key(s, width, mid), key(s, width, high - 1));
+
+            long lt = low, gt = high - 1, i = low;
+            while (i <= gt) {
+                long value = key(s, width, i);
+                if (value < pivot) swapRecords(s, width, temp, lt++, i++);
+                else if (value > pivot) swapRecords(s, width, temp, i, gt--);
+                else i++;
+            }
+
+            if (lt - low < high - gt) {
+                quickSortRecords(s, width, temp, low, lt, depthLimit);
+                low = gt + 1;
+            } else {
+                quickSortRecords(s, width, temp, gt + 1, high, depthLimit);
+                high = lt;
+            }
+        }
+
+        for (long i = low + 1; i < high; i++) {
+            for (long j = i; j > low && key(s, width, j - 1) > key(s, width, j); j--) {
+                swapRecords(s, width, temp, j - 1, j);
+            }
+        }
+    }
+
+    private static void heapSortRecords(MemorySegment s, int width, MemorySegment temp,
+                                        long low, long high) {
+        long n = high - low;
+        for (long node = n / 2 - 1; node >= 0; node--) {
+            siftDownRecords(s, width, temp, low, node, n);
+        }
+        for (long end = n - 1; end > 0; end--) {
+            swapRecords(s, width, temp, low, low + end);
+            siftDownRecords(s, width, temp, low, 0, end);
+        }
+    }
+
+    private static void siftDownRecords(MemorySegment s, int width, MemorySegment temp,
+                                        long offset, long node, long size) {
+        long child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && key(s, width, offset + child) < key(s, width, offset + child + 1)) child++;
+            if (key(s, width, offset + node) >= key(s, width, offset + child)) break;
+            swapRecords(s, width, temp, offset + node, offset + child);
+            node = child;
+        }
+    }
+
+    private static long key(MemorySegment s, int width, long index) {
+        return s.get(LONG, index * width);
+    }
+
+    private static void swapRecords(MemorySegment s, int width, MemorySegment temp, long i, long j) {
+        if (i == j) return;
+        MemorySegment.copy(s, i * width, temp, 0, width);
+        MemorySegment.copy(s, j * width, s, i * width, width);
+        MemorySegment.copy(temp, 0, s, j * width, width);
+    }
+
+    private static void radixSortRecords(MemorySegment s, long n, int width) {
+        long[][] counts = new long[LONG_PASSES][RADIX];
+        for (long i = 0; i < n; i++) {
+            long key = key(s, width, i);
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment src = s, dst = arena.allocate(s.byteSize(), Long.BYTES);
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                if (counts[pass][digit(key(src, width, 0), pass)] == n) continue;
+
+                long[] offsets = prefixOffsets(counts[pass]);
+                for (long i = 0; i < n; i++) {
+                    int d = digit(key(src, width, i), pass);
+                    MemorySegment.copy(src, i * width, dst, offsets[d]++ * width, width);
+                }
+                MemorySegment t = src;
+                src = dst;
+                dst = t;
+            }
+            if (src != s) MemorySegment.copy(src, 0, s, 0, s.byteSize());
+        }
+    }
+}
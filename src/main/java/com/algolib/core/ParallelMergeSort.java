@@ -0,0 +1,166 @@
+package com.algolib.core;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join merge sort kernels backing {@link Sorting#parallelMergeSort(int[])}.
+ *
+ * <p>Sorting ping-pongs between the input and a single scratch array of the same
+ * length: each level sorts its halves into the other array and merges them back, so
+ * no copying is needed between levels. Merges are themselves split in parallel by
+ * binary search, which keeps the top levels from serialising on a single thread.
+ */
+final class ParallelMergeSort {
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Sorts {@code a[low, high)} and leaves the result in {@code a}, or in
+     * {@code w} when {@code intoScratch} is set.
+     */
+    @SuppressWarnings("serial")
+    static final class SortTask extends RecursiveAction {
+        private final int[] a;
+        private final int[] w;
+        private final int low;
+        private final int high;
+        private final boolean intoScratch;
+        private final int granularity;
+        private final int insertionThreshold;
+
+        SortTask(int[] a, int[] w, int low, int high, boolean intoScratch, int granularity, int insertionThreshold) {
+            this.a = a;
+            this.w = w;
+            this.low = low;
+            this.high = high;
+            this.intoScratch = intoScratch;
+            this.granularity = granularity;
+            this.insertionThreshold = insertionThreshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= granularity) {
+                sequentialSort(a, w, low, high, insertionThreshold);
+                if (intoScratch) System.arraycopy(a, low, w, low, high - low);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            invokeAll(
+                    new SortTask(a, w, low, mid, !intoScratch, granularity, insertionThreshold),
+                    new SortTask(a, w, mid, high, !intoScratch, granularity, insertionThreshold));
+
+            // The halves landed in the opposite array, merge them into the requested one
+            int[] from = intoScratch ? a : w;
+            int[] to = intoScratch ? w : a;
+            new MergeTask(from, to, low, mid, mid, high, low, granularity).compute();
+        }
+    }
+
+    /**
+     * Merges sorted {@code from[low1, high1)} and {@code from[low2, high2)} into
+     * {@code to} starting at {@code dest}. Left-run elements win ties, so the merge is stable.
+     */
+    @SuppressWarnings("serial")
+    static final class MergeTask extends RecursiveAction {
+        private final int[] from;
+        private final int[] to;
+        private final int low1;
+        private final int high1;
+        private final int low2;
+        private final int high2;
+        private final int dest;
+        private final int granularity;
+
+        MergeTask(int[] from, int[] to, int low1, int high1, int low2, int high2, int dest, int granularity) {
+            this.from = from;
+            this.to = to;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.dest = dest;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = high1 - low1;
+            int length2 = high2 - low2;
+            // Two elements or an empty run cannot be split further, whatever the granularity
+            if (length1 == 0 || length2 == 0 || length1 + length2 <= Math.max(granularity, 2)) {
+                sequentialMerge(from, to, low1, high1, low2, high2, dest);
+                return;
+            }
+
+            // Split the longer run at its midpoint and find the matching cut in the other
+            int split1, split2;
+            if (length1 >= length2) {
+                split1 = (low1 + high1) >>> 1;
+                split2 = lowerBound(from, low2, high2, from[split1]);
+            } else {
+                split2 = (low2 + high2) >>> 1;
+                split1 = upperBound(from, low1, high1, from[split2]);
+            }
+
+            int splitDest = dest + (split1 - low1) + (split2 - low2);
+            invokeAll(
+                    new MergeTask(from, to, low1, split1, low2, split2, dest, granularity),
+                    new MergeTask(from, to, split1, high1, split2, high2, splitDest, granularity));
+        }
+    }
+
+    // Single-buffer merge sort of a[low, high) using w[low, high) as scratch
+    static void sequentialSort(int[] a, int[] w, int low, int high, int insertionThreshold) {
+        if (high - low <= Math.max(insertionThreshold, 1)) {
+            Sorting.smallSort(a, low, high);
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        sequentialSort(a, w, low, mid, insertionThreshold);
+        sequentialSort(a, w, mid, high, insertionThreshold);
+
+        // Halves are already in order, nothing to merge
+        if (a[mid - 1] <= a[mid]) return;
+
+        // Stage the left half in w and merge back; leftover right elements are already in place
+        System.arraycopy(a, low, w, low, mid - low);
+        int i = low, j = mid, k = low;
+        while (i < mid && j < high) {
+            a[k++] = w[i] <= a[j] ? w[i++] : a[j++];
+        }
+        while (i < mid) a[k++] = w[i++];
+    }
+
+    static void sequentialMerge(int[] from, int[] to, int low1, int high1, int low2, int high2, int dest) {
+        int i = low1, j = low2, k = dest;
+        while (i < high1 && j < high2) {
+            to[k++] = from[i] <= from[j] ? from[i++] : from[j++];
+        }
+        while (i < high1) to[k++] = from[i++];
+        while (j < high2) to[k++] = from[j++];
+    }
+
+    // First index in [low, high) whose value is >= key
+    private static int lowerBound(int[] a, int low, int high, int key) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (a[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // First index in [low, high) whose value is > key
+    private static int upperBound(int[] a, int low, int high, int key) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (a[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
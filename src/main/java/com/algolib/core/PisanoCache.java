@@ -0,0 +1,151 @@
+package com.algolib.core;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pisano periods and period tables backing {@link Fibonacci#fibonacciModPisano(long, long)}.
+ *
+ * <p>The Pisano period {@code π(m)} is the period of the Fibonacci sequence modulo {@code m}. It
+ * is found without searching the sequence: {@code π} is multiplicative over coprime factors in the
+ * sense {@code π(ab) = lcm(π(a), π(b))}, {@code π(p^k) = p^(k-1) π(p)}, and for a prime
+ * {@code p ≠ 2, 5} the period divides {@code p - 1} when {@code p ≡ ±1 (mod 5)} and
+ * {@code 2(p + 1)} otherwise. Each prime's period is therefore the smallest divisor of that bound
+ * that returns the sequence to {@code 0, 1}, found by dividing out the bound's prime factors one at
+ * a time. The prime-power rule is Wall's conjecture, which has been checked far beyond the
+ * {@code int} moduli accepted here.
+ *
+ * <p>One entry per modulus holds the period and, when it is short enough, the table
+ * {@code F(0), ..., F(π(m) - 1)} mod {@code m}, built on the first query for that modulus. Entries
+ * live in a {@link ConcurrentHashMap} capped by the number of moduli and by the total table length;
+ * going over either bound drops other entries in map order. Concurrent first queries for the same
+ * modulus may each build its entry once.
+ */
+final class PisanoCache {
+
+    private final int maxModuli;
+    private final int maxTableValues;
+    private final ConcurrentHashMap<Long, Period> entries = new ConcurrentHashMap<>();
+    private final AtomicLong storedValues = new AtomicLong();
+
+    PisanoCache(int maxModuli, int maxTableValues) {
+        this.maxModuli = maxModuli;
+        this.maxTableValues = maxTableValues;
+    }
+
+    /**
+     * The period and, if it fits in the cache, the table of F(i) mod m over one period.
+     */
+    static final class Period {
+        final long length;
+        final int[] table;
+
+        Period(long length, int[] table) {
+            this.length = length;
+            this.table = table;
+        }
+    }
+
+    Period lookup(long modulus) {
+        Period period = entries.get(modulus);
+        if (period != null) return period;
+
+        long length = period(modulus);
+        period = new Period(length, length <= maxTableValues ? table(modulus, (int) length) : null);
+        Period raced = entries.putIfAbsent(modulus, period);
+        if (raced != null) return raced;
+
+        if (storedValues.addAndGet(weight(period)) > maxTableValues || entries.size() > maxModuli) {
+            evictFor(modulus);
+        }
+        return period;
+    }
+
+    // Drops entries other than the one just added until both bounds hold again
+    private void evictFor(long keep) {
+        Iterator<Map.Entry<Long, Period>> it = entries.entrySet().iterator();
+        while ((storedValues.get() > maxTableValues || entries.size() > maxModuli) && it.hasNext()) {
+            Map.Entry<Long, Period> candidate = it.next();
+            if (candidate.getKey() == keep) continue;
+            if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                storedValues.addAndGet(-weight(candidate.getValue()));
+            }
+        }
+    }
+
+    private static long weight(Period period) {
+        return period.table == null ? 0 : period.table.length;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // F(0), ..., F(period - 1) mod m; every value is below m <= Integer.MAX_VALUE
+    private static int[] table(long modulus, int period) {
+        int[] table = new int[period];
+        long a = 0, b = 1 % modulus;
+        for (int i = 0; i < period; i++) {
+            table[i] = (int) a;
+            long c = a + b;
+            a = b;
+            b = c >= modulus ? c - modulus : c;
+        }
+        return table;
+    }
+
+    /**
+     * π(m) for {@code 1 <= m <= Integer.MAX_VALUE}, at most {@code 6m}.
+     */
+    static long period(long modulus) {
+        long period = 1;
+        long rest = modulus;
+        for (long p = 2; p * p <= rest; p += p == 2 ? 1 : 2) {
+            if (rest % p != 0) continue;
+            long primePower = 1;
+            while (rest % p == 0) {
+                rest /= p;
+                primePower *= p;
+            }
+            period = lcm(period, primePeriod(p) * (primePower / p));
+        }
+        if (rest > 1) period = lcm(period, primePeriod(rest));
+        return period;
+    }
+
+    private static long primePeriod(long p) {
+        if (p == 2) return 3;
+        if (p == 5) return 20;
+
+        long bound = p % 5 == 1 || p % 5 == 4 ? p - 1 : 2 * (p + 1);
+        long period = bound;
+        long rest = bound;
+        for (long q = 2; rest > 1; q += q == 2 ? 1 : 2) {
+            if (q * q > rest) q = rest;
+            if (rest % q != 0) continue;
+            while (rest % q == 0) rest /= q;
+            while (period % q == 0 && returnsToStart(period / q, p)) period /= q;
+        }
+        return period;
+    }
+
+    // Whether F(d), F(d+1) is 0, 1 modulo the prime p
+    private static boolean returnsToStart(long d, long p) {
+        ModularArithmetic ring = ModularArithmetic.oddPart(p);
+        long[] pair = new long[2];
+        FibonacciBatch.pair(d, ring, pair);
+        return ring.toLong(pair[0]) == 0 && ring.toLong(pair[1]) == 1;
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a, y = b;
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return a / x * b;
+    }
+}
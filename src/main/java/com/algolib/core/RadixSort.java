@@ -0,0 +1,204 @@
+package com.algolib.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToIntFunction;
+
+/**
+ * Least-significant-digit radix sort kernels backing {@link Sorting#radixSort(int[])}.
+ *
+ * <p>Keys are processed in 11-bit digits (3 passes for {@code int}, 6 for {@code long}).
+ * One read pass builds the histograms of every digit up front, which lets any pass where
+ * all keys share the same digit be skipped entirely. The sign bit is flipped while
+ * extracting digits so negative keys order before positive ones.
+ */
+final class RadixSort {
+
+    static final int DIGIT_BITS = 11;
+    static final int RADIX = 1 << DIGIT_BITS;
+    static final int DIGIT_MASK = RADIX - 1;
+    static final int INT_PASSES = (Integer.SIZE + DIGIT_BITS - 1) / DIGIT_BITS;
+    static final int LONG_PASSES = (Long.SIZE + DIGIT_BITS - 1) / DIGIT_BITS;
+
+    private RadixSort() {
+    }
+
+    private static int digit(int key, int pass) {
+        return ((key ^ Integer.MIN_VALUE) >>> (pass * DIGIT_BITS)) & DIGIT_MASK;
+    }
+
+    private static int digit(long key, int pass) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> (pass * DIGIT_BITS)) & DIGIT_MASK;
+    }
+
+    static int[][] histogram(int[] a, int from, int to) {
+        int[][] counts = new int[INT_PASSES][RADIX];
+        for (int i = from; i < to; i++) {
+            int key = a[i];
+            for (int pass = 0; pass < INT_PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+        return counts;
+    }
+
+    static int[][] histogram(long[] a, int from, int to) {
+        int[][] counts = new int[LONG_PASSES][RADIX];
+        for (int i = from; i < to; i++) {
+            long key = a[i];
+            for (int pass = 0; pass < LONG_PASSES; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+        return counts;
+    }
+
+    // Builds the histograms on the pool by splitting the range and summing the partial counts
+    static int[][] parallelHistogram(int[] a, int from, int to, ForkJoinPool pool, int granularity) {
+        return pool.invoke(new HistogramTask(a, null, from, to, granularity));
+    }
+
+    static int[][] parallelHistogram(long[] a, int from, int to, ForkJoinPool pool, int granularity) {
+        return pool.invoke(new HistogramTask(null, a, from, to, granularity));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class HistogramTask extends RecursiveTask<int[][]> {
+        private final int[] ints;
+        private final long[] longs;
+        private final int from;
+        private final int to;
+        private final int granularity;
+
+        HistogramTask(int[] ints, long[] longs, int from, int to, int granularity) {
+            this.ints = ints;
+            this.longs = longs;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected int[][] compute() {
+            if (to - from <= granularity) {
+                return ints != null ? histogram(ints, from, to) : histogram(longs, from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            HistogramTask right = new HistogramTask(ints, longs, mid, to, granularity);
+            right.fork();
+            int[][] counts = new HistogramTask(ints, longs, from, mid, granularity).compute();
+            int[][] rightCounts = right.join();
+            for (int pass = 0; pass < counts.length; pass++) {
+                for (int d = 0; d < RADIX; d++) {
+                    counts[pass][d] += rightCounts[pass][d];
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Sorts {@code a[from, to)} using precomputed digit histograms and a scratch
+     * buffer of at least {@code to - from} elements.
+     */
+    static void sort(int[] a, int from, int to, int[] buffer, int[][] counts) {
+        int n = to - from;
+        int[] src = a, dst = buffer;
+        int srcOffset = from, dstOffset = 0;
+
+        for (int pass = 0; pass < INT_PASSES; pass++) {
+            int[] count = counts[pass];
+            // Every key has the same digit here, so this pass would not move anything
+            if (count[digit(src[srcOffset], pass)] == n) continue;
+
+            int[] offsets = prefixOffsets(count, dstOffset);
+            for (int i = srcOffset, end = srcOffset + n; i < end; i++) {
+                int key = src[i];
+                dst[offsets[digit(key, pass)]++] = key;
+            }
+
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+            int swapOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = swapOffset;
+        }
+
+        if (src != a) System.arraycopy(src, srcOffset, a, from, n);
+    }
+
+    static void sort(long[] a, int from, int to, long[] buffer, int[][] counts) {
+        int n = to - from;
+        long[] src = a, dst = buffer;
+        int srcOffset = from, dstOffset = 0;
+
+        for (int pass = 0; pass < LONG_PASSES; pass++) {
+            int[] count = counts[pass];
+            if (count[digit(src[srcOffset], pass)] == n) continue;
+
+            int[] offsets = prefixOffsets(count, dstOffset);
+            for (int i = srcOffset, end = srcOffset + n; i < end; i++) {
+                long key = src[i];
+                dst[offsets[digit(key, pass)]++] = key;
+            }
+
+            long[] swap = src;
+            src = dst;
+            dst = swap;
+            int swapOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = swapOffset;
+        }
+
+        if (src != a) System.arraycopy(src, srcOffset, a, from, n);
+    }
+
+    /**
+     * Stable radix sort of objects by an int key. Keys are extracted once and
+     * scattered alongside the objects, so the extractor runs exactly n times.
+     */
+    static <T> void sortByKey(T[] a, ToIntFunction<? super T> keyExtractor) {
+        int n = a.length;
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsInt(a[i]);
+        }
+        int[][] counts = histogram(keys, 0, n);
+
+        int[] srcKeys = keys, dstKeys = new int[n];
+        T[] src = a, dst = a.clone();
+        for (int pass = 0; pass < INT_PASSES; pass++) {
+            int[] count = counts[pass];
+            if (count[digit(srcKeys[0], pass)] == n) continue;
+
+            int[] offsets = prefixOffsets(count, 0);
+            for (int i = 0; i < n; i++) {
+                int target = offsets[digit(srcKeys[i], pass)]++;
+                dstKeys[target] = srcKeys[i];
+                dst[target] = src[i];
+            }
+
+            int[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            T[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+
+        if (src != a) System.arraycopy(src, 0, a, 0, n);
+    }
+
+    // Exclusive prefix sums of the digit counts, shifted to start at base
+    private static int[] prefixOffsets(int[] count, int base) {
+        int[] offsets = new int[RADIX];
+        int sum = base;
+        for (int d = 0; d < RADIX; d++) {
+            offsets[d] = sum;
+            sum += count[d];
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,232 @@
+package com.algolib.core;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel sample sort kernels backing {@link Sorting#parallelSampleSort(int[])}.
+ *
+ * <p>A random sample of {@code oversampling} keys per bucket is sorted and every
+ * {@code oversampling}-th key becomes a splitter. Each block of the input counts its keys per
+ * bucket in a private histogram, the histograms are prefix summed so every block owns a disjoint
+ * slice of each bucket, and one scatter pass moves every key into a buffer. The buckets are
+ * then copied back and sorted independently. Keys equal to a splitter get a bucket of their
+ * own that needs no sorting, so heavy duplicates cannot pile up in a single bucket.
+ */
+final class SampleSort {
+
+    // More buckets than threads lets work stealing even out buckets of different sizes
+    private static final int BUCKETS_PER_THREAD = 4;
+
+    // Fixed so the same input always produces the same buckets
+    private static final long SAMPLE_SEED = 0x5DEECE66DL;
+
+    private static final Sorting SCALAR = new Sorting();
+
+    private SampleSort() {
+    }
+
+    // int[] kernels
+
+    /**
+     * Sorts the whole array using the pool. The caller has already checked that the array is
+     * large enough and the pool has more than one worker.
+     */
+    static void sort(int[] a, ForkJoinPool pool, int oversampling) {
+        int n = a.length;
+        int threads = pool.getParallelism();
+        int blocks = Math.max(1, Math.min(threads, n / Sorting.MIN_PARALLEL_GRANULARITY));
+        int buckets = Math.max(2, Math.min(threads * BUCKETS_PER_THREAD, n / Sorting.MIN_PARALLEL_GRANULARITY));
+        int[] splitters = splitters(a, buckets, oversampling);
+        int classes = 2 * splitters.length + 1;
+
+        // Per-block histograms, so no counter is shared between threads
+        int[][] counts = new int[blocks][classes];
+        pool.invoke(new RangeTask(0, blocks, block -> {
+            int[] count = counts[block];
+            for (int i = blockStart(n, blocks, block), end = blockStart(n, blocks, block + 1); i < end; i++) {
+                count[classify(splitters, a[i])]++;
+            }
+        }));
+
+        // Class-major prefix sums: each block owns a disjoint slice of every bucket
+        int[] bucketStarts = new int[classes + 1];
+        int[][] offsets = new int[blocks][classes];
+        int position = 0;
+        for (int c = 0; c < classes; c++) {
+            bucketStarts[c] = position;
+            for (int block = 0; block < blocks; block++) {
+                offsets[block][c] = position;
+                position += counts[block][c];
+            }
+        }
+        bucketStarts[classes] = n;
+
+        // The single scatter pass into the buffer
+        int[] buffer = new int[n];
+        pool.invoke(new RangeTask(0, blocks, block -> {
+            int[] offset = offsets[block];
+            for (int i = blockStart(n, blocks, block), end = blockStart(n, blocks, block + 1); i < end; i++) {
+                int key = a[i];
+                buffer[offset[classify(splitters, key)]++] = key;
+            }
+        }));
+
+        // Buckets are independent: copy each back and sort it, equality buckets are already done
+        pool.invoke(new RangeTask(0, classes, c -> {
+            int start = bucketStarts[c], end = bucketStarts[c + 1];
+            System.arraycopy(buffer, start, a, start, end - start);
+            if ((c & 1) == 0 && end - start > 1) SCALAR.quickSort(a, start, end);
+        }));
+    }
+
+    // Sorted, distinct splitters taken from every oversampling-th element of a random sample
+    private static int[] splitters(int[] a, int buckets, int oversampling) {
+        int sampleSize = (int) Math.min((long) buckets * oversampling, a.length);
+        int[] sample = new int[sampleSize];
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = a[random.nextInt(a.length)];
+        }
+        SCALAR.quickSort(sample);
+
+        int step = Math.max(1, sampleSize / buckets);
+        int[] splitters = new int[buckets - 1];
+        int count = 0;
+        for (int i = 1; i < buckets && i * step < sampleSize; i++) {
+            int splitter = sample[i * step];
+            if (count == 0 || splitters[count - 1] != splitter) splitters[count++] = splitter;
+        }
+        return Arrays.copyOf(splitters, count);
+    }
+
+    // Class 2i holds keys strictly between splitters i - 1 and i, class 2i + 1 keys equal to splitter i
+    private static int classify(int[] splitters, int key) {
+        int low = 0, high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low < splitters.length && splitters[low] == key ? 2 * low + 1 : 2 * low;
+    }
+
+    // long[] kernels
+
+    /**
+     * Sorts the whole array using the pool. The caller has already checked that the array is
+     * large enough and the pool has more than one worker.
+     */
+    static void sort(long[] a, ForkJoinPool pool, int oversampling) {
+        int n = a.length;
+        int threads = pool.getParallelism();
+        int blocks = Math.max(1, Math.min(threads, n / Sorting.MIN_PARALLEL_GRANULARITY));
+        int buckets = Math.max(2, Math.min(threads * BUCKETS_PER_THREAD, n / Sorting.MIN_PARALLEL_GRANULARITY));
+        long[] splitters = splitters(a, buckets, oversampling);
+        int classes = 2 * splitters.length + 1;
+
+        // Per-block histograms, so no counter is shared between threads
+        int[][] counts = new int[blocks][classes];
+        pool.invoke(new RangeTask(0, blocks, block -> {
+            int[] count = counts[block];
+            for (int i = blockStart(n, blocks, block), end = blockStart(n, blocks, block + 1); i < end; i++) {
+                count[classify(splitters, a[i])]++;
+            }
+        }));
+
+        // Class-major prefix sums: each block owns a disjoint slice of every bucket
+        int[] bucketStarts = new int[classes + 1];
+        int[][] offsets = new int[blocks][classes];
+        int position = 0;
+        for (int c = 0; c < classes; c++) {
+            bucketStarts[c] = position;
+            for (int block = 0; block < blocks; block++) {
+                offsets[block][c] = position;
+                position += counts[block][c];
+            }
+        }
+        bucketStarts[classes] = n;
+
+        // The single scatter pass into the buffer
+        long[] buffer = new long[n];
+        pool.invoke(new RangeTask(0, blocks, block -> {
+            int[] offset = offsets[block];
+            for (int i = blockStart(n, blocks, block), end = blockStart(n, blocks, block + 1); i < end; i++) {
+                long key = a[i];
+                buffer[offset[classify(splitters, key)]++] = key;
+            }
+        }));
+
+        // Buckets are independent: copy each back and sort it, equality buckets are already done
+        pool.invoke(new RangeTask(0, classes, c -> {
+            int start = bucketStarts[c], end = bucketStarts[c + 1];
+            System.arraycopy(buffer, start, a, start, end - start);
+            if ((c & 1) == 0 && end - start > 1) SCALAR.quickSort(a, start, end);
+        }));
+    }
+
+    // Sorted, distinct splitters taken from every oversampling-th element of a random sample
+    private static long[] splitters(long[] a, int buckets, int oversampling) {
+        int sampleSize = (int) Math.min((long) buckets * oversampling, a.length);
+        long[] sample = new long[sampleSize];
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        for (int i = 0; i < sampleSize; i++) {
+            sample[i] = a[random.nextInt(a.length)];
+        }
+        SCALAR.quickSort(sample);
+
+        int step = Math.max(1, sampleSize / buckets);
+        long[] splitters = new long[buckets - 1];
+        int count = 0;
+        for (int i = 1; i < buckets && i * step < sampleSize; i++) {
+            long splitter = sample[i * step];
+            if (count == 0 || splitters[count - 1] != splitter) splitters[count++] = splitter;
+        }
+        return Arrays.copyOf(splitters, count);
+    }
+
+    // Class 2i holds keys strictly between splitters i - 1 and i, class 2i + 1 keys equal to splitter i
+    private static int classify(long[] splitters, long key) {
+        int low = 0, high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low < splitters.length && splitters[low] == key ? 2 * low + 1 : 2 * low;
+    }
+
+    private static int blockStart(int n, int blocks, int block) {
+        return (int) ((long) n * block / blocks);
+    }
+
+    /**
+     * Runs {@code body} for every index in {@code [from, to)}, splitting the range in halves
+     * across the pool.
+     */
+    @SuppressWarnings("serial")
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+        }
+    }
+}
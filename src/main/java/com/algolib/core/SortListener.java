@@ -0,0 +1,21 @@
+package com.algolib.core;
+
+/**
+ * Metrics hook for {@link Sorting#sort(int[])}, called once per sort with what was measured and
+ * what was chosen, so the decisions can be logged or audited.
+ */
+@FunctionalInterface
+public interface SortListener {
+
+    SortListener NONE = (profile, strategy, elapsedNanos) -> {
+    };
+
+    /**
+     * Called on the sorting thread after the range is sorted. Exceptions propagate to the caller.
+     *
+     * @param profile      the sampled measurements the decision was based on
+     * @param strategy     the algorithm that actually sorted the range
+     * @param elapsedNanos wall time of sampling plus sorting
+     */
+    void onSort(SortProfile profile, SortStrategy strategy, long elapsedNanos);
+}
@@ -0,0 +1,11 @@
+package com.algolib.core;
+
+/**
+ * Phases reported by cancellable sorts to their {@link SortProgressListener}.
+ */
+public enum SortPhase {
+    // Sorting fixed-size runs independently
+    SORTING_RUNS,
+    // Merging runs pairwise, one pass per doubling of the run length
+    MERGING
+}
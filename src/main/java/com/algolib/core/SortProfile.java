@@ -0,0 +1,17 @@
+package com.algolib.core;
+
+/**
+ * What {@link Sorting#sort(int[])} measured on a sample of its input before choosing a
+ * {@link SortStrategy}.
+ *
+ * @param length         number of elements in the sorted range
+ * @param sampleSize     number of adjacent pairs sampled at evenly spaced positions
+ * @param ascendingRatio fraction of sampled pairs already in non-descending order; near 1 for
+ *                       presorted input, near 0 for reversed input and about 0.5 for random input
+ * @param duplicateRatio fraction of sampled keys that repeat another sampled key
+ * @param sampleMin      smallest sampled key
+ * @param sampleMax      largest sampled key; the real key range can only be wider
+ */
+public record SortProfile(int length, int sampleSize, double ascendingRatio, double duplicateRatio,
+                          long sampleMin, long sampleMax) {
+}
@@ -0,0 +1,22 @@
+package com.algolib.core;
+
+/**
+ * Receives progress from cancellable sorts after each chunk of work.
+ */
+@FunctionalInterface
+public interface SortProgressListener {
+
+    SortProgressListener NONE = (phase, completed, total) -> {
+    };
+
+    /**
+     * Called after each chunk. Parallel sorts call it from pool threads, possibly concurrently,
+     * so implementations must be thread-safe there.
+     *
+     * @param phase     the current phase
+     * @param completed elements processed so far in this phase; merge passes add up, so for
+     *                  {@link SortPhase#MERGING} it counts every element once per pass
+     * @param total     the value {@code completed} reaches when the phase ends
+     */
+    void onProgress(SortPhase phase, long completed, long total);
+}
@@ -0,0 +1,94 @@
+package com.algolib.core;
+
+/**
+ * Input sampling and the decision rules behind {@link Sorting#sort(int[])}.
+ *
+ * <p>Sampling reads a fixed number of adjacent pairs at evenly spaced positions, so it costs the
+ * same for any input length. The pairs show how much of the input is already ordered, and the
+ * sorted sample gives the duplicate ratio and a lower bound on the key range.
+ */
+final class SortSelector {
+
+    // Adjacent pairs read per profile
+    static final int SAMPLE_PAIRS = 64;
+
+    // This share of sampled pairs in one direction counts as presorted
+    static final double PRESORTED_RATIO = 0.9;
+
+    // Many repeated keys suit the three-way partitioning of introsort
+    static final double DUPLICATE_RATIO = 0.5;
+
+    // Below this radix sort's histograms and scratch buffer do not pay for themselves
+    static final int MIN_RADIX_LENGTH = 1 << 12;
+
+    private static final Sorting SCALAR = new Sorting();
+
+    private SortSelector() {
+    }
+
+    static SortProfile profile(int[] a, int low, int high) {
+        int n = high - low;
+        if (n < 2) return new SortProfile(n, 0, 1.0, 0.0, n == 0 ? 0 : a[low], n == 0 ? 0 : a[low]);
+
+        int pairs = Math.min(SAMPLE_PAIRS, n - 1);
+        long[] sample = new long[2 * pairs];
+        int ascending = 0;
+        for (int s = 0; s < pairs; s++) {
+            int i = low + (int) ((long) s * (n - 1) / pairs);
+            if (a[i] <= a[i + 1]) ascending++;
+            sample[2 * s] = a[i];
+            sample[2 * s + 1] = a[i + 1];
+        }
+
+        SCALAR.quickSort(sample);
+        int duplicates = 0;
+        for (int i = 1; i < sample.length; i++) {
+            if (sample[i] == sample[i - 1]) duplicates++;
+        }
+        return new SortProfile(n, pairs, (double) ascending / pairs, (double) duplicates / sample.length,
+                sample[0], sample[sample.length - 1]);
+    }
+
+    static SortProfile profile(long[] a, int low, int high) {
+        int n = high - low;
+        if (n < 2) return new SortProfile(n, 0, 1.0, 0.0, n == 0 ? 0 : a[low], n == 0 ? 0 : a[low]);
+
+        int pairs = Math.min(SAMPLE_PAIRS, n - 1);
+        long[] sample = new long[2 * pairs];
+        int ascending = 0;
+        for (int s = 0; s < pairs; s++) {
+            int i = low + (int) ((long) s * (n - 1) / pairs);
+            if (a[i] <= a[i + 1]) ascending++;
+            sample[2 * s] = a[i];
+            sample[2 * s + 1] = a[i + 1];
+        }
+
+        SCALAR.quickSort(sample);
+        int duplicates = 0;
+        for (int i = 1; i < sample.length; i++) {
+            if (sample[i] == sample[i - 1]) duplicates++;
+        }
+        return new SortProfile(n, pairs, (double) ascending / pairs, (double) duplicates / sample.length,
+                sample[0], sample[sample.length - 1]);
+    }
+
+    static SortStrategy choose(SortProfile profile) {
+        int n = profile.length();
+        if (n <= Sorting.DEFAULT_INSERTION_SORT_THRESHOLD) return SortStrategy.INSERTION;
+
+        double ascending = profile.ascendingRatio();
+        if (ascending >= PRESORTED_RATIO || ascending <= 1 - PRESORTED_RATIO) return SortStrategy.ADAPTIVE;
+
+        // Negative when the subtraction overflows, i.e. the range is far too wide anyway
+        long sampleRange = profile.sampleMax() - profile.sampleMin();
+        if (sampleRange >= 0 && sampleRange < n && sampleRange < Sorting.MAX_COUNTING_RANGE) return SortStrategy.COUNTING;
+
+        if (profile.duplicateRatio() >= DUPLICATE_RATIO) return SortStrategy.INTROSORT;
+        return n >= MIN_RADIX_LENGTH ? SortStrategy.RADIX : SortStrategy.INTROSORT;
+    }
+
+    // Used when counting was chosen from the sample but the full key range turned out too wide
+    static SortStrategy fallback(int length) {
+        return length >= MIN_RADIX_LENGTH ? SortStrategy.RADIX : SortStrategy.INTROSORT;
+    }
+}
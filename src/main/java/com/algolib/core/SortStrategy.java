@@ -0,0 +1,17 @@
+package com.algolib.core;
+
+/**
+ * The algorithms {@link Sorting#sort(int[])} chooses between.
+ */
+public enum SortStrategy {
+    // Short ranges, where the simplest loop wins
+    INSERTION,
+    // Keys span no more values than there are elements, sorted by counting occurrences
+    COUNTING,
+    // Long ranges of wide, mostly distinct keys
+    RADIX,
+    // Mostly ascending or descending input, sorted by merging the runs already present
+    ADAPTIVE,
+    // Everything else, including heavy duplicates
+    INTROSORT
+}
@@ -2,162 +2,2314 @@ package com.algolib.core;
 
 import com.algolib.utils.helpers.ArrayHelper;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
 public class Sorting {
 
+    // Ranges at or below this size are finished with insertion sort
+    public static final int DEFAULT_INSERTION_SORT_THRESHOLD = 32;
+
+    // Longest range networkSort accepts; quick and merge sorts finish ranges up to this size with a network
+    public static final int MAX_NETWORK_SORT_LENGTH = SortingNetworks.MAX_LENGTH;
+
+    // Parallel sorts that pick their own granularity never split work below this many elements per task
+    public static final int MIN_PARALLEL_GRANULARITY = 1 << 13;
+
+    // Radix sort hands ranges shorter than this to quick sort, the histograms would dominate
+    public static final int MIN_RADIX_SORT_LENGTH = 256;
+
+    // Counting sorts fall back to a comparison sort above this many distinct key values (16 MB of counts)
+    public static final int MAX_COUNTING_RANGE = 1 << 22;
+
+    // Sample keys drawn per sample sort bucket; more gives evener buckets for a costlier sample
+    public static final int DEFAULT_SAMPLE_SORT_OVERSAMPLING = 32;
+
+    // VectorSort is only linked when the incubator module was resolved with --add-modules jdk.incubator.vector
+    private static final boolean VECTOR_SORT_ACCELERATED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent() && VectorSort.isSupported();
+
+    // Receives the decisions made by sort(...)
+    private final SortListener listener;
+
+    public Sorting() {
+        this(SortListener.NONE);
+    }
+
+    /**
+     * Creates a sorter that reports every {@link #sort(int[])} decision to {@code listener}.
+     */
+    public Sorting(SortListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    // The boxed API unboxes once and runs on the int[] primitive path
+
     public Integer[] bubbleSort(Integer[] arr) {
+        int[] values = ArrayHelper.toPrimitive(arr);
+        bubbleSort(values);
+        return ArrayHelper.copyInto(values, arr);
+    }
+
+    public Integer[] selectionSort(Integer[] arr) {
+        int[] values = ArrayHelper.toPrimitive(arr);
+        selectionSort(values);
+        return ArrayHelper.copyInto(values, arr);
+    }
+
+    public Integer[] insertionSort(Integer[] arr) {
+        int[] values = ArrayHelper.toPrimitive(arr);
+        insertionSort(values);
+        return ArrayHelper.copyInto(values, arr);
+    }
+
+    // Returns a new sorted array and leaves the input untouched
+    public Integer[] mergeSort(Integer[] arr) {
+        if (arr.length <= 1) {
+            return arr; // already sorted
+        }
+
+        int[] values = ArrayHelper.toPrimitive(arr);
+        mergeSort(values);
+        return ArrayHelper.copyInto(values, new Integer[values.length]);
+    }
+
+    public Integer[] quickSort(Integer[] arr) {
+        int[] values = ArrayHelper.toPrimitive(arr);
+        quickSort(values);
+        return ArrayHelper.copyInto(values, arr);
+    }
+
+    // Scratch length the merge sorts need for a range of the given length
+    public static int mergeBufferLength(int length) {
+        return length / 2;
+    }
+
+    // Quick sort gives up on partitioning after 2 * floor(log2 n) levels
+    private static int introSortDepthLimit(int length) {
+        return length <= 1 ? 0 : 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+
+    private static void checkNetworkLength(int length) {
+        if (length > MAX_NETWORK_SORT_LENGTH)
+            throw new IllegalArgumentException("Sorting networks cover at most " + MAX_NETWORK_SORT_LENGTH
+                    + " elements: " + length);
+    }
+
+    private static void checkMergeBuffer(int rangeLength, int bufferLength) {
+        if (bufferLength < mergeBufferLength(rangeLength))
+            throw new IllegalArgumentException("Merge buffer of length " + bufferLength
+                    + " is too small for a range of " + rangeLength + " elements");
+    }
+
+    // int[] primitive path
+
+    public int[] bubbleSort(int[] arr) {
+        return bubbleSort(arr, 0, arr.length);
+    }
+
+    public int[] bubbleSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
         boolean swapped;
-        int n = arr.length;
-        for (int i = 0; i < n - 1; i++) {
+        for (int end = toIndex - 1; end > fromIndex; end--) {
             swapped = false;
-            for (int j = 0; j < n - 1 - i; j++) {
+            for (int j = fromIndex; j < end; j++) {
                 if (arr[j] > arr[j + 1]) {
-                    // swap arr[j] and arr[j+1]
-                    int temp = arr[j];
-                    arr[j] = arr[j + 1];
-                    arr[j + 1] = temp;
+                    ArrayHelper.swapElements(arr, j, j + 1);
                     swapped = true;
                 }
             }
-            // If no two elements were swapped in inner loop, array is sorted
+            // If no two elements were swapped in inner loop, range is sorted
             if (!swapped) break;
         }
 
         return arr;
     }
 
-    public Integer[] selectionSort(Integer[] arr) {
-        int n = arr.length;
+    public int[] selectionSort(int[] arr) {
+        return selectionSort(arr, 0, arr.length);
+    }
 
-        for (int i = 0; i < n - 1; i++) {
-            // Assume the minimum is the current index
+    public int[] selectionSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex - 1; i++) {
             int minIndex = i;
-
-            // Find the actual minimum in the rest of the array
-            for (int j = i + 1; j < n; j++) {
+            for (int j = i + 1; j < toIndex; j++) {
                 if (arr[j] < arr[minIndex]) {
                     minIndex = j;
                 }
             }
 
-            // Swap the found minimum with the current element
             if (minIndex != i) {
-                int temp = arr[i];
-                arr[i] = arr[minIndex];
-                arr[minIndex] = temp;
+                ArrayHelper.swapElements(arr, i, minIndex);
             }
         }
 
         return arr;
     }
 
-    public Integer[] insertionSort(Integer[] arr) {
-        int n = arr.length;
+    public int[] insertionSort(int[] arr) {
+        return insertionSort(arr, 0, arr.length);
+    }
+
+    public int[] insertionSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        insertionSortRange(arr, fromIndex, toIndex);
+        return arr;
+    }
 
-        for (int i = 1; i < n; i++) {
+    private static void insertionSortRange(int[] arr, int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
             int key = arr[i];
             int j = i - 1;
 
             // Move elements that are greater than key one position ahead
-            while (j >= 0 && arr[j] > key) {
+            while (j >= fromIndex && arr[j] > key) {
                 arr[j + 1] = arr[j];
                 j--;
             }
 
             arr[j + 1] = key;
         }
+    }
+
+    /**
+     * Sorts the array, of at most {@link #MAX_NETWORK_SORT_LENGTH} elements, with a size-optimal
+     * sorting network. The network runs the same compare-exchanges whatever the input order, so
+     * it does not suffer the branch mispredictions of {@link #insertionSort(int[])}.
+     *
+     * @return the sorted array
+     * @throws IllegalArgumentException if the array is longer than {@link #MAX_NETWORK_SORT_LENGTH}
+     */
+    public int[] networkSort(int[] arr) {
+        return networkSort(arr, 0, arr.length);
+    }
 
+    public int[] networkSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkNetworkLength(toIndex - fromIndex);
+        SortingNetworks.sort(arr, fromIndex, toIndex);
         return arr;
     }
 
-    public Integer[] mergeSort(Integer[] arr) {
-        if (arr.length <= 1) {
-            return arr; // already sorted
+    // Base case of the quick and merge sorts: a sorting network when the range fits one
+    static void smallSort(int[] arr, int low, int high) {
+        if (high - low <= MAX_NETWORK_SORT_LENGTH) SortingNetworks.sort(arr, low, high);
+        else insertionSortRange(arr, low, high);
+    }
+
+    public int[] mergeSort(int[] arr) {
+        return mergeSort(arr, 0, arr.length);
+    }
+
+    public int[] mergeSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        return mergeSort(arr, fromIndex, toIndex, new int[mergeBufferLength(toIndex - fromIndex)]);
+    }
+
+    /**
+     * Top-down merge sort of {@code [fromIndex, toIndex)} that allocates nothing,
+     * using a caller-owned buffer that can be reused across calls.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public int[] mergeSort(int[] arr, int fromIndex, int toIndex, int[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+        mergeSortRange(arr, fromIndex, toIndex, buffer);
+        return arr;
+    }
+
+    public int[] bottomUpMergeSort(int[] arr) {
+        return bottomUpMergeSort(arr, 0, arr.length, new int[mergeBufferLength(arr.length)]);
+    }
+
+    /**
+     * Non-recursive merge sort of {@code [fromIndex, toIndex)}. Small blocks are sorted
+     * with sorting networks first, then runs of doubling width are merged using the caller-owned buffer.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public int[] bottomUpMergeSort(int[] arr, int fromIndex, int toIndex, int[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+
+        for (int low = fromIndex; low < toIndex; low += MAX_NETWORK_SORT_LENGTH) {
+            SortingNetworks.sort(arr, low, Math.min(low + MAX_NETWORK_SORT_LENGTH, toIndex));
         }
 
-        // Split array into two halves
-        int mid = arr.length / 2;
-        Integer[] left = new Integer[mid];
-        Integer[] right = new Integer[arr.length - mid];
+        for (int width = MAX_NETWORK_SORT_LENGTH; width > 0 && width < toIndex - fromIndex; width <<= 1) {
+            for (int low = fromIndex; low < toIndex - width; low += width << 1) {
+                int mid = low + width;
+                int high = (int) Math.min((long) mid + width, toIndex);
+                if (arr[mid - 1] > arr[mid]) {
+                    merge(arr, low, mid, high, buffer);
+                }
+            }
+        }
+        return arr;
+    }
 
-        for (int i = 0; i < mid; i++) {
-            left[i] = arr[i];
+    private static void mergeSortRange(int[] arr, int low, int high, int[] buffer) {
+        if (high - low <= MAX_NETWORK_SORT_LENGTH) {
+            SortingNetworks.sort(arr, low, high);
+            return;
         }
-        for (int i = mid; i < arr.length; i++) {
-            right[i - mid] = arr[i];
+
+        int mid = (low + high) >>> 1;
+        mergeSortRange(arr, low, mid, buffer);
+        mergeSortRange(arr, mid, high, buffer);
+
+        // Halves are already in order, nothing to merge
+        if (arr[mid - 1] <= arr[mid]) return;
+
+        merge(arr, low, mid, high, buffer);
+    }
+
+    // Merges sorted [low, mid) and [mid, high) in place, staging the shorter run in buffer
+    private static void merge(int[] arr, int low, int mid, int high, int[] buffer) {
+        int leftLength = mid - low;
+        int rightLength = high - mid;
+
+        if (leftLength <= rightLength) {
+            System.arraycopy(arr, low, buffer, 0, leftLength);
+
+            int i = 0, j = mid, k = low;
+            while (i < leftLength && j < high) {
+                if (buffer[i] <= arr[j]) {
+                    arr[k++] = buffer[i++];
+                } else {
+                    arr[k++] = arr[j++];
+                }
+            }
+
+            // Remaining right elements are already in place
+            while (i < leftLength) {
+                arr[k++] = buffer[i++];
+            }
+        } else {
+            System.arraycopy(arr, mid, buffer, 0, rightLength);
+
+            // Merge from the back; on ties the right run goes last to stay stable
+            int i = mid - 1, j = rightLength - 1, k = high - 1;
+            while (i >= low && j >= 0) {
+                if (arr[i] > buffer[j]) {
+                    arr[k--] = arr[i--];
+                } else {
+                    arr[k--] = buffer[j--];
+                }
+            }
+
+            // Remaining left elements are already in place
+            while (j >= 0) {
+                arr[k--] = buffer[j--];
+            }
         }
+    }
+
+    public int[] quickSort(int[] arr) {
+        return quickSort(arr, 0, arr.length);
+    }
 
-        // Recursively sort each half
-        left = mergeSort(left);
-        right = mergeSort(right);
+    public int[] quickSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, introSortDepthLimit(toIndex - fromIndex));
+        return arr;
+    }
+
+    /**
+     * Rearranges the array so index {@code k} holds the element it would hold after sorting,
+     * with nothing larger before it and nothing smaller after it.
+     *
+     * @param k the 0-based rank to select
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public int select(int[] arr, int k) {
+        Objects.checkIndex(k, arr.length);
+        introSelect(arr, 0, arr.length, k, introSortDepthLimit(arr.length));
+        return arr[k];
+    }
+
+    /**
+     * Moves the {@code k} smallest elements to the front in sorted order; the order of the
+     * remaining elements is unspecified.
+     *
+     * @return the partially sorted array
+     * @throws IndexOutOfBoundsException if k is negative or larger than the array
+     */
+    public int[] partialSort(int[] arr, int k) {
+        Objects.checkFromIndexSize(0, k, arr.length);
+        if (k == 0) return arr;
+
+        introSelect(arr, 0, arr.length, k - 1, introSortDepthLimit(arr.length));
+        introSort(arr, 0, k - 1, introSortDepthLimit(k - 1));
+        return arr;
+    }
 
-        // Merge the sorted halves
-        return merge(left, right);
+    // Dual-pivot quicksort of [low, high) that falls back to heap sort once depthLimit is used up
+    private static void introSort(int[] arr, int low, int high, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            introSort(arr, low, lessEnd, depthLimit);
+            // Distinct pivots leave an unsorted band between them; equal pivots leave only equal keys
+            if (arr[lessEnd] < arr[greaterStart - 1]) {
+                introSort(arr, lessEnd + 1, greaterStart - 1, depthLimit);
+            }
+            low = greaterStart;
+        }
+        smallSort(arr, low, high);
     }
 
-    private Integer[] merge(Integer[] left, Integer[] right) {
-        Integer[] result = new Integer[left.length + right.length];
-        int i = 0, j = 0, k = 0;
+    // Quickselect over the same partition as introSort, switching to median-of-medians once depthLimit is used up
+    private static void introSelect(int[] arr, int low, int high, int k, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                medianOfMediansSelect(arr, low, high, k);
+                return;
+            }
+
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
 
-        // Compare elements and merge in sorted order
-        while (i < left.length && j < right.length) {
-            if (left[i] <= right[j]) {
-                result[k++] = left[i++];
+            if (k < lessEnd) {
+                high = lessEnd;
+            } else if (k >= greaterStart) {
+                low = greaterStart;
+            } else if (arr[lessEnd] < arr[greaterStart - 1] && k != lessEnd && k != greaterStart - 1) {
+                // k falls strictly between two distinct pivots
+                low = lessEnd + 1;
+                high = greaterStart - 1;
             } else {
-                result[k++] = right[j++];
+                return; // k landed on a pivot or inside a run of keys equal to it
             }
         }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Deterministic linear-time selection used when quickselect keeps picking bad pivots
+    private static void medianOfMediansSelect(int[] arr, int low, int high, int k) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            long bounds = threeWayPartition(arr, low, high, medianOfMedians(arr, low, high));
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) high = lessEnd;
+            else if (k >= greaterStart) low = greaterStart;
+            else return;
+        }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Gathers the median of every group of five at the front of the range and selects their median
+    private static int medianOfMedians(int[] arr, int low, int high) {
+        int medians = low;
+        for (int group = low; group < high; group += 5) {
+            int end = Math.min(group + 5, high);
+            insertionSortRange(arr, group, end);
+            ArrayHelper.swapElements(arr, medians++, group + (end - group) / 2);
+        }
+
+        int mid = low + (medians - low) / 2;
+        medianOfMediansSelect(arr, low, medians, mid);
+        return arr[mid];
+    }
 
-        // Add remaining elements (if any)
-        while (i < left.length) {
-            result[k++] = left[i++];
+    /**
+     * Partitions {@code [low, high)} around pivots picked by median-of-five.
+     *
+     * <p>With two distinct pivots p1 &lt; p2 the range becomes {@code < p1}, {@code p1},
+     * {@code [p1, p2]}, {@code p2}, {@code > p2}. When the pivots are equal a three-way
+     * partition groups every key equal to the pivot in the middle instead.
+     *
+     * @return {@code lessEnd << 32 | greaterStart}: {@code [low, lessEnd)} and
+     *         {@code [greaterStart, high)} still need sorting
+     */
+    private static long partition(int[] arr, int low, int high) {
+        int step = (high - low) / 6;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - step, e1 = e2 - step;
+        int e4 = e3 + step, e5 = e4 + step;
+        sortFive(arr, e1, e2, e3, e4, e5);
+
+        if (!(arr[e2] < arr[e4])) {
+            return threeWayPartition(arr, low, high, arr[e3]);
         }
 
-        while (j < right.length) {
-            result[k++] = right[j++];
+        int pivot1 = arr[e2];
+        int pivot2 = arr[e4];
+        ArrayHelper.swapElements(arr, e2, low);
+        ArrayHelper.swapElements(arr, e4, high - 1);
+
+        int less = low + 1, great = high - 2;
+        for (int k = less; k <= great; k++) {
+            if (arr[k] < pivot1) {
+                ArrayHelper.swapElements(arr, k, less++);
+            } else if (arr[k] > pivot2) {
+                while (arr[great] > pivot2 && k < great) great--;
+                ArrayHelper.swapElements(arr, k, great--);
+                if (arr[k] < pivot1) ArrayHelper.swapElements(arr, k, less++);
+            }
         }
 
-        return result;
+        // Move the pivots into their final positions
+        ArrayHelper.swapElements(arr, low, --less);
+        ArrayHelper.swapElements(arr, high - 1, ++great);
+        return (long) less << 32 | (great + 1);
     }
 
-    public Integer[] quickSort(Integer[] arr) {
-        quickSortHelper(arr, 0, arr.length - 1);
+    // Dijkstra partition into < pivot, == pivot, > pivot; returns bounds packed like partition
+    private static long threeWayPartition(int[] arr, int low, int high, int pivot) {
+        int less = low, great = high - 1, k = low;
+        while (k <= great) {
+            if (arr[k] < pivot) {
+                ArrayHelper.swapElements(arr, k++, less++);
+            } else if (arr[k] > pivot) {
+                ArrayHelper.swapElements(arr, k, great--);
+            } else {
+                k++;
+            }
+        }
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Sorts the five sample positions with a 9-comparator sorting network
+    private static void sortFive(int[] arr, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(arr, e1, e2);
+        compareSwap(arr, e4, e5);
+        compareSwap(arr, e3, e5);
+        compareSwap(arr, e3, e4);
+        compareSwap(arr, e2, e5);
+        compareSwap(arr, e1, e4);
+        compareSwap(arr, e1, e3);
+        compareSwap(arr, e2, e4);
+        compareSwap(arr, e2, e3);
+    }
+
+    private static void compareSwap(int[] arr, int i, int j) {
+        if (arr[i] > arr[j]) ArrayHelper.swapElements(arr, i, j);
+    }
+
+    private static void heapSort(int[] arr, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            ArrayHelper.swapElements(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    // Restores the max-heap property below node of the heap stored at arr[offset, offset + size)
+    private static void siftDown(int[] arr, int offset, int node, int size) {
+        int value = arr[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && arr[offset + child] < arr[offset + child + 1]) child++;
+            if (value >= arr[offset + child]) break;
+            arr[offset + node] = arr[offset + child];
+            node = child;
+        }
+        arr[offset + node] = value;
+    }
+
+    // long[] primitive path
+
+    public long[] bubbleSort(long[] arr) {
+        return bubbleSort(arr, 0, arr.length);
+    }
+
+    public long[] bubbleSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        boolean swapped;
+        for (int end = toIndex - 1; end > fromIndex; end--) {
+            swapped = false;
+            for (int j = fromIndex; j < end; j++) {
+                if (arr[j] > arr[j + 1]) {
+                    ArrayHelper.swapElements(arr, j, j + 1);
+                    swapped = true;
+                }
+            }
+            // If no two elements were swapped in inner loop, range is sorted
+            if (!swapped) break;
+        }
+
+        return arr;
+    }
+
+    public long[] selectionSort(long[] arr) {
+        return selectionSort(arr, 0, arr.length);
+    }
+
+    public long[] selectionSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex - 1; i++) {
+            int minIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (arr[j] < arr[minIndex]) {
+                    minIndex = j;
+                }
+            }
+
+            if (minIndex != i) {
+                ArrayHelper.swapElements(arr, i, minIndex);
+            }
+        }
+
+        return arr;
+    }
+
+    public long[] insertionSort(long[] arr) {
+        return insertionSort(arr, 0, arr.length);
+    }
+
+    public long[] insertionSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        insertionSortRange(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    private static void insertionSortRange(long[] arr, int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            long key = arr[i];
+            int j = i - 1;
+
+            // Move elements that are greater than key one position ahead
+            while (j >= fromIndex && arr[j] > key) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = key;
+        }
+    }
+
+    /**
+     * Sorts the array, of at most {@link #MAX_NETWORK_SORT_LENGTH} elements, with a size-optimal
+     * sorting network. The network runs the same compare-exchanges whatever the input order, so
+     * it does not suffer the branch mispredictions of {@link #insertionSort(long[])}.
+     *
+     * @return the sorted array
+     * @throws IllegalArgumentException if the array is longer than {@link #MAX_NETWORK_SORT_LENGTH}
+     */
+    public long[] networkSort(long[] arr) {
+        return networkSort(arr, 0, arr.length);
+    }
+
+    public long[] networkSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkNetworkLength(toIndex - fromIndex);
+        SortingNetworks.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    // Base case of the quick and merge sorts: a sorting network when the range fits one
+    private static void smallSort(long[] arr, int low, int high) {
+        if (high - low <= MAX_NETWORK_SORT_LENGTH) SortingNetworks.sort(arr, low, high);
+        else insertionSortRange(arr, low, high);
+    }
+
+    public long[] mergeSort(long[] arr) {
+        return mergeSort(arr, 0, arr.length);
+    }
+
+    public long[] mergeSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        return mergeSort(arr, fromIndex, toIndex, new long[mergeBufferLength(toIndex - fromIndex)]);
+    }
+
+    /**
+     * Top-down merge sort of {@code [fromIndex, toIndex)} that allocates nothing,
+     * using a caller-owned buffer that can be reused across calls.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public long[] mergeSort(long[] arr, int fromIndex, int toIndex, long[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+        mergeSortRange(arr, fromIndex, toIndex, buffer);
+        return arr;
+    }
+
+    public long[] bottomUpMergeSort(long[] arr) {
+        return bottomUpMergeSort(arr, 0, arr.length, new long[mergeBufferLength(arr.length)]);
+    }
+
+    /**
+     * Non-recursive merge sort of {@code [fromIndex, toIndex)}. Small blocks are sorted
+     * with sorting networks first, then runs of doubling width are merged using the caller-owned buffer.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public long[] bottomUpMergeSort(long[] arr, int fromIndex, int toIndex, long[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+
+        for (int low = fromIndex; low < toIndex; low += MAX_NETWORK_SORT_LENGTH) {
+            SortingNetworks.sort(arr, low, Math.min(low + MAX_NETWORK_SORT_LENGTH, toIndex));
+        }
+
+        for (int width = MAX_NETWORK_SORT_LENGTH; width > 0 && width < toIndex - fromIndex; width <<= 1) {
+            for (int low = fromIndex; low < toIndex - width; low += width << 1) {
+                int mid = low + width;
+                int high = (int) Math.min((long) mid + width, toIndex);
+                if (arr[mid - 1] > arr[mid]) {
+                    merge(arr, low, mid, high, buffer);
+                }
+            }
+        }
+        return arr;
+    }
+
+    private static void mergeSortRange(long[] arr, int low, int high, long[] buffer) {
+        if (high - low <= MAX_NETWORK_SORT_LENGTH) {
+            SortingNetworks.sort(arr, low, high);
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSortRange(arr, low, mid, buffer);
+        mergeSortRange(arr, mid, high, buffer);
+
+        // Halves are already in order, nothing to merge
+        if (arr[mid - 1] <= arr[mid]) return;
+
+        merge(arr, low, mid, high, buffer);
+    }
+
+    // Merges sorted [low, mid) and [mid, high) in place, staging the shorter run in buffer
+    private static void merge(long[] arr, int low, int mid, int high, long[] buffer) {
+        int leftLength = mid - low;
+        int rightLength = high - mid;
+
+        if (leftLength <= rightLength) {
+            System.arraycopy(arr, low, buffer, 0, leftLength);
+
+            int i = 0, j = mid, k = low;
+            while (i < leftLength && j < high) {
+                if (buffer[i] <= arr[j]) {
+                    arr[k++] = buffer[i++];
+                } else {
+                    arr[k++] = arr[j++];
+                }
+            }
+
+            // Remaining right elements are already in place
+            while (i < leftLength) {
+                arr[k++] = buffer[i++];
+            }
+        } else {
+            System.arraycopy(arr, mid, buffer, 0, rightLength);
+
+            // Merge from the back; on ties the right run goes last to stay stable
+            int i = mid - 1, j = rightLength - 1, k = high - 1;
+            while (i >= low && j >= 0) {
+                if (arr[i] > buffer[j]) {
+                    arr[k--] = arr[i--];
+                } else {
+                    arr[k--] = buffer[j--];
+                }
+            }
+
+            // Remaining left elements are already in place
+            while (j >= 0) {
+                arr[k--] = buffer[j--];
+            }
+        }
+    }
+
+    public long[] quickSort(long[] arr) {
+        return quickSort(arr, 0, arr.length);
+    }
+
+    public long[] quickSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, introSortDepthLimit(toIndex - fromIndex));
+        return arr;
+    }
+
+    /**
+     * Rearranges the array so index {@code k} holds the element it would hold after sorting,
+     * with nothing larger before it and nothing smaller after it.
+     *
+     * @param k the 0-based rank to select
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public long select(long[] arr, int k) {
+        Objects.checkIndex(k, arr.length);
+        introSelect(arr, 0, arr.length, k, introSortDepthLimit(arr.length));
+        return arr[k];
+    }
+
+    /**
+     * Moves the {@code k} smallest elements to the front in sorted order; the order of the
+     * remaining elements is unspecified.
+     *
+     * @return the partially sorted array
+     * @throws IndexOutOfBoundsException if k is negative or larger than the array
+     */
+    public long[] partialSort(long[] arr, int k) {
+        Objects.checkFromIndexSize(0, k, arr.length);
+        if (k == 0) return arr;
+
+        introSelect(arr, 0, arr.length, k - 1, introSortDepthLimit(arr.length));
+        introSort(arr, 0, k - 1, introSortDepthLimit(k - 1));
         return arr;
     }
 
-    private void quickSortHelper(Integer[] arr, int low, int high) {
-        if (low < high) {
-            // Partition the array, get the pivot index
-            int pivotIndex = partition(arr, low, high);
+    // Dual-pivot quicksort of [low, high) that falls back to heap sort once depthLimit is used up
+    private static void introSort(long[] arr, int low, int high, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
 
-            // Recursively sort left and right parts
-            quickSortHelper(arr, low, pivotIndex - 1);
-            quickSortHelper(arr, pivotIndex + 1, high);
+            introSort(arr, low, lessEnd, depthLimit);
+            // Distinct pivots leave an unsorted band between them; equal pivots leave only equal keys
+            if (arr[lessEnd] < arr[greaterStart - 1]) {
+                introSort(arr, lessEnd + 1, greaterStart - 1, depthLimit);
+            }
+            low = greaterStart;
         }
+        smallSort(arr, low, high);
     }
 
-    private int partition(Integer[] arr, int low, int high) {
-        // Step 1
-        // Choose random pivot and swap with high
-        int pivotIndex = low + (int) (Math.random() * (high - low + 1));
-        ArrayHelper.swapElements(arr, pivotIndex, high);
+    // Quickselect over the same partition as introSort, switching to median-of-medians once depthLimit is used up
+    private static void introSelect(long[] arr, int low, int high, int k, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                medianOfMediansSelect(arr, low, high, k);
+                return;
+            }
 
-        int pivot = arr[high];  // choose the last element as pivot
-        int lastSwapPointer = low;         // index of smaller element
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
 
-        // Step 2
-        // Partition logic
-        for (int currentPointer = low; currentPointer < high; currentPointer++) {
-            if (arr[currentPointer] < pivot) {
-                // Swap arr[lastSwapPointer] and arr[currentPointer]
-                ArrayHelper.swapElements(arr, lastSwapPointer, currentPointer);
-                lastSwapPointer++;
+            if (k < lessEnd) {
+                high = lessEnd;
+            } else if (k >= greaterStart) {
+                low = greaterStart;
+            } else if (arr[lessEnd] < arr[greaterStart - 1] && k != lessEnd && k != greaterStart - 1) {
+                // k falls strictly between two distinct pivots
+                low = lessEnd + 1;
+                high = greaterStart - 1;
+            } else {
+                return; // k landed on a pivot or inside a run of keys equal to it
             }
         }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Deterministic linear-time selection used when quickselect keeps picking bad pivots
+    private static void medianOfMediansSelect(long[] arr, int low, int high, int k) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            long bounds = threeWayPartition(arr, low, high, medianOfMedians(arr, low, high));
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) high = lessEnd;
+            else if (k >= greaterStart) low = greaterStart;
+            else return;
+        }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Gathers the median of every group of five at the front of the range and selects their median
+    private static long medianOfMedians(long[] arr, int low, int high) {
+        int medians = low;
+        for (int group = low; group < high; group += 5) {
+            int end = Math.min(group + 5, high);
+            insertionSortRange(arr, group, end);
+            ArrayHelper.swapElements(arr, medians++, group + (end - group) / 2);
+        }
+
+        int mid = low + (medians - low) / 2;
+        medianOfMediansSelect(arr, low, medians, mid);
+        return arr[mid];
+    }
+
+    /**
+     * Partitions {@code [low, high)} around pivots picked by median-of-five.
+     *
+     * <p>With two distinct pivots p1 &lt; p2 the range becomes {@code < p1}, {@code p1},
+     * {@code [p1, p2]}, {@code p2}, {@code > p2}. When the pivots are equal a three-way
+     * partition groups every key equal to the pivot in the middle instead.
+     *
+     * @return {@code lessEnd << 32 | greaterStart}: {@code [low, lessEnd)} and
+     *         {@code [greaterStart, high)} still need sorting
+     */
+    private static long partition(long[] arr, int low, int high) {
+        int step = (high - low) / 6;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - step, e1 = e2 - step;
+        int e4 = e3 + step, e5 = e4 + step;
+        sortFive(arr, e1, e2, e3, e4, e5);
+
+        if (!(arr[e2] < arr[e4])) {
+            return threeWayPartition(arr, low, high, arr[e3]);
+        }
 
-        // Step 3
-        // Place the pivot in the correct position
-        ArrayHelper.swapElements(arr, lastSwapPointer, high);
+        long pivot1 = arr[e2];
+        long pivot2 = arr[e4];
+        ArrayHelper.swapElements(arr, e2, low);
+        ArrayHelper.swapElements(arr, e4, high - 1);
 
-        return lastSwapPointer;  // return the pivot index
+        int less = low + 1, great = high - 2;
+        for (int k = less; k <= great; k++) {
+            if (arr[k] < pivot1) {
+                ArrayHelper.swapElements(arr, k, less++);
+            } else if (arr[k] > pivot2) {
+                while (arr[great] > pivot2 && k < great) great--;
+                ArrayHelper.swapElements(arr, k, great--);
+                if (arr[k] < pivot1) ArrayHelper.swapElements(arr, k, less++);
+            }
+        }
+
+        // Move the pivots into their final positions
+        ArrayHelper.swapElements(arr, low, --less);
+        ArrayHelper.swapElements(arr, high - 1, ++great);
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Dijkstra partition into < pivot, == pivot, > pivot; returns bounds packed like partition
+    private static long threeWayPartition(long[] arr, int low, int high, long pivot) {
+        int less = low, great = high - 1, k = low;
+        while (k <= great) {
+            if (arr[k] < pivot) {
+                ArrayHelper.swapElements(arr, k++, less++);
+            } else if (arr[k] > pivot) {
+                ArrayHelper.swapElements(arr, k, great--);
+            } else {
+                k++;
+            }
+        }
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Sorts the five sample positions with a 9-comparator sorting network
+    private static void sortFive(long[] arr, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(arr, e1, e2);
+        compareSwap(arr, e4, e5);
+        compareSwap(arr, e3, e5);
+        compareSwap(arr, e3, e4);
+        compareSwap(arr, e2, e5);
+        compareSwap(arr, e1, e4);
+        compareSwap(arr, e1, e3);
+        compareSwap(arr, e2, e4);
+        compareSwap(arr, e2, e3);
+    }
+
+    private static void compareSwap(long[] arr, int i, int j) {
+        if (arr[i] > arr[j]) ArrayHelper.swapElements(arr, i, j);
+    }
+
+    private static void heapSort(long[] arr, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            ArrayHelper.swapElements(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    // Restores the max-heap property below node of the heap stored at arr[offset, offset + size)
+    private static void siftDown(long[] arr, int offset, int node, int size) {
+        long value = arr[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && arr[offset + child] < arr[offset + child + 1]) child++;
+            if (value >= arr[offset + child]) break;
+            arr[offset + node] = arr[offset + child];
+            node = child;
+        }
+        arr[offset + node] = value;
+    }
+
+    // double[] primitive path (ordered as Double.compare, NaN sorts last)
+
+    public double[] bubbleSort(double[] arr) {
+        return bubbleSort(arr, 0, arr.length);
+    }
+
+    public double[] bubbleSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        boolean swapped;
+        for (int end = toIndex - 1; end > fromIndex; end--) {
+            swapped = false;
+            for (int j = fromIndex; j < end; j++) {
+                if (Double.compare(arr[j], arr[j + 1]) > 0) {
+                    ArrayHelper.swapElements(arr, j, j + 1);
+                    swapped = true;
+                }
+            }
+            // If no two elements were swapped in inner loop, range is sorted
+            if (!swapped) break;
+        }
+
+        return arr;
+    }
+
+    public double[] selectionSort(double[] arr) {
+        return selectionSort(arr, 0, arr.length);
+    }
+
+    public double[] selectionSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex - 1; i++) {
+            int minIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (Double.compare(arr[j], arr[minIndex]) < 0) {
+                    minIndex = j;
+                }
+            }
+
+            if (minIndex != i) {
+                ArrayHelper.swapElements(arr, i, minIndex);
+            }
+        }
+
+        return arr;
+    }
+
+    public double[] insertionSort(double[] arr) {
+        return insertionSort(arr, 0, arr.length);
+    }
+
+    public double[] insertionSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        insertionSortRange(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    private static void insertionSortRange(double[] arr, int fromIndex, int toIndex) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            double key = arr[i];
+            int j = i - 1;
+
+            // Move elements that are greater than key one position ahead
+            while (j >= fromIndex && Double.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = key;
+        }
+    }
+
+    public double[] mergeSort(double[] arr) {
+        return mergeSort(arr, 0, arr.length);
+    }
+
+    public double[] mergeSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        return mergeSort(arr, fromIndex, toIndex, new double[mergeBufferLength(toIndex - fromIndex)]);
+    }
+
+    /**
+     * Top-down merge sort of {@code [fromIndex, toIndex)} that allocates nothing,
+     * using a caller-owned buffer that can be reused across calls.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public double[] mergeSort(double[] arr, int fromIndex, int toIndex, double[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+        mergeSortRange(arr, fromIndex, toIndex, buffer);
+        return arr;
+    }
+
+    public double[] bottomUpMergeSort(double[] arr) {
+        return bottomUpMergeSort(arr, 0, arr.length, new double[mergeBufferLength(arr.length)]);
+    }
+
+    /**
+     * Non-recursive merge sort of {@code [fromIndex, toIndex)}. Small blocks are insertion
+     * sorted first, then runs of doubling width are merged using the caller-owned buffer.
+     *
+     * @param buffer scratch space of at least {@link #mergeBufferLength(int)} elements
+     * @return the sorted array
+     * @throws IllegalArgumentException if the buffer is too small for the range
+     */
+    public double[] bottomUpMergeSort(double[] arr, int fromIndex, int toIndex, double[] buffer) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        checkMergeBuffer(toIndex - fromIndex, buffer.length);
+
+        for (int low = fromIndex; low < toIndex; low += DEFAULT_INSERTION_SORT_THRESHOLD) {
+            insertionSortRange(arr, low, Math.min(low + DEFAULT_INSERTION_SORT_THRESHOLD, toIndex));
+        }
+
+        for (int width = DEFAULT_INSERTION_SORT_THRESHOLD; width > 0 && width < toIndex - fromIndex; width <<= 1) {
+            for (int low = fromIndex; low < toIndex - width; low += width << 1) {
+                int mid = low + width;
+                int high = (int) Math.min((long) mid + width, toIndex);
+                if (Double.compare(arr[mid - 1], arr[mid]) > 0) {
+                    merge(arr, low, mid, high, buffer);
+                }
+            }
+        }
+        return arr;
+    }
+
+    private static void mergeSortRange(double[] arr, int low, int high, double[] buffer) {
+        if (high - low <= 1) return;
+
+        int mid = (low + high) >>> 1;
+        mergeSortRange(arr, low, mid, buffer);
+        mergeSortRange(arr, mid, high, buffer);
+
+        // Halves are already in order, nothing to merge
+        if (Double.compare(arr[mid - 1], arr[mid]) <= 0) return;
+
+        merge(arr, low, mid, high, buffer);
+    }
+
+    // Merges sorted [low, mid) and [mid, high) in place, staging the shorter run in buffer
+    private static void merge(double[] arr, int low, int mid, int high, double[] buffer) {
+        int leftLength = mid - low;
+        int rightLength = high - mid;
+
+        if (leftLength <= rightLength) {
+            System.arraycopy(arr, low, buffer, 0, leftLength);
+
+            int i = 0, j = mid, k = low;
+            while (i < leftLength && j < high) {
+                if (Double.compare(buffer[i], arr[j]) <= 0) {
+                    arr[k++] = buffer[i++];
+                } else {
+                    arr[k++] = arr[j++];
+                }
+            }
+
+            // Remaining right elements are already in place
+            while (i < leftLength) {
+                arr[k++] = buffer[i++];
+            }
+        } else {
+            System.arraycopy(arr, mid, buffer, 0, rightLength);
+
+            // Merge from the back; on ties the right run goes last to stay stable
+            int i = mid - 1, j = rightLength - 1, k = high - 1;
+            while (i >= low && j >= 0) {
+                if (Double.compare(arr[i], buffer[j]) > 0) {
+                    arr[k--] = arr[i--];
+                } else {
+                    arr[k--] = buffer[j--];
+                }
+            }
+
+            // Remaining left elements are already in place
+            while (j >= 0) {
+                arr[k--] = buffer[j--];
+            }
+        }
+    }
+
+    public double[] quickSort(double[] arr) {
+        return quickSort(arr, 0, arr.length);
+    }
+
+    public double[] quickSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, introSortDepthLimit(toIndex - fromIndex));
+        return arr;
+    }
+
+    /**
+     * Rearranges the array so index {@code k} holds the element it would hold after sorting,
+     * with nothing larger before it and nothing smaller after it.
+     *
+     * @param k the 0-based rank to select
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public double select(double[] arr, int k) {
+        Objects.checkIndex(k, arr.length);
+        introSelect(arr, 0, arr.length, k, introSortDepthLimit(arr.length));
+        return arr[k];
+    }
+
+    /**
+     * Moves the {@code k} smallest elements to the front in sorted order; the order of the
+     * remaining elements is unspecified.
+     *
+     * @return the partially sorted array
+     * @throws IndexOutOfBoundsException if k is negative or larger than the array
+     */
+    public double[] partialSort(double[] arr, int k) {
+        Objects.checkFromIndexSize(0, k, arr.length);
+        if (k == 0) return arr;
+
+        introSelect(arr, 0, arr.length, k - 1, introSortDepthLimit(arr.length));
+        introSort(arr, 0, k - 1, introSortDepthLimit(k - 1));
+        return arr;
+    }
+
+    // Dual-pivot quicksort of [low, high) that falls back to heap sort once depthLimit is used up
+    private static void introSort(double[] arr, int low, int high, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            introSort(arr, low, lessEnd, depthLimit);
+            // Distinct pivots leave an unsorted band between them; equal pivots leave only equal keys
+            if (Double.compare(arr[lessEnd], arr[greaterStart - 1]) < 0) {
+                introSort(arr, lessEnd + 1, greaterStart - 1, depthLimit);
+            }
+            low = greaterStart;
+        }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Quickselect over the same partition as introSort, switching to median-of-medians once depthLimit is used up
+    private static void introSelect(double[] arr, int low, int high, int k, int depthLimit) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                medianOfMediansSelect(arr, low, high, k);
+                return;
+            }
+
+            long bounds = partition(arr, low, high);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) {
+                high = lessEnd;
+            } else if (k >= greaterStart) {
+                low = greaterStart;
+            } else if (Double.compare(arr[lessEnd], arr[greaterStart - 1]) < 0 && k != lessEnd && k != greaterStart - 1) {
+                // k falls strictly between two distinct pivots
+                low = lessEnd + 1;
+                high = greaterStart - 1;
+            } else {
+                return; // k landed on a pivot or inside a run of keys equal to it
+            }
+        }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Deterministic linear-time selection used when quickselect keeps picking bad pivots
+    private static void medianOfMediansSelect(double[] arr, int low, int high, int k) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            long bounds = threeWayPartition(arr, low, high, medianOfMedians(arr, low, high));
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) high = lessEnd;
+            else if (k >= greaterStart) low = greaterStart;
+            else return;
+        }
+        insertionSortRange(arr, low, high);
+    }
+
+    // Gathers the median of every group of five at the front of the range and selects their median
+    private static double medianOfMedians(double[] arr, int low, int high) {
+        int medians = low;
+        for (int group = low; group < high; group += 5) {
+            int end = Math.min(group + 5, high);
+            insertionSortRange(arr, group, end);
+            ArrayHelper.swapElements(arr, medians++, group + (end - group) / 2);
+        }
+
+        int mid = low + (medians - low) / 2;
+        medianOfMediansSelect(arr, low, medians, mid);
+        return arr[mid];
+    }
+
+    /**
+     * Partitions {@code [low, high)} around pivots picked by median-of-five.
+     *
+     * <p>With two distinct pivots p1 &lt; p2 the range becomes {@code < p1}, {@code p1},
+     * {@code [p1, p2]}, {@code p2}, {@code > p2}. When the pivots are equal a three-way
+     * partition groups every key equal to the pivot in the middle instead.
+     *
+     * @return {@code lessEnd << 32 | greaterStart}: {@code [low, lessEnd)} and
+     *         {@code [greaterStart, high)} still need sorting
+     */
+    private static long partition(double[] arr, int low, int high) {
+        int step = (high - low) / 6;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - step, e1 = e2 - step;
+        int e4 = e3 + step, e5 = e4 + step;
+        sortFive(arr, e1, e2, e3, e4, e5);
+
+        if (!(Double.compare(arr[e2], arr[e4]) < 0)) {
+            return threeWayPartition(arr, low, high, arr[e3]);
+        }
+
+        double pivot1 = arr[e2];
+        double pivot2 = arr[e4];
+        ArrayHelper.swapElements(arr, e2, low);
+        ArrayHelper.swapElements(arr, e4, high - 1);
+
+        int less = low + 1, great = high - 2;
+        for (int k = less; k <= great; k++) {
+            if (Double.compare(arr[k], pivot1) < 0) {
+                ArrayHelper.swapElements(arr, k, less++);
+            } else if (Double.compare(arr[k], pivot2) > 0) {
+                while (Double.compare(arr[great], pivot2) > 0 && k < great) great--;
+                ArrayHelper.swapElements(arr, k, great--);
+                if (Double.compare(arr[k], pivot1) < 0) ArrayHelper.swapElements(arr, k, less++);
+            }
+        }
+
+        // Move the pivots into their final positions
+        ArrayHelper.swapElements(arr, low, --less);
+        ArrayHelper.swapElements(arr, high - 1, ++great);
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Dijkstra partition into < pivot, == pivot, > pivot; returns bounds packed like partition
+    private static long threeWayPartition(double[] arr, int low, int high, double pivot) {
+        int less = low, great = high - 1, k = low;
+        while (k <= great) {
+            if (Double.compare(arr[k], pivot) < 0) {
+                ArrayHelper.swapElements(arr, k++, less++);
+            } else if (Double.compare(arr[k], pivot) > 0) {
+                ArrayHelper.swapElements(arr, k, great--);
+            } else {
+                k++;
+            }
+        }
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Sorts the five sample positions with a 9-comparator sorting network
+    private static void sortFive(double[] arr, int e1, int e2, int e3, int e4, int e5) {
+        compareSwap(arr, e1, e2);
+        compareSwap(arr, e4, e5);
+        compareSwap(arr, e3, e5);
+        compareSwap(arr, e3, e4);
+        compareSwap(arr, e2, e5);
+        compareSwap(arr, e1, e4);
+        compareSwap(arr, e1, e3);
+        compareSwap(arr, e2, e4);
+        compareSwap(arr, e2, e3);
+    }
+
+    private static void compareSwap(double[] arr, int i, int j) {
+        if (Double.compare(arr[i], arr[j]) > 0) ArrayHelper.swapElements(arr, i, j);
+    }
+
+    private static void heapSort(double[] arr, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            ArrayHelper.swapElements(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+
+    // Restores the max-heap property below node of the heap stored at arr[offset, offset + size)
+    private static void siftDown(double[] arr, int offset, int node, int size) {
+        double value = arr[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && Double.compare(arr[offset + child], arr[offset + child + 1]) < 0) child++;
+            if (Double.compare(value, arr[offset + child]) >= 0) break;
+            arr[offset + node] = arr[offset + child];
+            node = child;
+        }
+        arr[offset + node] = value;
+    }
+
+    // Parallel sorting
+
+    public int[] parallelMergeSort(int[] arr) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int granularity = Math.max(arr.length / (pool.getParallelism() << 2), MIN_PARALLEL_GRANULARITY);
+        return parallelMergeSort(arr, pool, granularity, DEFAULT_INSERTION_SORT_THRESHOLD);
+    }
+
+    public int[] parallelMergeSort(int[] arr, ForkJoinPool pool, int granularity) {
+        return parallelMergeSort(arr, pool, granularity, DEFAULT_INSERTION_SORT_THRESHOLD);
+    }
+
+    /**
+     * Sorts the array with a fork/join merge sort that uses one scratch buffer of size n.
+     *
+     * @param arr                the array to sort in place
+     * @param pool               the pool to run on, so callers can keep it off the common pool
+     * @param granularity        ranges at or below this size are sorted sequentially in one task
+     * @param insertionThreshold ranges at or below this size are finished with insertion sort
+     * @return the sorted array
+     * @throws IllegalArgumentException if granularity is not positive or insertionThreshold is negative
+     */
+    public int[] parallelMergeSort(int[] arr, ForkJoinPool pool, int granularity, int insertionThreshold) {
+        if (granularity < 1)
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+        if (insertionThreshold < 0)
+            throw new IllegalArgumentException("Insertion threshold must not be negative: " + insertionThreshold);
+
+        int n = arr.length;
+        if (n <= 1) return arr;
+
+        int[] scratch = new int[n];
+        if (n <= granularity || pool.getParallelism() <= 1) {
+            ParallelMergeSort.sequentialSort(arr, scratch, 0, n, insertionThreshold);
+        } else {
+            pool.invoke(new ParallelMergeSort.SortTask(arr, scratch, 0, n, false, granularity, insertionThreshold));
+        }
+        return arr;
+    }
+
+    public int[] parallelSampleSort(int[] arr) {
+        return parallelSampleSort(arr, ForkJoinPool.commonPool(), DEFAULT_SAMPLE_SORT_OVERSAMPLING);
+    }
+
+    /**
+     * Sorts the array with a parallel sample sort: oversampled splitters, per-thread histograms,
+     * one scatter into a buffer of size n, then every bucket sorted on its own. Unlike
+     * {@link #parallelMergeSort(int[])} there is no final merge to serialise on.
+     *
+     * @param arr          the array to sort in place
+     * @param pool         the pool to run on; its parallelism is the number of threads used
+     * @param oversampling sample keys drawn per bucket when choosing splitters
+     * @return the sorted array
+     * @throws IllegalArgumentException if oversampling is not positive
+     */
+    public int[] parallelSampleSort(int[] arr, ForkJoinPool pool, int oversampling) {
+        if (oversampling < 1)
+            throw new IllegalArgumentException("Oversampling must be positive: " + oversampling);
+        if (arr.length <= MIN_PARALLEL_GRANULARITY || pool.getParallelism() <= 1) return quickSort(arr);
+
+        SampleSort.sort(arr, pool, oversampling);
+        return arr;
+    }
+
+    public long[] parallelSampleSort(long[] arr) {
+        return parallelSampleSort(arr, ForkJoinPool.commonPool(), DEFAULT_SAMPLE_SORT_OVERSAMPLING);
+    }
+
+    public long[] parallelSampleSort(long[] arr, ForkJoinPool pool, int oversampling) {
+        if (oversampling < 1)
+            throw new IllegalArgumentException("Oversampling must be positive: " + oversampling);
+        if (arr.length <= MIN_PARALLEL_GRANULARITY || pool.getParallelism() <= 1) return quickSort(arr);
+
+        SampleSort.sort(arr, pool, oversampling);
+        return arr;
+    }
+
+    // Comparator path: generic sorts and selection for any element type
+
+    public <T> T[] insertionSort(T[] arr, Comparator<? super T> c) {
+        return insertionSort(arr, 0, arr.length, c);
+    }
+
+    // Stable
+    public <T> T[] insertionSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> c) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        insertionSortRange(arr, fromIndex, toIndex, c);
+        return arr;
+    }
+
+    public <T> T[] mergeSort(T[] arr, Comparator<? super T> c) {
+        return mergeSort(arr, 0, arr.length, c);
+    }
+
+    // Stable; allocates a single scratch buffer of half the range
+    public <T> T[] mergeSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> c) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        T[] buffer = Arrays.copyOf(arr, mergeBufferLength(toIndex - fromIndex));
+        mergeSortRange(arr, fromIndex, toIndex, buffer, c);
+        return arr;
+    }
+
+    public <T> T[] quickSort(T[] arr, Comparator<? super T> c) {
+        return quickSort(arr, 0, arr.length, c);
+    }
+
+    // Not stable
+    public <T> T[] quickSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> c) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        introSort(arr, fromIndex, toIndex, introSortDepthLimit(toIndex - fromIndex), c);
+        return arr;
+    }
+
+    public <T> T[] adaptiveSort(T[] arr, Comparator<? super T> c) {
+        return adaptiveSort(arr, 0, arr.length, c);
+    }
+
+    // Stable; O(n) on input that is already sorted
+    public <T> T[] adaptiveSort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> c) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        AdaptiveSort.Generic.sort(arr, fromIndex, toIndex, c);
+        return arr;
+    }
+
+    /**
+     * Stable sort by an {@code int} key, the same sort as {@link #radixSort(Object[], ToIntFunction)}:
+     * each key is extracted exactly once and no comparator runs at all.
+     */
+    public <T> T[] sortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        return radixSort(arr, keyExtractor);
+    }
+
+    /**
+     * Stable sort by a {@code long} key. Each key is extracted exactly once and the
+     * indices are merge sorted against the cached keys.
+     */
+    public <T> T[] sortByLongKey(T[] arr, ToLongFunction<? super T> keyExtractor) {
+        int n = arr.length;
+        if (n <= 1) return arr;
+
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = keyExtractor.applyAsLong(arr[i]);
+            order[i] = i;
+        }
+        mergeSortIndices(order, 0, n, keys, new int[mergeBufferLength(n)]);
+
+        T[] original = arr.clone();
+        for (int i = 0; i < n; i++) {
+            arr[i] = original[order[i]];
+        }
+        return arr;
+    }
+
+    // Stable merge sort of an index array by the keys it points at
+    private static void mergeSortIndices(int[] order, int low, int high, long[] keys, int[] buffer) {
+        if (high - low <= DEFAULT_INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int index = order[i];
+                long key = keys[index];
+                int j = i - 1;
+                while (j >= low && keys[order[j]] > key) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSortIndices(order, low, mid, keys, buffer);
+        mergeSortIndices(order, mid, high, keys, buffer);
+        if (keys[order[mid - 1]] <= keys[order[mid]]) return;
+
+        int leftLength = mid - low;
+        System.arraycopy(order, low, buffer, 0, leftLength);
+        int i = 0, j = mid, k = low;
+        while (i < leftLength && j < high) {
+            order[k++] = keys[buffer[i]] <= keys[order[j]] ? buffer[i++] : order[j++];
+        }
+        while (i < leftLength) order[k++] = buffer[i++];
+    }
+
+    private static <T> void mergeSortRange(T[] arr, int low, int high, T[] buffer, Comparator<? super T> c) {
+        if (high - low <= DEFAULT_INSERTION_SORT_THRESHOLD) {
+            insertionSortRange(arr, low, high, c);
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSortRange(arr, low, mid, buffer, c);
+        mergeSortRange(arr, mid, high, buffer, c);
+
+        // Halves are already in order, nothing to merge
+        if (c.compare(arr[mid - 1], arr[mid]) <= 0) return;
+
+        // Stage the left half in buffer; leftover right elements are already in place
+        int leftLength = mid - low;
+        System.arraycopy(arr, low, buffer, 0, leftLength);
+        int i = 0, j = mid, k = low;
+        while (i < leftLength && j < high) {
+            arr[k++] = c.compare(buffer[i], arr[j]) <= 0 ? buffer[i++] : arr[j++];
+        }
+        while (i < leftLength) arr[k++] = buffer[i++];
+    }
+
+    /**
+     * Rearranges the array so index {@code k} holds the element it would hold after sorting,
+     * with nothing larger before it and nothing smaller after it.
+     *
+     * @param k the 0-based rank to select
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public <T> T select(T[] arr, int k, Comparator<? super T> c) {
+        Objects.checkIndex(k, arr.length);
+        introSelect(arr, 0, arr.length, k, introSortDepthLimit(arr.length), c);
+        return arr[k];
+    }
+
+    /**
+     * Moves the {@code k} smallest elements to the front in sorted order; the order of the
+     * remaining elements is unspecified.
+     *
+     * @return the partially sorted array
+     * @throws IndexOutOfBoundsException if k is negative or larger than the array
+     */
+    public <T> T[] partialSort(T[] arr, int k, Comparator<? super T> c) {
+        Objects.checkFromIndexSize(0, k, arr.length);
+        if (k == 0) return arr;
+
+        introSelect(arr, 0, arr.length, k - 1, introSortDepthLimit(arr.length), c);
+        introSort(arr, 0, k - 1, introSortDepthLimit(k - 1), c);
+        return arr;
+    }
+
+    // Dual-pivot quicksort of [low, high) that falls back to heap sort once depthLimit is used up
+    private static <T> void introSort(T[] arr, int low, int high, int depthLimit, Comparator<? super T> c) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high, c);
+                return;
+            }
+
+            long bounds = partition(arr, low, high, c);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            introSort(arr, low, lessEnd, depthLimit, c);
+            // Distinct pivots leave an unsorted band between them; equal pivots leave only equal keys
+            if (c.compare(arr[lessEnd], arr[greaterStart - 1]) < 0) {
+                introSort(arr, lessEnd + 1, greaterStart - 1, depthLimit, c);
+            }
+            low = greaterStart;
+        }
+        insertionSortRange(arr, low, high, c);
+    }
+
+    // Quickselect over the same partition as introSort, switching to median-of-medians once depthLimit is used up
+    private static <T> void introSelect(T[] arr, int low, int high, int k, int depthLimit, Comparator<? super T> c) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                medianOfMediansSelect(arr, low, high, k, c);
+                return;
+            }
+
+            long bounds = partition(arr, low, high, c);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) {
+                high = lessEnd;
+            } else if (k >= greaterStart) {
+                low = greaterStart;
+            } else if (c.compare(arr[lessEnd], arr[greaterStart - 1]) < 0 && k != lessEnd && k != greaterStart - 1) {
+                // k falls strictly between two distinct pivots
+                low = lessEnd + 1;
+                high = greaterStart - 1;
+            } else {
+                return; // k landed on a pivot or inside a run of keys equal to it
+            }
+        }
+        insertionSortRange(arr, low, high, c);
+    }
+
+    // Deterministic linear-time selection used when quickselect keeps picking bad pivots
+    private static <T> void medianOfMediansSelect(T[] arr, int low, int high, int k, Comparator<? super T> c) {
+        while (high - low > DEFAULT_INSERTION_SORT_THRESHOLD) {
+            long bounds = threeWayPartition(arr, low, high, medianOfMedians(arr, low, high, c), c);
+            int lessEnd = (int) (bounds >>> 32);
+            int greaterStart = (int) bounds;
+
+            if (k < lessEnd) high = lessEnd;
+            else if (k >= greaterStart) low = greaterStart;
+            else return;
+        }
+        insertionSortRange(arr, low, high, c);
+    }
+
+    // Gathers the median of every group of five at the front of the range and selects their median
+    private static <T> T medianOfMedians(T[] arr, int low, int high, Comparator<? super T> c) {
+        int medians = low;
+        for (int group = low; group < high; group += 5) {
+            int end = Math.min(group + 5, high);
+            insertionSortRange(arr, group, end, c);
+            ArrayHelper.swapElements(arr, medians++, group + (end - group) / 2);
+        }
+
+        int mid = low + (medians - low) / 2;
+        medianOfMediansSelect(arr, low, medians, mid, c);
+        return arr[mid];
+    }
+
+    /**
+     * Partitions {@code [low, high)} around pivots picked by median-of-five.
+     *
+     * <p>With two distinct pivots p1 &lt; p2 the range becomes {@code < p1}, {@code p1},
+     * {@code [p1, p2]}, {@code p2}, {@code > p2}. When the pivots are equal a three-way
+     * partition groups every key equal to the pivot in the middle instead.
+     *
+     * @return {@code lessEnd << 32 | greaterStart}: {@code [low, lessEnd)} and
+     *         {@code [greaterStart, high)} still need sorting
+     */
+    private static <T> long partition(T[] arr, int low, int high, Comparator<? super T> c) {
+        int step = (high - low) / 6;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - step, e1 = e2 - step;
+        int e4 = e3 + step, e5 = e4 + step;
+        sortFive(arr, e1, e2, e3, e4, e5, c);
+
+        if (!(c.compare(arr[e2], arr[e4]) < 0)) {
+            return threeWayPartition(arr, low, high, arr[e3], c);
+        }
+
+        T pivot1 = arr[e2];
+        T pivot2 = arr[e4];
+        ArrayHelper.swapElements(arr, e2, low);
+        ArrayHelper.swapElements(arr, e4, high - 1);
+
+        int less = low + 1, great = high - 2;
+        for (int k = less; k <= great; k++) {
+            if (c.compare(arr[k], pivot1) < 0) {
+                ArrayHelper.swapElements(arr, k, less++);
+            } else if (c.compare(arr[k], pivot2) > 0) {
+                while (c.compare(arr[great], pivot2) > 0 && k < great) great--;
+                ArrayHelper.swapElements(arr, k, great--);
+                if (c.compare(arr[k], pivot1) < 0) ArrayHelper.swapElements(arr, k, less++);
+            }
+        }
+
+        // Move the pivots into their final positions
+        ArrayHelper.swapElements(arr, low, --less);
+        ArrayHelper.swapElements(arr, high - 1, ++great);
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Dijkstra partition into < pivot, == pivot, > pivot; returns bounds packed like partition
+    private static <T> long threeWayPartition(T[] arr, int low, int high, T pivot, Comparator<? super T> c) {
+        int less = low, great = high - 1, k = low;
+        while (k <= great) {
+            if (c.compare(arr[k], pivot) < 0) {
+                ArrayHelper.swapElements(arr, k++, less++);
+            } else if (c.compare(arr[k], pivot) > 0) {
+                ArrayHelper.swapElements(arr, k, great--);
+            } else {
+                k++;
+            }
+        }
+        return (long) less << 32 | (great + 1);
+    }
+
+    // Sorts the five sample positions with a 9-comparator sorting network
+    private static <T> void sortFive(T[] arr, int e1, int e2, int e3, int e4, int e5, Comparator<? super T> c) {
+        compareSwap(arr, e1, e2, c);
+        compareSwap(arr, e4, e5, c);
+        compareSwap(arr, e3, e5, c);
+        compareSwap(arr, e3, e4, c);
+        compareSwap(arr, e2, e5, c);
+        compareSwap(arr, e1, e4, c);
+        compareSwap(arr, e1, e3, c);
+        compareSwap(arr, e2, e4, c);
+        compareSwap(arr, e2, e3, c);
+    }
+
+    private static <T> void compareSwap(T[] arr, int i, int j, Comparator<? super T> c) {
+        if (c.compare(arr[i], arr[j]) > 0) ArrayHelper.swapElements(arr, i, j);
+    }
+
+    private static <T> void heapSort(T[] arr, int low, int high, Comparator<? super T> c) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            ArrayHelper.swapElements(arr, low, low + end);
+            siftDown(arr, low, 0, end, c);
+        }
+    }
+
+    // Restores the max-heap property below node of the heap stored at arr[offset, offset + size)
+    private static <T> void siftDown(T[] arr, int offset, int node, int size, Comparator<? super T> c) {
+        T value = arr[offset + node];
+        int child;
+        while ((child = 2 * node + 1) < size) {
+            if (child + 1 < size && c.compare(arr[offset + child], arr[offset + child + 1]) < 0) child++;
+            if (c.compare(value, arr[offset + child]) >= 0) break;
+            arr[offset + node] = arr[offset + child];
+            node = child;
+        }
+        arr[offset + node] = value;
+    }
+
+    private static <T> void insertionSortRange(T[] arr, int fromIndex, int toIndex, Comparator<? super T> c) {
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            T key = arr[i];
+            int j = i - 1;
+
+            // Move elements that are greater than key one position ahead
+            while (j >= fromIndex && c.compare(arr[j], key) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+
+            arr[j + 1] = key;
+        }
+    }
+
+    // Adaptive sorting: natural merge sort that exploits existing runs, O(n) on sorted input
+
+    public int[] adaptiveSort(int[] arr) {
+        return adaptiveSort(arr, 0, arr.length);
+    }
+
+    public int[] adaptiveSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        AdaptiveSort.Ints.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    public long[] adaptiveSort(long[] arr) {
+        return adaptiveSort(arr, 0, arr.length);
+    }
+
+    public long[] adaptiveSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        AdaptiveSort.Longs.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    public double[] adaptiveSort(double[] arr) {
+        return adaptiveSort(arr, 0, arr.length);
+    }
+
+    public double[] adaptiveSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        AdaptiveSort.Doubles.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    // Radix sorting
+
+    public int[] radixSort(int[] arr) {
+        return radixSort(arr, 0, arr.length);
+    }
+
+    public int[] radixSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < MIN_RADIX_SORT_LENGTH) return quickSort(arr, fromIndex, toIndex);
+
+        int[][] counts = RadixSort.histogram(arr, fromIndex, toIndex);
+        RadixSort.sort(arr, fromIndex, toIndex, new int[toIndex - fromIndex], counts);
+        return arr;
+    }
+
+    public long[] radixSort(long[] arr) {
+        return radixSort(arr, 0, arr.length);
+    }
+
+    public long[] radixSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < MIN_RADIX_SORT_LENGTH) return quickSort(arr, fromIndex, toIndex);
+
+        int[][] counts = RadixSort.histogram(arr, fromIndex, toIndex);
+        RadixSort.sort(arr, fromIndex, toIndex, new long[toIndex - fromIndex], counts);
+        return arr;
+    }
+
+    public int[] parallelRadixSort(int[] arr) {
+        return parallelRadixSort(arr, ForkJoinPool.commonPool());
+    }
+
+    // Radix sort whose histogram pass is split across the pool for large inputs
+    public int[] parallelRadixSort(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        if (n <= MIN_PARALLEL_GRANULARITY || pool.getParallelism() <= 1) return radixSort(arr);
+
+        int granularity = Math.max(n / (pool.getParallelism() << 2), MIN_PARALLEL_GRANULARITY);
+        int[][] counts = RadixSort.parallelHistogram(arr, 0, n, pool, granularity);
+        RadixSort.sort(arr, 0, n, new int[n], counts);
+        return arr;
+    }
+
+    public long[] parallelRadixSort(long[] arr) {
+        return parallelRadixSort(arr, ForkJoinPool.commonPool());
+    }
+
+    public long[] parallelRadixSort(long[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        if (n <= MIN_PARALLEL_GRANULARITY || pool.getParallelism() <= 1) return radixSort(arr);
+
+        int granularity = Math.max(n / (pool.getParallelism() << 2), MIN_PARALLEL_GRANULARITY);
+        int[][] counts = RadixSort.parallelHistogram(arr, 0, n, pool, granularity);
+        RadixSort.sort(arr, 0, n, new long[n], counts);
+        return arr;
+    }
+
+    // Stable radix sort of objects by an int key; the extractor is called once per element
+    public <T> T[] radixSort(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        if (arr.length > 1) RadixSort.sortByKey(arr, keyExtractor);
+        return arr;
+    }
+
+    // String sorting
+
+    public String[] multikeyQuickSort(String[] arr) {
+        return multikeyQuickSort(arr, 0, arr.length);
+    }
+
+    // Not stable; orders like String.compareTo at a cost that grows with distinguishing prefix length
+    public String[] multikeyQuickSort(String[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        MultikeyQuickSort.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    public byte[][] multikeyQuickSort(byte[][] arr) {
+        return multikeyQuickSort(arr, 0, arr.length);
+    }
+
+    // Not stable; orders like Arrays.compareUnsigned, so UTF-8 keys sort by code point
+    public byte[][] multikeyQuickSort(byte[][] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        MultikeyQuickSort.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    // Counting and bucket sorting
+
+    public int[] countingSort(int[] arr) {
+        return countingSort(arr, 0, arr.length);
+    }
+
+    // Detects the key range first; a range wider than twice the length, or than MAX_COUNTING_RANGE
+    // values, would cost more in counts than it saves and falls back to quick sort
+    public int[] countingSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        if (n > 1 && !countingSortIfDense(arr, fromIndex, toIndex, Math.min(MAX_COUNTING_RANGE, 2L * n))) {
+            quickSort(arr, fromIndex, toIndex);
+        }
+        return arr;
+    }
+
+    /**
+     * Counting sort with a key range known in advance, which skips the min/max scan. The count
+     * array takes 4 bytes per value of the declared range whatever the number of elements, so
+     * declare a range close to the length being sorted.
+     *
+     * @param minValue smallest value the range may hold
+     * @param maxValue largest value the range may hold
+     * @return the sorted array; a declared range wider than {@link #MAX_COUNTING_RANGE} values is
+     * quick sorted instead
+     * @throws IllegalArgumentException if minValue is greater than maxValue or a value lies outside
+     *                                  the declared range, in which case the array is left unchanged
+     */
+    public int[] countingSort(int[] arr, int fromIndex, int toIndex, int minValue, int maxValue) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        if (minValue > maxValue)
+            throw new IllegalArgumentException("minValue " + minValue + " is greater than maxValue " + maxValue);
+        if ((long) maxValue - minValue >= MAX_COUNTING_RANGE) return quickSort(arr, fromIndex, toIndex);
+
+        int[] counts = new int[maxValue - minValue + 1];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int value = arr[i];
+            if (value < minValue || value > maxValue)
+                throw new IllegalArgumentException("Value " + value + " at index " + i + " is outside [" + minValue + ", " + maxValue + "]");
+            counts[value - minValue]++;
+        }
+        writeCounts(arr, fromIndex, counts, minValue);
+        return arr;
+    }
+
+    /**
+     * Stable counting sort of objects by an {@code int} key, extracted once per element. Key ranges
+     * wider than twice the length, or than {@link #MAX_COUNTING_RANGE} values, fall back to a stable
+     * merge sort on the keys.
+     */
+    public <T> T[] countingSort(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        int n = arr.length;
+        if (n <= 1) return arr;
+
+        int[] keys = new int[n];
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int key = keyExtractor.applyAsInt(arr[i]);
+            keys[i] = key;
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+
+        T[] original = arr.clone();
+        if ((long) max - min >= Math.min(MAX_COUNTING_RANGE, 2L * n)) {
+            long[] wideKeys = new long[n];
+            for (int i = 0; i < n; i++) wideKeys[i] = keys[i];
+            int[] order = argsortByKeys(wideKeys);
+            for (int i = 0; i < n; i++) arr[i] = original[order[i]];
+            return arr;
+        }
+
+        // Offsets of each key's first slot; equal keys are placed in input order
+        int[] offsets = new int[max - min + 2];
+        for (int key : keys) offsets[key - min + 1]++;
+        for (int v = 1; v < offsets.length; v++) offsets[v] += offsets[v - 1];
+        for (int i = 0; i < n; i++) {
+            arr[offsets[keys[i] - min]++] = original[i];
+        }
+        return arr;
+    }
+
+    private static void writeCounts(int[] arr, int from, int[] counts, int minValue) {
+        int k = from;
+        for (int v = 0; v < counts.length; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                arr[k++] = minValue + v;
+            }
+        }
+    }
+
+    public double[] bucketSort(double[] arr) {
+        return bucketSort(arr, 0, arr.length);
+    }
+
+    /**
+     * Bucket sort for roughly uniformly distributed doubles: one bucket per element across
+     * {@code [min, max]}, scattered into a buffer and finished with insertion sort, so uniform
+     * input sorts in expected linear time. Orders like {@link Double#compare(double, double)}:
+     * NaNs go last and -0.0 before 0.0. Ranges with infinities, or too wide to subtract, are
+     * quick sorted instead.
+     */
+    public double[] bucketSort(double[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+
+        // Move NaNs to the end, they take no part in the bucket ranges
+        int end = toIndex;
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            if (Double.isNaN(arr[i])) ArrayHelper.swapElements(arr, i, --end);
+        }
+        int n = end - fromIndex;
+        if (n <= DEFAULT_INSERTION_SORT_THRESHOLD) return insertionSort(arr, fromIndex, end);
+
+        double min = arr[fromIndex], max = arr[fromIndex];
+        for (int i = fromIndex + 1; i < end; i++) {
+            min = Math.min(min, arr[i]);
+            max = Math.max(max, arr[i]);
+        }
+        double width = max - min;
+        if (width == 0 || !Double.isFinite(width)) return quickSort(arr, fromIndex, end);
+
+        // Count per bucket, turn counts into start offsets, then scatter once
+        double scale = (n - 1) / width;
+        int[] starts = new int[n + 1];
+        for (int i = fromIndex; i < end; i++) {
+            starts[bucketOf(arr[i], min, scale, n) + 1]++;
+        }
+        for (int b = 1; b <= n; b++) starts[b] += starts[b - 1];
+
+        double[] buffer = new double[n];
+        int[] next = Arrays.copyOf(starts, n);
+        for (int i = fromIndex; i < end; i++) {
+            buffer[next[bucketOf(arr[i], min, scale, n)]++] = arr[i];
+        }
+
+        // Skewed input can overfill a bucket, so large ones get quick sort instead of insertion sort
+        for (int b = 0; b < n; b++) {
+            int size = starts[b + 1] - starts[b];
+            if (size > DEFAULT_INSERTION_SORT_THRESHOLD) quickSort(buffer, starts[b], starts[b + 1]);
+            else if (size > 1) insertionSortRange(buffer, starts[b], starts[b + 1]);
+        }
+        System.arraycopy(buffer, 0, arr, fromIndex, n);
+        return arr;
+    }
+
+    private static int bucketOf(double value, double min, double scale, int buckets) {
+        return Math.min((int) ((value - min) * scale), buckets - 1);
+    }
+
+    // Cancellable sorting
+
+    /**
+     * Sorts the array in chunks, checking {@code token} and the calling thread's interrupt flag
+     * between chunks of about 64K elements and reporting progress to {@code listener}. Pass
+     * {@link SortProgressListener#NONE} to skip reporting; the checks alone cost next to nothing.
+     *
+     * @return the sorted array
+     * @throws java.util.concurrent.CancellationException if cancelled or interrupted; the array then
+     *                                                     holds its original elements in some order
+     */
+    public int[] cancellableSort(int[] arr, CancellationToken token, SortProgressListener listener) {
+        return cancellableParallelSort(arr, null, token, listener);
+    }
+
+    // Same chunks as cancellableSort, spread over the pool; listener calls may then be concurrent
+    public int[] cancellableParallelSort(int[] arr, ForkJoinPool pool, CancellationToken token, SortProgressListener listener) {
+        Objects.requireNonNull(token, "token");
+        Objects.requireNonNull(listener, "listener");
+        if (arr.length > 1) MonitoredSort.sort(arr, pool, token, listener);
+        return arr;
+    }
+
+    // Automatic selection
+
+    /**
+     * Sorts the array with whichever algorithm suits it. A fixed-size sample measures how
+     * presorted the input is, how many keys repeat and how wide the key range is, and the range
+     * goes to insertion, counting, radix, adaptive merge or introsort accordingly. The decision
+     * is reported to this instance's {@link SortListener}.
+     */
+    public int[] sort(int[] arr) {
+        return sort(arr, 0, arr.length);
+    }
+
+    public int[] sort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        long start = System.nanoTime();
+        int n = toIndex - fromIndex;
+
+        SortProfile profile = SortSelector.profile(arr, fromIndex, toIndex);
+        SortStrategy strategy = SortSelector.choose(profile);
+        if (strategy == SortStrategy.COUNTING
+                && !countingSortIfDense(arr, fromIndex, toIndex, Math.min(MAX_COUNTING_RANGE, 2L * n))) {
+            strategy = SortSelector.fallback(n);
+        }
+
+        switch (strategy) {
+            case INSERTION -> insertionSort(arr, fromIndex, toIndex);
+            case RADIX -> radixSort(arr, fromIndex, toIndex);
+            case ADAPTIVE -> adaptiveSort(arr, fromIndex, toIndex);
+            case INTROSORT -> quickSort(arr, fromIndex, toIndex);
+            case COUNTING -> {
+                // Already sorted while checking the key range
+            }
+        }
+        listener.onSort(profile, strategy, System.nanoTime() - start);
+        return arr;
+    }
+
+    // Counting sort when max - min stays below maxSpan; otherwise leaves the range untouched and returns false
+    private static boolean countingSortIfDense(int[] arr, int low, int high, long maxSpan) {
+        int min = arr[low], max = arr[low];
+        for (int i = low + 1; i < high; i++) {
+            min = Math.min(min, arr[i]);
+            max = Math.max(max, arr[i]);
+        }
+        // A negative span means the subtraction overflowed
+        long span = (long) max - min;
+        if (span < 0 || span >= maxSpan) return false;
+
+        int[] counts = new int[(int) span + 1];
+        for (int i = low; i < high; i++) {
+            counts[arr[i] - min]++;
+        }
+        int k = low;
+        for (int v = 0; v < counts.length; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                arr[k++] = min + v;
+            }
+        }
+        return true;
+    }
+
+    public long[] sort(long[] arr) {
+        return sort(arr, 0, arr.length);
+    }
+
+    public long[] sort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        long start = System.nanoTime();
+        int n = toIndex - fromIndex;
+
+        SortProfile profile = SortSelector.profile(arr, fromIndex, toIndex);
+        SortStrategy strategy = SortSelector.choose(profile);
+        if (strategy == SortStrategy.COUNTING
+                && !countingSortIfDense(arr, fromIndex, toIndex, Math.min(MAX_COUNTING_RANGE, 2L * n))) {
+            strategy = SortSelector.fallback(n);
+        }
+
+        switch (strategy) {
+            case INSERTION -> insertionSort(arr, fromIndex, toIndex);
+            case RADIX -> radixSort(arr, fromIndex, toIndex);
+            case ADAPTIVE -> adaptiveSort(arr, fromIndex, toIndex);
+            case INTROSORT -> quickSort(arr, fromIndex, toIndex);
+            case COUNTING -> {
+                // Already sorted while checking the key range
+            }
+        }
+        listener.onSort(profile, strategy, System.nanoTime() - start);
+        return arr;
+    }
+
+    // Counting sort when max - min stays below maxSpan; otherwise leaves the range untouched and returns false
+    private static boolean countingSortIfDense(long[] arr, int low, int high, long maxSpan) {
+        long min = arr[low], max = arr[low];
+        for (int i = low + 1; i < high; i++) {
+            min = Math.min(min, arr[i]);
+            max = Math.max(max, arr[i]);
+        }
+        // A negative span means the subtraction overflowed
+        long span = max - min;
+        if (span < 0 || span >= maxSpan) return false;
+
+        int[] counts = new int[(int) span + 1];
+        for (int i = low; i < high; i++) {
+            counts[(int) (arr[i] - min)]++;
+        }
+        int k = low;
+        for (int v = 0; v < counts.length; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                arr[k++] = min + v;
+            }
+        }
+        return true;
+    }
+
+    // Argsort: the sorted order as an index permutation, the data is never moved.
+    // Every variant is stable, ties keep ascending index order.
+
+    /**
+     * Returns {@code order} such that {@code arr[order[0]] <= arr[order[1]] <= ...}, leaving
+     * {@code arr} untouched. This is the gather form; {@link BinaryExp#invert(int[])} turns it
+     * into the rank permutation that {@link BinaryExp#apply(int[], int[])} expects.
+     */
+    public int[] argsort(int[] arr) {
+        int n = arr.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = (long) arr[i] << 32 | i;
+        }
+        radixSort(packed);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    public int[] argsort(long[] arr) {
+        return argsortByKeys(arr);
+    }
+
+    // Orders like Double.compare: -0.0 before 0.0 and NaN last
+    public int[] argsort(double[] arr) {
+        long[] keys = new long[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            long bits = Double.doubleToLongBits(arr[i]);
+            // Flipping the magnitude bits of negatives makes the signed long order match
+            keys[i] = bits ^ (bits >> 63 & Long.MAX_VALUE);
+        }
+        return argsortByKeys(keys);
+    }
+
+    // Useful when elements are expensive to move: sort the indices, then gather once
+    public <T> int[] argsort(T[] arr, Comparator<? super T> c) {
+        int n = arr.length;
+        int[] order = identity(n);
+        mergeSortIndices(order, 0, n, arr, new int[mergeBufferLength(n)], c);
+        return order;
+    }
+
+    // Only reads the keys
+    private static int[] argsortByKeys(long[] keys) {
+        int n = keys.length;
+        int[] order = identity(n);
+        mergeSortIndices(order, 0, n, keys, new int[mergeBufferLength(n)]);
+        return order;
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        return order;
+    }
+
+    // Stable merge sort of an index array by the elements it points at
+    private static <T> void mergeSortIndices(int[] order, int low, int high, T[] arr, int[] buffer, Comparator<? super T> c) {
+        if (high - low <= DEFAULT_INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int index = order[i];
+                T element = arr[index];
+                int j = i - 1;
+                while (j >= low && c.compare(arr[order[j]], element) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = index;
+            }
+            return;
+        }
+
+        int mid = (low + high) >>> 1;
+        mergeSortIndices(order, low, mid, arr, buffer, c);
+        mergeSortIndices(order, mid, high, arr, buffer, c);
+        if (c.compare(arr[order[mid - 1]], arr[order[mid]]) <= 0) return;
+
+        int leftLength = mid - low;
+        System.arraycopy(order, low, buffer, 0, leftLength);
+        int i = 0, j = mid, k = low;
+        while (i < leftLength && j < high) {
+            order[k++] = c.compare(arr[buffer[i]], arr[order[j]]) <= 0 ? buffer[i++] : order[j++];
+        }
+        while (i < leftLength) order[k++] = buffer[i++];
+    }
+
+    // Vector API sorting
+
+    /**
+     * Reports whether {@link #vectorSort(int[])} runs the SIMD kernels. That needs the JVM to be
+     * started with {@code --add-modules jdk.incubator.vector} on hardware with at least 128-bit
+     * vectors; otherwise the vector sorts are plain {@link #quickSort(int[])} calls.
+     */
+    public static boolean isVectorSortAccelerated() {
+        return VECTOR_SORT_ACCELERATED;
+    }
+
+    public int[] vectorSort(int[] arr) {
+        return vectorSort(arr, 0, arr.length);
+    }
+
+    public int[] vectorSort(int[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        if (!VECTOR_SORT_ACCELERATED) return quickSort(arr, fromIndex, toIndex);
+
+        VectorSort.sort(arr, fromIndex, toIndex);
+        return arr;
+    }
+
+    public long[] vectorSort(long[] arr) {
+        return vectorSort(arr, 0, arr.length);
+    }
+
+    public long[] vectorSort(long[] arr, int fromIndex, int toIndex) {
+        ArrayHelper.checkRange(arr.length, fromIndex, toIndex);
+        if (!VECTOR_SORT_ACCELERATED) return quickSort(arr, fromIndex, toIndex);
+
+        VectorSort.sort(arr, fromIndex, toIndex);
+        return arr;
     }
 }
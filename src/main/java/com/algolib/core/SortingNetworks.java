@@ -0,0 +1,1163 @@
+package com.algolib.core;
+
+/**
+ * Size-optimal sorting networks for 2 to {@value #MAX_LENGTH} elements, the base case of the
+ * quick and merge sorts in {@link Sorting}.
+ *
+ * <p>Each network loads the range into locals, runs a fixed sequence of compare-exchanges and
+ * stores the result, so the comparisons and memory accesses are the same for every input. An
+ * {@code int} compare-exchange is a {@code Math.min}/{@code Math.max} pair that the JIT turns into
+ * conditional moves. C2 does not do that for {@code long} on every JDK, so the {@code long}
+ * networks swap through a mask built from the overflow-safe sign of {@code v[j] - v[i]} instead.
+ * Either way there is no branch to mispredict, unlike insertion sort on random data.
+ *
+ * <p>The comparator counts (1, 3, 5, 9, 12, 16, 19, 25, 29, 35, 39, 45, 51, 56, 60) are the best
+ * known, proven optimal up to 12 inputs. The 15-input network is the 16-input one with its top
+ * wire removed.
+ */
+final class SortingNetworks {
+
+    static final int MAX_LENGTH = 16;
+
+    private SortingNetworks() {
+    }
+
+
+    // int[] networks
+
+    // Sorts [low, high), which must hold at most MAX_LENGTH elements
+    static void sort(int[] a, int low, int high) {
+        switch (high - low) {
+            case 2 -> sort2(a, low);
+            case 3 -> sort3(a, low);
+            case 4 -> sort4(a, low);
+            case 5 -> sort5(a, low);
+            case 6 -> sort6(a, low);
+            case 7 -> sort7(a, low);
+            case 8 -> sort8(a, low);
+            case 9 -> sort9(a, low);
+            case 10 -> sort10(a, low);
+            case 11 -> sort11(a, low);
+            case 12 -> sort12(a, low);
+            case 13 -> sort13(a, low);
+            case 14 -> sort14(a, low);
+            case 15 -> sort15(a, low);
+            case 16 -> sort16(a, low);
+            default -> {
+                // 0 or 1 elements are already sorted
+            }
+        }
+    }
+
+    private static void sort2(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        a[o] = v0; a[o + 1] = v1;
+    }
+
+    private static void sort3(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2;
+    }
+
+    private static void sort4(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+    }
+
+    private static void sort5(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4];
+        int t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4;
+    }
+
+    private static void sort6(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5];
+        int t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5;
+    }
+
+    private static void sort7(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6];
+        int t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6;
+    }
+
+    private static void sort8(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+    }
+
+    private static void sort9(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8];
+        int t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v0, v7); v7 = Math.max(v0, v7); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v8); v8 = Math.max(v3, v8); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8;
+    }
+
+    private static void sort10(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9];
+        int t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v1, v9); v9 = Math.max(v1, v9); v1 = t;
+        t = Math.min(v2, v7); v7 = Math.max(v2, v7); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9;
+    }
+
+    private static void sort11(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10];
+        int t;
+        t = Math.min(v0, v9); v9 = Math.max(v0, v9); v0 = t;
+        t = Math.min(v1, v6); v6 = Math.max(v1, v6); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = t;
+        t = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v4, v7); v7 = Math.max(v4, v7); v4 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10;
+    }
+
+    private static void sort12(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        int t;
+        t = Math.min(v0, v8); v8 = Math.max(v0, v8); v0 = t;
+        t = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v6); v6 = Math.max(v1, v6); v1 = t;
+        t = Math.min(v5, v10); v10 = Math.max(v5, v10); v5 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v0, v3); v3 = Math.max(v0, v3); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v11); v11 = Math.max(v8, v11); v8 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+    }
+
+    private static void sort13(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        int v12 = a[o + 12];
+        int t;
+        t = Math.min(v0, v12); v12 = Math.max(v0, v12); v0 = t;
+        t = Math.min(v1, v10); v10 = Math.max(v1, v10); v1 = t;
+        t = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v1, v6); v6 = Math.max(v1, v6); v1 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v11); v11 = Math.max(v4, v11); v4 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v8, v11); v11 = Math.max(v8, v11); v8 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v3, v8); v8 = Math.max(v3, v8); v3 = t;
+        t = Math.min(v4, v7); v7 = Math.max(v4, v7); v4 = t;
+        t = Math.min(v6, v11); v11 = Math.max(v6, v11); v6 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v5); v5 = Math.max(v2, v5); v2 = t;
+        t = Math.min(v6, v9); v9 = Math.max(v6, v9); v6 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12;
+    }
+
+    private static void sort14(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        int v12 = a[o + 12], v13 = a[o + 13];
+        int t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v5, v9); v9 = Math.max(v5, v9); v5 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v0, v4); v4 = Math.max(v0, v4); v0 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v7); v7 = Math.max(v3, v7); v3 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v6, v10); v10 = Math.max(v6, v10); v6 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v0, v6); v6 = Math.max(v0, v6); v0 = t;
+        t = Math.min(v1, v5); v5 = Math.max(v1, v5); v1 = t;
+        t = Math.min(v3, v9); v9 = Math.max(v3, v9); v3 = t;
+        t = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = t;
+        t = Math.min(v7, v13); v13 = Math.max(v7, v13); v7 = t;
+        t = Math.min(v8, v12); v12 = Math.max(v8, v12); v8 = t;
+        t = Math.min(v2, v10); v10 = Math.max(v2, v10); v2 = t;
+        t = Math.min(v3, v11); v11 = Math.max(v3, v11); v3 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v2, v8); v8 = Math.max(v2, v8); v2 = t;
+        t = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13;
+    }
+
+    private static void sort15(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        int v12 = a[o + 12], v13 = a[o + 13], v14 = a[o + 14];
+        int t;
+        t = Math.min(v0, v13); v13 = Math.max(v0, v13); v0 = t;
+        t = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = t;
+        t = Math.min(v3, v14); v14 = Math.max(v3, v14); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = t;
+        t = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v6, v13); v13 = Math.max(v6, v13); v6 = t;
+        t = Math.min(v8, v14); v14 = Math.max(v8, v14); v8 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = t;
+        t = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v11, v14); v14 = Math.max(v11, v14); v11 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13; a[o + 14] = v14;
+    }
+
+    private static void sort16(int[] a, int o) {
+        int v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        int v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        int v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        int v12 = a[o + 12], v13 = a[o + 13], v14 = a[o + 14], v15 = a[o + 15];
+        int t;
+        t = Math.min(v0, v13); v13 = Math.max(v0, v13); v0 = t;
+        t = Math.min(v1, v12); v12 = Math.max(v1, v12); v1 = t;
+        t = Math.min(v2, v15); v15 = Math.max(v2, v15); v2 = t;
+        t = Math.min(v3, v14); v14 = Math.max(v3, v14); v3 = t;
+        t = Math.min(v4, v8); v8 = Math.max(v4, v8); v4 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v11); v11 = Math.max(v7, v11); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v0, v5); v5 = Math.max(v0, v5); v0 = t;
+        t = Math.min(v1, v7); v7 = Math.max(v1, v7); v1 = t;
+        t = Math.min(v2, v9); v9 = Math.max(v2, v9); v2 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v6, v13); v13 = Math.max(v6, v13); v6 = t;
+        t = Math.min(v8, v14); v14 = Math.max(v8, v14); v8 = t;
+        t = Math.min(v10, v15); v15 = Math.max(v10, v15); v10 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v0, v1); v1 = Math.max(v0, v1); v0 = t;
+        t = Math.min(v2, v3); v3 = Math.max(v2, v3); v2 = t;
+        t = Math.min(v4, v5); v5 = Math.max(v4, v5); v4 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v10, v11); v11 = Math.max(v10, v11); v10 = t;
+        t = Math.min(v12, v13); v13 = Math.max(v12, v13); v12 = t;
+        t = Math.min(v14, v15); v15 = Math.max(v14, v15); v14 = t;
+        t = Math.min(v0, v2); v2 = Math.max(v0, v2); v0 = t;
+        t = Math.min(v1, v3); v3 = Math.max(v1, v3); v1 = t;
+        t = Math.min(v4, v10); v10 = Math.max(v4, v10); v4 = t;
+        t = Math.min(v5, v11); v11 = Math.max(v5, v11); v5 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        t = Math.min(v12, v14); v14 = Math.max(v12, v14); v12 = t;
+        t = Math.min(v13, v15); v15 = Math.max(v13, v15); v13 = t;
+        t = Math.min(v1, v2); v2 = Math.max(v1, v2); v1 = t;
+        t = Math.min(v3, v12); v12 = Math.max(v3, v12); v3 = t;
+        t = Math.min(v4, v6); v6 = Math.max(v4, v6); v4 = t;
+        t = Math.min(v5, v7); v7 = Math.max(v5, v7); v5 = t;
+        t = Math.min(v8, v10); v10 = Math.max(v8, v10); v8 = t;
+        t = Math.min(v9, v11); v11 = Math.max(v9, v11); v9 = t;
+        t = Math.min(v13, v14); v14 = Math.max(v13, v14); v13 = t;
+        t = Math.min(v1, v4); v4 = Math.max(v1, v4); v1 = t;
+        t = Math.min(v2, v6); v6 = Math.max(v2, v6); v2 = t;
+        t = Math.min(v5, v8); v8 = Math.max(v5, v8); v5 = t;
+        t = Math.min(v7, v10); v10 = Math.max(v7, v10); v7 = t;
+        t = Math.min(v9, v13); v13 = Math.max(v9, v13); v9 = t;
+        t = Math.min(v11, v14); v14 = Math.max(v11, v14); v11 = t;
+        t = Math.min(v2, v4); v4 = Math.max(v2, v4); v2 = t;
+        t = Math.min(v3, v6); v6 = Math.max(v3, v6); v3 = t;
+        t = Math.min(v9, v12); v12 = Math.max(v9, v12); v9 = t;
+        t = Math.min(v11, v13); v13 = Math.max(v11, v13); v11 = t;
+        t = Math.min(v3, v5); v5 = Math.max(v3, v5); v3 = t;
+        t = Math.min(v6, v8); v8 = Math.max(v6, v8); v6 = t;
+        t = Math.min(v7, v9); v9 = Math.max(v7, v9); v7 = t;
+        t = Math.min(v10, v12); v12 = Math.max(v10, v12); v10 = t;
+        t = Math.min(v3, v4); v4 = Math.max(v3, v4); v3 = t;
+        t = Math.min(v5, v6); v6 = Math.max(v5, v6); v5 = t;
+        t = Math.min(v7, v8); v8 = Math.max(v7, v8); v7 = t;
+        t = Math.min(v9, v10); v10 = Math.max(v9, v10); v9 = t;
+        t = Math.min(v11, v12); v12 = Math.max(v11, v12); v11 = t;
+        t = Math.min(v6, v7); v7 = Math.max(v6, v7); v6 = t;
+        t = Math.min(v8, v9); v9 = Math.max(v8, v9); v8 = t;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13; a[o + 14] = v14; a[o + 15] = v15;
+    }
+
+    // long[] networks
+
+    // Sorts [low, high), which must hold at most MAX_LENGTH elements
+    static void sort(long[] a, int low, int high) {
+        switch (high - low) {
+            case 2 -> sort2(a, low);
+            case 3 -> sort3(a, low);
+            case 4 -> sort4(a, low);
+            case 5 -> sort5(a, low);
+            case 6 -> sort6(a, low);
+            case 7 -> sort7(a, low);
+            case 8 -> sort8(a, low);
+            case 9 -> sort9(a, low);
+            case 10 -> sort10(a, low);
+            case 11 -> sort11(a, low);
+            case 12 -> sort12(a, low);
+            case 13 -> sort13(a, low);
+            case 14 -> sort14(a, low);
+            case 15 -> sort15(a, low);
+            case 16 -> sort16(a, low);
+            default -> {
+                // 0 or 1 elements are already sorted
+            }
+        }
+    }
+
+    private static void sort2(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1];
+        long s, d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        a[o] = v0; a[o + 1] = v1;
+    }
+
+    private static void sort3(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2];
+        long s, d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2;
+    }
+
+    private static void sort4(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long s, d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+    }
+
+    private static void sort5(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4];
+        long s, d;
+        s = v3 - v0; d = v0 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v0 ^= d; v3 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4;
+    }
+
+    private static void sort6(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5];
+        long s, d;
+        s = v5 - v0; d = v0 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v0 ^= d; v5 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v3 - v0; d = v0 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v0 ^= d; v3 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5;
+    }
+
+    private static void sort7(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6];
+        long s, d;
+        s = v6 - v0; d = v0 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v0 ^= d; v6 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6;
+    }
+
+    private static void sort8(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long s, d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v4 - v0; d = v0 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v0 ^= d; v4 ^= d;
+        s = v5 - v1; d = v1 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v1 ^= d; v5 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v7 - v3; d = v3 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v3 ^= d; v7 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+    }
+
+    private static void sort9(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8];
+        long s, d;
+        s = v3 - v0; d = v0 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v0 ^= d; v3 ^= d;
+        s = v7 - v1; d = v1 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v1 ^= d; v7 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v8 - v4; d = v4 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v4 ^= d; v8 ^= d;
+        s = v7 - v0; d = v0 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v0 ^= d; v7 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v8 - v3; d = v3 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v3 ^= d; v8 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8;
+    }
+
+    private static void sort10(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9];
+        long s, d;
+        s = v8 - v0; d = v0 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v0 ^= d; v8 ^= d;
+        s = v9 - v1; d = v1 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v1 ^= d; v9 ^= d;
+        s = v7 - v2; d = v2 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v2 ^= d; v7 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v3 - v0; d = v0 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v0 ^= d; v3 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v9 - v6; d = v6 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v6 ^= d; v9 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v5 - v1; d = v1 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v1 ^= d; v5 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v8 - v4; d = v4 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v4 ^= d; v8 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9;
+    }
+
+    private static void sort11(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10];
+        long s, d;
+        s = v9 - v0; d = v0 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v0 ^= d; v9 ^= d;
+        s = v6 - v1; d = v1 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v1 ^= d; v6 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v7 - v3; d = v3 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v3 ^= d; v7 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v10 - v4; d = v4 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v4 ^= d; v10 ^= d;
+        s = v9 - v6; d = v6 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v6 ^= d; v9 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v7 - v4; d = v4 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v4 ^= d; v7 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v4 - v0; d = v0 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v0 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v7 - v3; d = v3 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v3 ^= d; v7 ^= d;
+        s = v9 - v5; d = v5 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v5 ^= d; v9 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10;
+    }
+
+    private static void sort12(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        long s, d;
+        s = v8 - v0; d = v0 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v0 ^= d; v8 ^= d;
+        s = v7 - v1; d = v1 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v1 ^= d; v7 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v11 - v3; d = v3 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v3 ^= d; v11 ^= d;
+        s = v10 - v4; d = v4 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v4 ^= d; v10 ^= d;
+        s = v9 - v5; d = v5 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v5 ^= d; v9 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v9 - v6; d = v6 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v6 ^= d; v9 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v11 - v10; d = v10 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v10 ^= d; v11 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v6 - v1; d = v1 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v1 ^= d; v6 ^= d;
+        s = v10 - v5; d = v5 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v5 ^= d; v10 ^= d;
+        s = v11 - v9; d = v9 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v9 ^= d; v11 ^= d;
+        s = v3 - v0; d = v0 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v0 ^= d; v3 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v11 - v8; d = v8 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v8 ^= d; v11 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v10 - v7; d = v7 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v7 ^= d; v10 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v9 - v6; d = v6 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v6 ^= d; v9 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+    }
+
+    private static void sort13(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        long v12 = a[o + 12];
+        long s, d;
+        s = v12 - v0; d = v0 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v0 ^= d; v12 ^= d;
+        s = v10 - v1; d = v1 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v1 ^= d; v10 ^= d;
+        s = v9 - v2; d = v2 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v2 ^= d; v9 ^= d;
+        s = v7 - v3; d = v3 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v3 ^= d; v7 ^= d;
+        s = v11 - v5; d = v5 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v5 ^= d; v11 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v6 - v1; d = v1 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v1 ^= d; v6 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v11 - v4; d = v4 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v4 ^= d; v11 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v4 - v0; d = v0 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v0 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v9 - v5; d = v5 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v5 ^= d; v9 ^= d;
+        s = v11 - v8; d = v8 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v8 ^= d; v11 ^= d;
+        s = v12 - v10; d = v10 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v10 ^= d; v12 ^= d;
+        s = v5 - v0; d = v0 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v0 ^= d; v5 ^= d;
+        s = v8 - v3; d = v3 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v3 ^= d; v8 ^= d;
+        s = v7 - v4; d = v4 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v4 ^= d; v7 ^= d;
+        s = v11 - v6; d = v6 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v6 ^= d; v11 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v5 - v2; d = v2 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v2 ^= d; v5 ^= d;
+        s = v9 - v6; d = v6 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v6 ^= d; v9 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v11 - v10; d = v10 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v10 ^= d; v11 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12;
+    }
+
+    private static void sort14(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        long v12 = a[o + 12], v13 = a[o + 13];
+        long s, d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v11 - v10; d = v10 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v10 ^= d; v11 ^= d;
+        s = v13 - v12; d = v12 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v12 ^= d; v13 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v8 - v4; d = v4 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v4 ^= d; v8 ^= d;
+        s = v9 - v5; d = v5 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v5 ^= d; v9 ^= d;
+        s = v12 - v10; d = v10 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v10 ^= d; v12 ^= d;
+        s = v13 - v11; d = v11 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v11 ^= d; v13 ^= d;
+        s = v4 - v0; d = v0 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v0 ^= d; v4 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v7 - v3; d = v3 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v3 ^= d; v7 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v10 - v6; d = v6 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v6 ^= d; v10 ^= d;
+        s = v13 - v9; d = v9 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v9 ^= d; v13 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v6 - v0; d = v0 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v0 ^= d; v6 ^= d;
+        s = v5 - v1; d = v1 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v1 ^= d; v5 ^= d;
+        s = v9 - v3; d = v3 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v3 ^= d; v9 ^= d;
+        s = v10 - v4; d = v4 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v4 ^= d; v10 ^= d;
+        s = v13 - v7; d = v7 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v7 ^= d; v13 ^= d;
+        s = v12 - v8; d = v8 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v8 ^= d; v12 ^= d;
+        s = v10 - v2; d = v2 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v2 ^= d; v10 ^= d;
+        s = v11 - v3; d = v3 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v3 ^= d; v11 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v8 - v2; d = v2 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v2 ^= d; v8 ^= d;
+        s = v11 - v5; d = v5 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v5 ^= d; v11 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v12 - v10; d = v10 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v10 ^= d; v12 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v11 - v7; d = v7 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v7 ^= d; v11 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v12 - v9; d = v9 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v9 ^= d; v12 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v10 - v7; d = v7 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v7 ^= d; v10 ^= d;
+        s = v11 - v9; d = v9 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v9 ^= d; v11 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13;
+    }
+
+    private static void sort15(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        long v12 = a[o + 12], v13 = a[o + 13], v14 = a[o + 14];
+        long s, d;
+        s = v13 - v0; d = v0 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v0 ^= d; v13 ^= d;
+        s = v12 - v1; d = v1 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v1 ^= d; v12 ^= d;
+        s = v14 - v3; d = v3 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v3 ^= d; v14 ^= d;
+        s = v8 - v4; d = v4 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v4 ^= d; v8 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v11 - v7; d = v7 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v7 ^= d; v11 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v5 - v0; d = v0 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v0 ^= d; v5 ^= d;
+        s = v7 - v1; d = v1 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v1 ^= d; v7 ^= d;
+        s = v9 - v2; d = v2 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v2 ^= d; v9 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v13 - v6; d = v6 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v6 ^= d; v13 ^= d;
+        s = v14 - v8; d = v8 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v8 ^= d; v14 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v11 - v10; d = v10 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v10 ^= d; v11 ^= d;
+        s = v13 - v12; d = v12 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v12 ^= d; v13 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v10 - v4; d = v4 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v4 ^= d; v10 ^= d;
+        s = v11 - v5; d = v5 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v5 ^= d; v11 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v14 - v12; d = v12 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v12 ^= d; v14 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v12 - v3; d = v3 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v3 ^= d; v12 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v11 - v9; d = v9 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v9 ^= d; v11 ^= d;
+        s = v14 - v13; d = v13 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v13 ^= d; v14 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v10 - v7; d = v7 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v7 ^= d; v10 ^= d;
+        s = v13 - v9; d = v9 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v9 ^= d; v13 ^= d;
+        s = v14 - v11; d = v11 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v11 ^= d; v14 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v12 - v9; d = v9 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v9 ^= d; v12 ^= d;
+        s = v13 - v11; d = v11 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v11 ^= d; v13 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v12 - v10; d = v10 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v10 ^= d; v12 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13; a[o + 14] = v14;
+    }
+
+    private static void sort16(long[] a, int o) {
+        long v0 = a[o], v1 = a[o + 1], v2 = a[o + 2], v3 = a[o + 3];
+        long v4 = a[o + 4], v5 = a[o + 5], v6 = a[o + 6], v7 = a[o + 7];
+        long v8 = a[o + 8], v9 = a[o + 9], v10 = a[o + 10], v11 = a[o + 11];
+        long v12 = a[o + 12], v13 = a[o + 13], v14 = a[o + 14], v15 = a[o + 15];
+        long s, d;
+        s = v13 - v0; d = v0 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v0 ^= d; v13 ^= d;
+        s = v12 - v1; d = v1 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v1 ^= d; v12 ^= d;
+        s = v15 - v2; d = v2 ^ v15; d &= (s ^ (d & (s ^ v15))) >> 63; v2 ^= d; v15 ^= d;
+        s = v14 - v3; d = v3 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v3 ^= d; v14 ^= d;
+        s = v8 - v4; d = v4 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v4 ^= d; v8 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v11 - v7; d = v7 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v7 ^= d; v11 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v5 - v0; d = v0 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v0 ^= d; v5 ^= d;
+        s = v7 - v1; d = v1 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v1 ^= d; v7 ^= d;
+        s = v9 - v2; d = v2 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v2 ^= d; v9 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v13 - v6; d = v6 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v6 ^= d; v13 ^= d;
+        s = v14 - v8; d = v8 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v8 ^= d; v14 ^= d;
+        s = v15 - v10; d = v10 ^ v15; d &= (s ^ (d & (s ^ v15))) >> 63; v10 ^= d; v15 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v1 - v0; d = v0 ^ v1; d &= (s ^ (d & (s ^ v1))) >> 63; v0 ^= d; v1 ^= d;
+        s = v3 - v2; d = v2 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v2 ^= d; v3 ^= d;
+        s = v5 - v4; d = v4 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v4 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v11 - v10; d = v10 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v10 ^= d; v11 ^= d;
+        s = v13 - v12; d = v12 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v12 ^= d; v13 ^= d;
+        s = v15 - v14; d = v14 ^ v15; d &= (s ^ (d & (s ^ v15))) >> 63; v14 ^= d; v15 ^= d;
+        s = v2 - v0; d = v0 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v0 ^= d; v2 ^= d;
+        s = v3 - v1; d = v1 ^ v3; d &= (s ^ (d & (s ^ v3))) >> 63; v1 ^= d; v3 ^= d;
+        s = v10 - v4; d = v4 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v4 ^= d; v10 ^= d;
+        s = v11 - v5; d = v5 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v5 ^= d; v11 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        s = v14 - v12; d = v12 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v12 ^= d; v14 ^= d;
+        s = v15 - v13; d = v13 ^ v15; d &= (s ^ (d & (s ^ v15))) >> 63; v13 ^= d; v15 ^= d;
+        s = v2 - v1; d = v1 ^ v2; d &= (s ^ (d & (s ^ v2))) >> 63; v1 ^= d; v2 ^= d;
+        s = v12 - v3; d = v3 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v3 ^= d; v12 ^= d;
+        s = v6 - v4; d = v4 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v4 ^= d; v6 ^= d;
+        s = v7 - v5; d = v5 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v5 ^= d; v7 ^= d;
+        s = v10 - v8; d = v8 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v8 ^= d; v10 ^= d;
+        s = v11 - v9; d = v9 ^ v11; d &= (s ^ (d & (s ^ v11))) >> 63; v9 ^= d; v11 ^= d;
+        s = v14 - v13; d = v13 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v13 ^= d; v14 ^= d;
+        s = v4 - v1; d = v1 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v1 ^= d; v4 ^= d;
+        s = v6 - v2; d = v2 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v2 ^= d; v6 ^= d;
+        s = v8 - v5; d = v5 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v5 ^= d; v8 ^= d;
+        s = v10 - v7; d = v7 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v7 ^= d; v10 ^= d;
+        s = v13 - v9; d = v9 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v9 ^= d; v13 ^= d;
+        s = v14 - v11; d = v11 ^ v14; d &= (s ^ (d & (s ^ v14))) >> 63; v11 ^= d; v14 ^= d;
+        s = v4 - v2; d = v2 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v2 ^= d; v4 ^= d;
+        s = v6 - v3; d = v3 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v3 ^= d; v6 ^= d;
+        s = v12 - v9; d = v9 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v9 ^= d; v12 ^= d;
+        s = v13 - v11; d = v11 ^ v13; d &= (s ^ (d & (s ^ v13))) >> 63; v11 ^= d; v13 ^= d;
+        s = v5 - v3; d = v3 ^ v5; d &= (s ^ (d & (s ^ v5))) >> 63; v3 ^= d; v5 ^= d;
+        s = v8 - v6; d = v6 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v6 ^= d; v8 ^= d;
+        s = v9 - v7; d = v7 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v7 ^= d; v9 ^= d;
+        s = v12 - v10; d = v10 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v10 ^= d; v12 ^= d;
+        s = v4 - v3; d = v3 ^ v4; d &= (s ^ (d & (s ^ v4))) >> 63; v3 ^= d; v4 ^= d;
+        s = v6 - v5; d = v5 ^ v6; d &= (s ^ (d & (s ^ v6))) >> 63; v5 ^= d; v6 ^= d;
+        s = v8 - v7; d = v7 ^ v8; d &= (s ^ (d & (s ^ v8))) >> 63; v7 ^= d; v8 ^= d;
+        s = v10 - v9; d = v9 ^ v10; d &= (s ^ (d & (s ^ v10))) >> 63; v9 ^= d; v10 ^= d;
+        s = v12 - v11; d = v11 ^ v12; d &= (s ^ (d & (s ^ v12))) >> 63; v11 ^= d; v12 ^= d;
+        s = v7 - v6; d = v6 ^ v7; d &= (s ^ (d & (s ^ v7))) >> 63; v6 ^= d; v7 ^= d;
+        s = v9 - v8; d = v8 ^ v9; d &= (s ^ (d & (s ^ v9))) >> 63; v8 ^= d; v9 ^= d;
+        a[o] = v0; a[o + 1] = v1; a[o + 2] = v2; a[o + 3] = v3;
+        a[o + 4] = v4; a[o + 5] = v5; a[o + 6] = v6; a[o + 7] = v7;
+        a[o + 8] = v8; a[o + 9] = v9; a[o + 10] = v10; a[o + 11] = v11;
+        a[o + 12] = v12; a[o + 13] = v13; a[o + 14] = v14; a[o + 15] = v15;
+    }
+}
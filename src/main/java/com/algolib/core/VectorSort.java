@@ -0,0 +1,309 @@
+package com.algolib.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD sorting kernels on the incubating {@code jdk.incubator.vector} API, backing
+ * {@link Sorting#vectorSort(int[])}.
+ *
+ * <p>Quicksort partitions whole vectors at a time with mask compression, and ranges of up to
+ * {@link #NETWORK_BLOCK} elements are finished with a bitonic sorting network: stages wider
+ * than a vector run as lanewise min/max between vectors, narrower ones as shuffles within one.
+ * Recursion depth is capped; past it the scalar introsort takes over.
+ *
+ * <p>This class links against the incubator module, so it must only be touched after
+ * {@link Sorting} has confirmed the module is present in the boot layer.
+ */
+final class VectorSort {
+
+    // Ranges at or below this size are sorted by the bitonic network
+    static final int NETWORK_BLOCK = 64;
+
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int INT_LANES = INT_SPECIES.length();
+    private static final int LONG_LANES = LONG_SPECIES.length();
+    private static final IntVector INT_IOTA = IntVector.zero(INT_SPECIES).addIndex(1);
+    private static final LongVector LONG_IOTA = LongVector.zero(LONG_SPECIES).addIndex(1);
+
+    private static final Sorting SCALAR = new Sorting();
+
+    private VectorSort() {
+    }
+
+    // Narrow vectors do not pay for the extra passes and the padding
+    static boolean isSupported() {
+        return INT_LANES >= 4 && LONG_LANES >= 2;
+    }
+
+    private static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+
+    // int[] kernels
+
+    /**
+     * Sorts {@code a[low, high)} with vectorized partitioning and bitonic base cases.
+     */
+    static void sort(int[] a, int low, int high) {
+        if (high - low < 2) return;
+        int[] scratch = new int[high - low + INT_LANES];
+        int[] block = new int[Math.max(NETWORK_BLOCK, 2 * INT_LANES)];
+        quickSort(a, low, high, scratch, block, depthLimit(high - low));
+    }
+
+    private static void quickSort(int[] a, int low, int high, int[] scratch, int[] block, int depthLimit) {
+        while (high - low > NETWORK_BLOCK) {
+            if (depthLimit-- == 0) {
+                // Too many unbalanced splits, let the scalar introsort finish with its heap sort guarantee
+                SCALAR.quickSort(a, low, high);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            int pivot = medianOfThree(a[low], a[mid], a[high - 1]);
+            int split = partition(a, low, high, pivot, false, scratch);
+            if (split == low) {
+                // Nothing is below the pivot: peel off every key equal to it instead
+                low = partition(a, low, high, pivot, true, scratch);
+                continue;
+            }
+
+            // Recurse into the smaller side and loop on the larger one
+            if (split - low < high - split) {
+                quickSort(a, low, split, scratch, block, depthLimit);
+                low = split;
+            } else {
+                quickSort(a, split, high, scratch, block, depthLimit);
+                high = split;
+            }
+        }
+        bitonicSort(a, low, high, block);
+    }
+
+    /**
+     * Moves keys below the pivot (or at most the pivot when {@code orEqual}) to the front of
+     * {@code [low, high)} and returns where the rest begin. Each vector is split with two
+     * compress operations: the left lanes are written back in place behind the read cursor and
+     * the right lanes are staged in {@code scratch}.
+     */
+    private static int partition(int[] a, int low, int high, int pivot, boolean orEqual, int[] scratch) {
+        IntVector pivots = IntVector.broadcast(INT_SPECIES, pivot);
+        int store = low, spill = 0, i = low;
+
+        for (int bound = low + INT_SPECIES.loopBound(high - low); i < bound; i += INT_LANES) {
+            IntVector v = IntVector.fromArray(INT_SPECIES, a, i);
+            // The comparison must be a constant at each call site for C2 to intrinsify it
+            VectorMask<Integer> left = orEqual ? v.compare(VectorOperators.LE, pivots) : v.compare(VectorOperators.LT, pivots);
+            v.compress(left).intoArray(a, store);
+            v.compress(left.not()).intoArray(scratch, spill);
+            int count = left.trueCount();
+            store += count;
+            spill += INT_LANES - count;
+        }
+        for (; i < high; i++) {
+            int key = a[i];
+            if (orEqual ? key <= pivot : key < pivot) a[store++] = key;
+            else scratch[spill++] = key;
+        }
+
+        System.arraycopy(scratch, 0, a, store, spill);
+        return store;
+    }
+
+    // Sorts a short range by padding it to a power of two and running a bitonic network
+    private static void bitonicSort(int[] a, int low, int high, int[] block) {
+        int n = high - low;
+        if (n < 2) return;
+
+        int size = Math.max(Integer.highestOneBit(n - 1) << 1, 2 * INT_LANES);
+        System.arraycopy(a, low, block, 0, n);
+        Arrays.fill(block, n, size, Integer.MAX_VALUE);
+
+        for (int k = 2; k <= size; k <<= 1) {
+            for (int j = k >>> 1; j > 0; j >>>= 1) {
+                if (j >= INT_LANES) vectorStage(block, size, j, k);
+                else laneStage(block, size, j, k);
+            }
+        }
+        System.arraycopy(block, 0, a, low, n);
+    }
+
+    // Compare-exchange at distance j with lanewise min/max; every lane in a vector shares a direction
+    private static void vectorStage(int[] block, int size, int j, int k) {
+        for (int i = 0; i < size; i += j << 1) {
+            for (int offset = 0; offset < j; offset += INT_LANES) {
+                int index = i + offset;
+                IntVector x = IntVector.fromArray(INT_SPECIES, block, index);
+                IntVector y = IntVector.fromArray(INT_SPECIES, block, index + j);
+                IntVector min = x.min(y);
+                IntVector max = x.max(y);
+                if ((index & k) == 0) {
+                    min.intoArray(block, index);
+                    max.intoArray(block, index + j);
+                } else {
+                    max.intoArray(block, index);
+                    min.intoArray(block, index + j);
+                }
+            }
+        }
+    }
+
+    // Compare-exchange at distance j inside each vector: partners are swapped in with a lane
+    // shuffle and every lane keeps the min or the max depending on its half and its run direction
+    private static void laneStage(int[] block, int size, int j, int k) {
+        VectorShuffle<Integer> partners = INT_IOTA.lanewise(VectorOperators.XOR, j).toShuffle();
+        int jShift = Integer.numberOfTrailingZeros(j);
+        int kShift = Integer.numberOfTrailingZeros(k);
+        for (int i = 0; i < size; i += INT_LANES) {
+            IntVector x = IntVector.fromArray(INT_SPECIES, block, i);
+            IntVector y = x.rearrange(partners);
+            VectorMask<Integer> keepMax = INT_IOTA.lanewise(VectorOperators.LSHR, jShift)
+                    .lanewise(VectorOperators.XOR, INT_IOTA.add(i).lanewise(VectorOperators.LSHR, kShift))
+                    .and(1)
+                    .compare(VectorOperators.NE, 0);
+            x.min(y).blend(x.max(y), keepMax).intoArray(block, i);
+        }
+    }
+
+    private static int medianOfThree(int x, int y, int z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+
+    // long[] kernels
+
+    /**
+     * Sorts {@code a[low, high)} with vectorized partitioning and bitonic base cases.
+     */
+    static void sort(long[] a, int low, int high) {
+        if (high - low < 2) return;
+        long[] scratch = new long[high - low + LONG_LANES];
+        long[] block = new long[Math.max(NETWORK_BLOCK, 2 * LONG_LANES)];
+        quickSort(a, low, high, scratch, block, depthLimit(high - low));
+    }
+
+    private static void quickSort(long[] a, int low, int high, long[] scratch, long[] block, int depthLimit) {
+        while (high - low > NETWORK_BLOCK) {
+            if (depthLimit-- == 0) {
+                // Too many unbalanced splits, let the scalar introsort finish with its heap sort guarantee
+                SCALAR.quickSort(a, low, high);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            long pivot = medianOfThree(a[low], a[mid], a[high - 1]);
+            int split = partition(a, low, high, pivot, false, scratch);
+            if (split == low) {
+                // Nothing is below the pivot: peel off every key equal to it instead
+                low = partition(a, low, high, pivot, true, scratch);
+                continue;
+            }
+
+            // Recurse into the smaller side and loop on the larger one
+            if (split - low < high - split) {
+                quickSort(a, low, split, scratch, block, depthLimit);
+                low = split;
+            } else {
+                quickSort(a, split, high, scratch, block, depthLimit);
+                high = split;
+            }
+        }
+        bitonicSort(a, low, high, block);
+    }
+
+    /**
+     * Moves keys below the pivot (or at most the pivot when {@code orEqual}) to the front of
+     * {@code [low, high)} and returns where the rest begin. Each vector is split with two
+     * compress operations: the left lanes are written back in place behind the read cursor and
+     * the right lanes are staged in {@code scratch}.
+     */
+    private static int partition(long[] a, int low, int high, long pivot, boolean orEqual, long[] scratch) {
+        LongVector pivots = LongVector.broadcast(LONG_SPECIES, pivot);
+        int store = low, spill = 0, i = low;
+
+        for (int bound = low + LONG_SPECIES.loopBound(high - low); i < bound; i += LONG_LANES) {
+            LongVector v = LongVector.fromArray(LONG_SPECIES, a, i);
+            // The comparison must be a constant at each call site for C2 to intrinsify it
+            VectorMask<Long> left = orEqual ? v.compare(VectorOperators.LE, pivots) : v.compare(VectorOperators.LT, pivots);
+            v.compress(left).intoArray(a, store);
+            v.compress(left.not()).intoArray(scratch, spill);
+            int count = left.trueCount();
+            store += count;
+            spill += LONG_LANES - count;
+        }
+        for (; i < high; i++) {
+            long key = a[i];
+            if (orEqual ? key <= pivot : key < pivot) a[store++] = key;
+            else scratch[spill++] = key;
+        }
+
+        System.arraycopy(scratch, 0, a, store, spill);
+        return store;
+    }
+
+    // Sorts a short range by padding it to a power of two and running a bitonic network
+    private static void bitonicSort(long[] a, int low, int high, long[] block) {
+        int n = high - low;
+        if (n < 2) return;
+
+        int size = Math.max(Integer.highestOneBit(n - 1) << 1, 2 * LONG_LANES);
+        System.arraycopy(a, low, block, 0, n);
+        Arrays.fill(block, n, size, Long.MAX_VALUE);
+
+        for (int k = 2; k <= size; k <<= 1) {
+            for (int j = k >>> 1; j > 0; j >>>= 1) {
+                if (j >= LONG_LANES) vectorStage(block, size, j, k);
+                else laneStage(block, size, j, k);
+            }
+        }
+        System.arraycopy(block, 0, a, low, n);
+    }
+
+    // Compare-exchange at distance j with lanewise min/max; every lane in a vector shares a direction
+    private static void vectorStage(long[] block, int size, int j, int k) {
+        for (int i = 0; i < size; i += j << 1) {
+            for (int offset = 0; offset < j; offset += LONG_LANES) {
+                int index = i + offset;
+                LongVector x = LongVector.fromArray(LONG_SPECIES, block, index);
+                LongVector y = LongVector.fromArray(LONG_SPECIES, block, index + j);
+                LongVector min = x.min(y);
+                LongVector max = x.max(y);
+                if ((index & k) == 0) {
+                    min.intoArray(block, index);
+                    max.intoArray(block, index + j);
+                } else {
+                    max.intoArray(block, index);
+                    min.intoArray(block, index + j);
+                }
+            }
+        }
+    }
+
+    // Compare-exchange at distance j inside each vector: partners are swapped in with a lane
+    // shuffle and every lane keeps the min or the max depending on its half and its run direction
+    private static void laneStage(long[] block, int size, int j, int k) {
+        VectorShuffle<Long> partners = LONG_IOTA.lanewise(VectorOperators.XOR, j).toShuffle();
+        int jShift = Integer.numberOfTrailingZeros(j);
+        int kShift = Integer.numberOfTrailingZeros(k);
+        for (int i = 0; i < size; i += LONG_LANES) {
+            LongVector x = LongVector.fromArray(LONG_SPECIES, block, i);
+            LongVector y = x.rearrange(partners);
+            VectorMask<Long> keepMax = LONG_IOTA.lanewise(VectorOperators.LSHR, jShift)
+                    .lanewise(VectorOperators.XOR, LONG_IOTA.add(i).lanewise(VectorOperators.LSHR, kShift))
+                    .and(1)
+                    .compare(VectorOperators.NE, 0);
+            x.min(y).blend(x.max(y), keepMax).intoArray(block, i);
+        }
+    }
+
+    private static long medianOfThree(long x, long y, long z) {
+        return Math.max(Math.min(x, y), Math.min(Math.max(x, y), z));
+    }
+}
@@ -15,7 +15,7 @@ import java.util.function.Function;
  *
  * @author Prit Thakkar (pritthakkar111101@gmail.com)
  */
-public abstract class LinkedList<T extends Comparable<T>, N extends AbstractListNode<T, N>> {
+public abstract class LinkedList<T extends Comparable<T>, N extends AbstractListNode<T, N>> implements Iterable<T> {
 
     /**
      * The head of the list.
@@ -358,6 +358,34 @@ public abstract class LinkedList<T extends Comparable<T>, N extends AbstractList
         return result;
     }
 
+    /**
+     * Returns an iterator over the elements from {@code head} to {@code tail}.
+     *
+     * <p>The iterator reads the nodes as it goes, so the list must not be modified
+     * while iterating; {@link Iterator#remove()} is not supported.
+     *
+     * @return an iterator over the list's elements in order
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private N current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public T next() {
+                if (current == null) throw new NoSuchElementException();
+                T data = current.getData();
+                current = current.getNext();
+                return data;
+            }
+        };
+    }
+
     /**
      * Converts the linked list into a {@link java.util.List}.
      *
@@ -21,6 +21,51 @@ public class ArrayHelper {
         arr[index2] = temp;
     }
 
+    public static void swapElements(int[] arr, int index1, int index2) {
+        int temp = arr[index1];
+        arr[index1] = arr[index2];
+        arr[index2] = temp;
+    }
+
+    public static void swapElements(long[] arr, int index1, int index2) {
+        long temp = arr[index1];
+        arr[index1] = arr[index2];
+        arr[index2] = temp;
+    }
+
+    public static void swapElements(double[] arr, int index1, int index2) {
+        double temp = arr[index1];
+        arr[index1] = arr[index2];
+        arr[index2] = temp;
+    }
+
+    // Validates a half-open [fromIndex, toIndex) range, same contract as java.util.Arrays
+    public static void checkRange(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex)
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        if (fromIndex < 0)
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if (toIndex > length)
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+
+    // Unbox once so algorithms can run on the primitive path
+    public static int[] toPrimitive(Integer[] arr) {
+        int[] result = new int[arr.length];
+        for (int i = 0; i < arr.length; i++) {
+            result[i] = arr[i];
+        }
+        return result;
+    }
+
+    // Box the primitive values back into the given target array
+    public static Integer[] copyInto(int[] values, Integer[] target) {
+        for (int i = 0; i < values.length; i++) {
+            target[i] = values[i];
+        }
+        return target;
+    }
+
     public static <T> void printArray(T[] array) {
         System.out.println(Arrays.toString(array));
     }
@@ -1,11 +1,13 @@
 package com.algolib;
 
 import com.algolib.core.BinaryExp;
+import com.algolib.core.Sorting;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BinaryExpTest {
 
@@ -28,4 +30,29 @@ class BinaryExpTest {
         // verify transformation produces expected permutation
         assertThat(result).containsExactly("dog", "rabbit", "mouse", "rhino", "cow", "cat");
     }
-}
\ No newline at end of file
+
+    @Test
+    void invertAndComposeGiveIdentity() {
+        int[] perm = {1, 5, 3, 4, 2, 0};
+
+        assertThat(binaryExp.compose(perm, binaryExp.invert(perm))).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(binaryExp.permutePower(perm, 0)).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThatThrownBy(() -> binaryExp.invert(new int[]{0, 0, 1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> binaryExp.compose(perm, new int[]{0})).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void argsortPlugsIntoPermutations() {
+        Sorting sorting = new Sorting();
+        int[] order = sorting.argsort(input, String::compareTo);
+
+        // Gathering by the order and scattering by its inverse both sort the data
+        String[] sorted = {"cat", "cow", "dog", "mouse", "rabbit", "rhino"};
+        assertThat(binaryExp.gather(input, order)).containsExactly(sorted);
+        assertThat(binaryExp.apply(input, binaryExp.invert(order))).containsExactly(sorted);
+
+        // A second key reuses the first order instead of sorting again
+        int[] lengths = {3, 3, 3, 5, 5, 6};
+        assertThat(binaryExp.gather(lengths, order)).containsExactly(3, 3, 3, 5, 6, 5);
+    }
+}
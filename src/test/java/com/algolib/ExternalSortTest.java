@@ -0,0 +1,71 @@
+package com.algolib;
+
+import com.algolib.core.ExternalSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalSortTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void sortsIntsAcrossManyRunsAndMergePasses() throws IOException {
+        int[] values = new Random(29).ints(50_000).toArray();
+        Path input = tempDir.resolve("ints.bin");
+        Path output = tempDir.resolve("ints.sorted");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        Files.write(input, bytes.array());
+
+        // 4 KB budget less two 512-byte buffers -> 768-record chunks, 66 runs merged 4 at a time over several passes
+        new ExternalSort(4 << 10, tempDir, 4).sortInts(input, output);
+
+        int[] sorted = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer().get(sorted);
+        Arrays.sort(values);
+        assertThat(sorted).containsExactly(values);
+
+        // temporary runs are cleaned up
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactlyInAnyOrder(input, output);
+        }
+    }
+
+    @Test
+    void sortsLongs() throws IOException {
+        long[] values = new Random(31).longs(10_000).toArray();
+        Path input = tempDir.resolve("longs.bin");
+        Path output = tempDir.resolve("longs.sorted");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Long.BYTES);
+        bytes.asLongBuffer().put(values);
+        Files.write(input, bytes.array());
+
+        new ExternalSort(8 << 10, tempDir, 16).sortLongs(input, output);
+
+        long[] sorted = new long[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(output)).asLongBuffer().get(sorted);
+        Arrays.sort(values);
+        assertThat(sorted).containsExactly(values);
+    }
+
+    @Test
+    void rejectsPartialRecordsAndBadConfig() throws IOException {
+        Path input = Files.write(tempDir.resolve("odd.bin"), new byte[]{1, 2, 3});
+
+        assertThatThrownBy(() -> new ExternalSort().sortInts(input, tempDir.resolve("out.bin")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExternalSort(1 << 20, tempDir, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
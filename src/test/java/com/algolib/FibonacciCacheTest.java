@@ -0,0 +1,89 @@
+package com.algolib;
+
+import com.algolib.core.Fibonacci;
+import com.algolib.core.FibonacciCache;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FibonacciCacheTest {
+
+    private final Fibonacci fibonacci = new Fibonacci();
+
+    @Test
+    void countsTableHitsExactHitsNearHitsAndMisses() {
+        FibonacciCache cache = new FibonacciCache();
+
+        assertThat(cache.fibonacci(Fibonacci.MAX_LONG_INDEX)).isEqualTo(BigInteger.valueOf(7_540_113_804_746_346_429L));
+        assertThat(cache.fibonacci(10_000)).isEqualTo(fibonacci.fibonacciFastDoubling(10_000));
+        assertThat(cache.fibonacci(10_000)).isEqualTo(fibonacci.fibonacciFastDoubling(10_000));
+        // Both directions from the checkpoint at 10000, including odd distances
+        assertThat(cache.fibonacci(10_777)).isEqualTo(fibonacci.fibonacciFastDoubling(10_777));
+        assertThat(cache.fibonacci(9_001)).isEqualTo(fibonacci.fibonacciFastDoubling(9_001));
+        assertThat(cache.fibonacci(9_000 - FibonacciCache.NEAR_DISTANCE)).isEqualTo(fibonacci.fibonacciFastDoubling(6_952));
+
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThat(cache.nearHitCount()).isEqualTo(2);
+        assertThat(cache.missCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(4);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWithinEntryAndBitBounds() {
+        FibonacciCache byCount = new FibonacciCache(2, Long.MAX_VALUE);
+        byCount.fibonacci(10_000);
+        byCount.fibonacci(20_000);
+        byCount.fibonacci(10_000);
+        byCount.fibonacci(30_000);
+        assertThat(byCount.size()).isEqualTo(2);
+        byCount.fibonacci(10_000);
+        assertThat(byCount.hitCount()).isEqualTo(2);
+
+        // The pairs at 10000 and 14000 take about 13900 and 19400 bits, the one at 20000 about 27800
+        FibonacciCache byBits = new FibonacciCache(100, 20_000);
+        byBits.fibonacci(10_000);
+        byBits.fibonacci(20_000);
+        assertThat(byBits.size()).isEqualTo(1);
+        byBits.fibonacci(14_000);
+        byBits.fibonacci(10_000);
+        assertThat(byBits.size()).isEqualTo(1);
+        assertThat(byBits.missCount()).isEqualTo(4);
+
+        assertThatThrownBy(() -> new FibonacciCache(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FibonacciCache(1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> byBits.fibonacci(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentRequestsAgreeWithFastDoubling() throws Exception {
+        FibonacciCache cache = new FibonacciCache(16, FibonacciCache.DEFAULT_MAX_BITS);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Random random = new Random(t);
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        int n = 5_000 + random.nextInt(20_000);
+                        if (!cache.fibonacci(n).equals(fibonacci.fibonacciFastDoubling(n))) return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) assertThat(result.get()).isTrue();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(cache.hitCount() + cache.nearHitCount() + cache.missCount()).isEqualTo(800);
+        assertThat(cache.size()).isLessThanOrEqualTo(16);
+    }
+}
@@ -4,8 +4,13 @@ import com.algolib.core.Fibonacci;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class FibonacciTest {
 
@@ -18,6 +23,8 @@ class FibonacciTest {
 
         // 15th Fibonacci number = 610
         assertThat(result).isEqualTo(610);
+        // Largest value that fits in a long comes from the table
+        assertThat(fibonacci.fibonacci(Fibonacci.MAX_LONG_INDEX)).isEqualTo(7_540_113_804_746_346_429L);
     }
 
     @Test
@@ -35,4 +42,132 @@ class FibonacciTest {
         // 15th Fibonacci number = 610
         assertThat(result).isEqualTo(BigInteger.valueOf(610));
     }
+
+    @Test
+    void fastDoublingMatchesMatrixExponentiation() {
+        assertThat(fibonacci.fibonacciFastDoubling(fibonacciInput)).isEqualTo(BigInteger.valueOf(610));
+        assertThat(fibonacci.fibonacciFastDoubling(0)).isEqualTo(BigInteger.ZERO);
+        for (int n = 1; n <= 300; n++) {
+            assertThat(fibonacci.fibonacciFastDoubling(n)).isEqualTo(fibonacci.fibonacciMatrixExp(n));
+        }
+        // Operands here cross PARALLEL_MULTIPLY_THRESHOLD_BITS
+        assertThat(fibonacci.fibonacciFastDoubling(400_001)).isEqualTo(fibonacci.fibonacciMatrixExp(400_001));
+        assertThatThrownBy(() -> fibonacci.fibonacciFastDoubling(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fibonacciModMatchesBigIntegerForOddEvenAndHugeModuli() {
+        long[] moduli = {1, 2, 10, 1_000_000_007L, 1L << 62, 6L << 58, Long.MAX_VALUE};
+        for (long modulus : moduli) {
+            for (int n = 0; n <= 500; n += 7) {
+                long expected = fibonacci.fibonacciFastDoubling(n).mod(BigInteger.valueOf(modulus)).longValue();
+                assertThat(fibonacci.fibonacciMod(n, modulus)).as("F(%d) mod %d", n, modulus).isEqualTo(expected);
+            }
+        }
+        // F(10^18) mod 10^9+7, checked against the doubling identity F(2k) = F(k)(2F(k+1) - F(k))
+        long p = 1_000_000_007L, k = 500_000_000_000_000_000L;
+        long fk = fibonacci.fibonacciMod(k, p), fk1 = fibonacci.fibonacciMod(k + 1, p);
+        assertThat(fibonacci.fibonacciMod(2 * k, p)).isEqualTo(fk * Math.floorMod(2 * fk1 - fk, p) % p);
+        assertThatThrownBy(() -> fibonacci.fibonacciMod(5, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fibonacci.fibonacciMod(-1, 7)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rangesMatchSingleEvaluations() {
+        assertThat(fibonacci.fibonacciRange(10, 16)).containsExactly(55, 89, 144, 233, 377, 610);
+        assertThat(fibonacci.fibonacciRange(Fibonacci.MAX_LONG_INDEX, Fibonacci.MAX_LONG_INDEX + 1))
+                .containsExactly(fibonacci.fibonacci(Fibonacci.MAX_LONG_INDEX));
+        assertThat(fibonacci.fibonacciRange(7, 7)).isEmpty();
+
+        long from = 1L << 50, modulus = 1_000_000_007L;
+        long[] modRange = fibonacci.fibonacciRange(from, from + 100, modulus);
+        for (int i = 0; i < modRange.length; i++) {
+            assertThat(modRange[i]).isEqualTo(fibonacci.fibonacciMod(from + i, modulus));
+        }
+
+        List<BigInteger> streamed = fibonacci.fibonacciRangeStream(1_000, 1_050).toList();
+        assertThat(streamed).hasSize(50);
+        for (int i = 0; i < streamed.size(); i++) {
+            assertThat(streamed.get(i)).isEqualTo(fibonacci.fibonacciFastDoubling(1_000 + i));
+        }
+
+        assertThatThrownBy(() -> fibonacci.fibonacciRange(0, Fibonacci.MAX_LONG_INDEX + 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fibonacci.fibonacciRange(5, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fibonacci.fibonacciRangeStream(-1, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchMatchesFibonacciModInQueryOrder() {
+        Random random = new Random(24);
+        // Clustered indices with duplicates, plus a few spread over the whole long range
+        long[] ns = new long[2_000];
+        for (int i = 0; i < ns.length; i++) {
+            ns[i] = i % 100 == 0 ? random.nextLong() >>> 1 : 1_000_000_000_000L + random.nextInt(10_000);
+        }
+        long[] clustered = Arrays.copyOf(ns, ns.length);
+        for (int i = 0; i < clustered.length; i += 100) clustered[i] = 1_000_000_000_000L;
+
+        for (long modulus : new long[]{1, 1_000_000_007L, 6L << 58, Long.MAX_VALUE}) {
+            for (long[] queries : new long[][]{ns, clustered}) {
+                long[] sequential = fibonacci.fibonacciBatch(queries, modulus);
+                long[] parallel = fibonacci.fibonacciBatch(queries, modulus, ForkJoinPool.commonPool(), 64);
+                for (int i = 0; i < queries.length; i++) {
+                    long expected = fibonacci.fibonacciMod(queries[i], modulus);
+                    assertThat(sequential[i]).as("F(%d) mod %d", queries[i], modulus).isEqualTo(expected);
+                    assertThat(parallel[i]).isEqualTo(expected);
+                }
+            }
+        }
+        assertThat(fibonacci.fibonacciBatch(new long[0], 7)).isEmpty();
+        assertThatThrownBy(() -> fibonacci.fibonacciBatch(new long[]{3, -1}, 7))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fibonacci.fibonacciBatch(new long[]{3}, 7, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pisanoPeriodsComeFromTheFactorisation() {
+        // Known values, including prime powers and a product of distinct primes
+        assertThat(fibonacci.pisanoPeriod(1)).isEqualTo(1);
+        assertThat(fibonacci.pisanoPeriod(10)).isEqualTo(60);
+        assertThat(fibonacci.pisanoPeriod(1_000)).isEqualTo(1_500);
+        assertThat(fibonacci.pisanoPeriod(1 << 20)).isEqualTo(3L << 19);
+        assertThat(fibonacci.pisanoPeriod(25)).isEqualTo(100);
+        for (long modulus : new long[]{1_000_000_007L, Integer.MAX_VALUE, 2L * 3 * 5 * 7 * 11 * 13 * 17 * 19 * 23}) {
+            long period = fibonacci.pisanoPeriod(modulus);
+            assertThat(fibonacci.fibonacciMod(period, modulus)).isZero();
+            assertThat(fibonacci.fibonacciMod(period + 1, modulus)).isEqualTo(1);
+        }
+        // Brute force over the sequence for every small modulus
+        for (int modulus = 2; modulus <= 500; modulus++) {
+            long a = 0, b = 1, steps = 0;
+            do {
+                long c = (a + b) % modulus;
+                a = b;
+                b = c;
+                steps++;
+            } while (a != 0 || b != 1);
+            assertThat(fibonacci.pisanoPeriod(modulus)).as("pi(%d)", modulus).isEqualTo(steps);
+        }
+        assertThatThrownBy(() -> fibonacci.pisanoPeriod(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fibonacci.pisanoPeriod(Fibonacci.MAX_PISANO_MODULUS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pisanoLookupMatchesFibonacciModUnderEviction() {
+        // Room for two moduli and a few thousand table entries, so tables are dropped and rebuilt
+        Fibonacci small = new Fibonacci(2, 5_000);
+        Random random = new Random(25);
+        long[] moduli = {7, 1_000, 1_024, 999_983, 1_000_000_007L, 1L << 40};
+        for (int i = 0; i < 3_000; i++) {
+            long modulus = moduli[random.nextInt(moduli.length)];
+            long n = random.nextLong() >>> 1;
+            assertThat(small.fibonacciModPisano(n, modulus)).isEqualTo(fibonacci.fibonacciMod(n, modulus));
+        }
+        assertThatThrownBy(() -> small.fibonacciModPisano(-1, 7)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> small.fibonacciModPisano(1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Fibonacci(0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
 }
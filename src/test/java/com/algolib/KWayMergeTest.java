@@ -0,0 +1,97 @@
+package com.algolib;
+
+import com.algolib.core.KWayMerge;
+import com.algolib.core.datastructures.lists.DoublyLinkedList;
+import com.algolib.core.datastructures.lists.SinglyLinkedList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KWayMergeTest {
+
+    private final KWayMerge kWayMerge = new KWayMerge();
+
+    @Test
+    void mergesManyIntShardsLikeSortingTheirConcatenation() {
+        Random random = new Random(23);
+        // Includes empty shards and a count that is not a power of two
+        int[][] shards = new int[301][];
+        for (int s = 0; s < shards.length; s++) {
+            shards[s] = random.ints(random.nextInt(40), -50, 50).sorted().toArray();
+        }
+        int[] expected = Arrays.stream(shards).flatMapToInt(Arrays::stream).sorted().toArray();
+
+        assertThat(kWayMerge.merge(shards)).containsExactly(expected);
+
+        List<Integer> streamed = new ArrayList<>();
+        kWayMerge.merge(shards, streamed::add);
+        assertThat(streamed).containsExactly(Arrays.stream(expected).boxed().toArray(Integer[]::new));
+    }
+
+    @Test
+    void mergesLongShardsAtTheExtremes() {
+        long[][] shards = {
+                {Long.MIN_VALUE, 0, Long.MAX_VALUE},
+                {},
+                {Long.MAX_VALUE, Long.MAX_VALUE},
+                {Long.MIN_VALUE, -1},
+        };
+
+        assertThat(kWayMerge.merge(shards))
+                .containsExactly(Long.MIN_VALUE, Long.MIN_VALUE, -1, 0, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+        assertThat(kWayMerge.merge(new long[0][])).isEmpty();
+        assertThat(kWayMerge.merge(new int[]{3, 7})).containsExactly(3, 7);
+    }
+
+    @Test
+    void iteratorMergeIsStableAndLazy() {
+        List<String> first = List.of("fig", "kiwi", "apple");
+        List<String> second = List.of("bean", "date", "pear");
+        // Unbounded input: only consumed as far as the merge is read
+        Iterator<String> endless = Stream.iterate("a", s -> s + "a").iterator();
+
+        Iterator<String> merged = kWayMerge.merge(
+                List.of(first.iterator(), second.iterator(), endless), Comparator.comparingInt(String::length));
+
+        List<String> head = new ArrayList<>();
+        for (int i = 0; i < 6; i++) head.add(merged.next());
+        // Equal lengths come out in input order
+        assertThat(head).containsExactly("a", "aa", "fig", "aaa", "kiwi", "bean");
+    }
+
+    @Test
+    void exhaustedIteratorMergeThrows() {
+        Iterator<Integer> merged = kWayMerge.merge(List.of(List.of(2).iterator(), List.<Integer>of().iterator()));
+
+        assertThat(merged.next()).isEqualTo(2);
+        assertThat(merged.hasNext()).isFalse();
+        assertThatThrownBy(merged::next).isInstanceOf(NoSuchElementException.class);
+        assertThat(kWayMerge.merge(List.<Iterator<Integer>>of()).hasNext()).isFalse();
+    }
+
+    @Test
+    void mergesSinglyAndDoublyLinkedListsIntoEitherKind() {
+        SinglyLinkedList<Integer> odds = new SinglyLinkedList<>(new Integer[]{1, 3, 5, 7});
+        DoublyLinkedList<Integer> evens = new DoublyLinkedList<>(new Integer[]{2, 4, 6});
+        SinglyLinkedList<Integer> tens = new SinglyLinkedList<>(new Integer[]{0, 10});
+
+        DoublyLinkedList<Integer> merged = kWayMerge.mergeInto(List.of(odds, evens, tens), new DoublyLinkedList<>());
+        SinglyLinkedList<Integer> appended = kWayMerge.mergeInto(List.of(evens, tens), new SinglyLinkedList<>(-1));
+
+        assertThat(merged.toList()).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 10);
+        assertThat(merged.getSize()).isEqualTo(9);
+        assertThat(appended.toList()).containsExactly(-1, 0, 2, 4, 6, 10);
+        // Inputs are read, not relinked
+        assertThat(odds.toList()).containsExactly(1, 3, 5, 7);
+    }
+}
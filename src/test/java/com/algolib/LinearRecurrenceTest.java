@@ -0,0 +1,62 @@
+package com.algolib;
+
+import com.algolib.core.Fibonacci;
+import com.algolib.core.LinearRecurrence;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinearRecurrenceTest {
+
+    @Test
+    void fibonacciRecurrenceMatchesFibonacciMod() {
+        LinearRecurrence recurrence = LinearRecurrence.fibonacci();
+        Fibonacci fibonacci = new Fibonacci();
+
+        for (long n : new long[]{0, 1, 2, 15, 92, 1_000, 123_456_789_012L, Long.MAX_VALUE}) {
+            assertThat(recurrence.termMod(n, 1_000_000_007L)).isEqualTo(fibonacci.fibonacciMod(n, 1_000_000_007L));
+            assertThat(recurrence.termMod(n, 1L << 40)).isEqualTo(fibonacci.fibonacciMod(n, 1L << 40));
+        }
+    }
+
+    @Test
+    void tribonacciMatchesDirectIteration() {
+        LinearRecurrence tribonacci = LinearRecurrence.tribonacci();
+        long modulus = 998_244_352L; // even, so both the Montgomery and power-of-two paths run
+        long a = 0, b = 0, c = 1;
+        for (int n = 0; n < 300; n++) {
+            assertThat(tribonacci.termMod(n, modulus)).as("T(%d)", n).isEqualTo(a);
+            long next = (a + b + c) % modulus;
+            a = b;
+            b = c;
+            c = next;
+        }
+    }
+
+    @Test
+    void customRecurrenceWithNegativeCoefficients() {
+        // a(n) = 3a(n-1) - 2a(n-2) from 0, 1 gives 2^n - 1
+        LinearRecurrence recurrence = new LinearRecurrence(new long[]{3, -2}, new long[]{0, 1});
+        BigInteger modulus = BigInteger.valueOf(1_000_000_009L);
+
+        long n = 1_000_000_000_000L;
+        long expected = BigInteger.TWO.modPow(BigInteger.valueOf(n), modulus).subtract(BigInteger.ONE).mod(modulus).longValue();
+        assertThat(recurrence.termMod(n, modulus.longValue())).isEqualTo(expected);
+        assertThat(recurrence.order()).isEqualTo(2);
+        // Order one: a(n) = 5a(n-1) from 7
+        assertThat(new LinearRecurrence(new long[]{5}, new long[]{7}).termMod(3, 1_000)).isEqualTo(875);
+    }
+
+    @Test
+    void rejectsMismatchedOrInvalidInput() {
+        assertThatThrownBy(() -> new LinearRecurrence(new long[]{1, 1}, new long[]{0}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LinearRecurrence(new long[0], new long[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LinearRecurrence.fibonacci().termMod(1, -3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
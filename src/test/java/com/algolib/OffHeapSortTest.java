@@ -0,0 +1,112 @@
+package com.algolib;
+
+import com.algolib.core.OffHeapSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapSortTest {
+
+    private final OffHeapSort offHeapSort = new OffHeapSort();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void quickAndRadixSortIntsAndLongs() {
+        Random random = new Random(71);
+        int[] ints = random.ints(20_000, -5_000, 5_000).toArray();
+        long[] longs = random.longs(20_000).toArray();
+        int[] sortedInts = ints.clone();
+        long[] sortedLongs = longs.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedLongs);
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment intSegment = arena.allocateArray(ValueLayout.JAVA_INT, ints);
+            offHeapSort.quickSortInts(intSegment);
+            assertThat(intSegment.toArray(ValueLayout.JAVA_INT)).containsExactly(sortedInts);
+
+            intSegment = arena.allocateArray(ValueLayout.JAVA_INT, ints);
+            offHeapSort.radixSortInts(intSegment);
+            assertThat(intSegment.toArray(ValueLayout.JAVA_INT)).containsExactly(sortedInts);
+
+            MemorySegment longSegment = arena.allocateArray(ValueLayout.JAVA_LONG, longs);
+            offHeapSort.quickSortLongs(longSegment);
+            assertThat(longSegment.toArray(ValueLayout.JAVA_LONG)).containsExactly(sortedLongs);
+
+            longSegment = arena.allocateArray(ValueLayout.JAVA_LONG, longs);
+            offHeapSort.radixSortLongs(longSegment);
+            assertThat(longSegment.toArray(ValueLayout.JAVA_LONG)).containsExactly(sortedLongs);
+        }
+    }
+
+    @Test
+    void recordsCarryTheirPayloadAndRadixIsStable() {
+        int width = 16; // long key + long payload
+        long[] keys = new Random(73).longs(5_000, 0, 100).toArray();
+
+        try (Arena arena = Arena.ofConfined()) {
+            for (boolean radix : new boolean[]{false, true}) {
+                MemorySegment records = arena.allocate((long) width * keys.length);
+                for (int i = 0; i < keys.length; i++) {
+                    records.set(ValueLayout.JAVA_LONG_UNALIGNED, (long) i * width, keys[i]);
+                    records.set(ValueLayout.JAVA_LONG_UNALIGNED, (long) i * width + 8, i);
+                }
+
+                if (radix) offHeapSort.radixSortRecords(records, width);
+                else offHeapSort.quickSortRecords(records, width);
+
+                long previousKey = Long.MIN_VALUE, previousIndex = -1;
+                for (int i = 0; i < keys.length; i++) {
+                    long key = records.get(ValueLayout.JAVA_LONG_UNALIGNED, (long) i * width);
+                    long index = records.get(ValueLayout.JAVA_LONG_UNALIGNED, (long) i * width + 8);
+                    assertThat(keys[(int) index]).isEqualTo(key);
+                    assertThat(key).isGreaterThanOrEqualTo(previousKey);
+                    if (radix && key == previousKey) assertThat(index).isGreaterThan(previousIndex);
+                    previousKey = key;
+                    previousIndex = index;
+                }
+            }
+        }
+    }
+
+    @Test
+    void sortsMappedBigEndianFileInPlace() throws IOException {
+        int[] values = new Random(79).ints(10_000).toArray();
+        Path file = tempDir.resolve("column.bin");
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES);
+        bytes.asIntBuffer().put(values);
+        Files.write(file, bytes.array());
+
+        // Same record format as ExternalSort, so its input and output can be sorted in place
+        new OffHeapSort(ByteOrder.BIG_ENDIAN).sortIntFile(file);
+
+        int[] sorted = new int[values.length];
+        ByteBuffer.wrap(Files.readAllBytes(file)).asIntBuffer().get(sorted);
+        Arrays.sort(values);
+        assertThat(sorted).containsExactly(values);
+    }
+
+    @Test
+    void rejectsMisalignedSizesAndNarrowRecords() {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment segment = arena.allocate(10);
+            assertThatThrownBy(() -> offHeapSort.quickSortInts(segment)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> offHeapSort.radixSortRecords(segment, 4)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -1,9 +1,28 @@
 package com.algolib;
 
+import com.algolib.core.CancellationToken;
+import com.algolib.core.SortPhase;
+import com.algolib.core.SortProgressListener;
+import com.algolib.core.SortStrategy;
 import com.algolib.core.Sorting;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SortingTest {
 
@@ -53,4 +72,668 @@ class SortingTest {
         // expected sorted: 1,2,3,4,5,5,7,8,9
         assertThat(sorted).containsExactly(1, 2, 3, 4, 5, 5, 7, 8, 9);
     }
-}
\ No newline at end of file
+
+    @Test
+    void primitiveIntSortsMatchArraysSort() {
+        int[] input = new Random(42).ints(1_000, -500, 500).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        assertThat(sortingCore.bubbleSort(input.clone())).containsExactly(expected);
+        assertThat(sortingCore.selectionSort(input.clone())).containsExactly(expected);
+        assertThat(sortingCore.insertionSort(input.clone())).containsExactly(expected);
+        assertThat(sortingCore.mergeSort(input.clone())).containsExactly(expected);
+        assertThat(sortingCore.quickSort(input.clone())).containsExactly(expected);
+    }
+
+    @Test
+    void primitiveRangeSortLeavesOutsideUntouched() {
+        long[] arr = {9, 8, 7, 6, 5, 4, 3, 2, 1};
+        sortingCore.quickSort(arr, 2, 6);
+
+        // only indices 2..5 (7,6,5,4) are sorted
+        assertThat(arr).containsExactly(9, 8, 4, 5, 6, 7, 3, 2, 1);
+    }
+
+    @Test
+    void primitiveDoubleSortOrdersNaNAndSignedZero() {
+        double[] arr = {3.5, Double.NaN, 0.0, -0.0, -1.25, Double.NEGATIVE_INFINITY};
+        double[] expected = arr.clone();
+        Arrays.sort(expected);
+
+        assertThat(sortingCore.mergeSort(arr.clone())).containsExactly(expected);
+        assertThat(sortingCore.insertionSort(arr.clone())).containsExactly(expected);
+    }
+
+    @Test
+    void primitiveRangeRejectsInvalidBounds() {
+        int[] arr = {3, 2, 1};
+
+        assertThatThrownBy(() -> sortingCore.mergeSort(arr, 2, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sortingCore.mergeSort(arr, 0, 4)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void parallelMergeSortMatchesArraysSort() {
+        int[] input = new Random(7).ints(200_000).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            // small granularity forces deep splitting and parallel merges
+            assertThat(sortingCore.parallelMergeSort(input.clone(), pool, 1_000, 16)).isEqualTo(expected);
+            // Degenerate but valid settings: no insertion sort at all, and merges split down to single elements
+            assertThat(sortingCore.parallelMergeSort(input.clone(), pool, 1_000, 0)).isEqualTo(expected);
+            assertThat(sortingCore.parallelMergeSort(input.clone(), pool, 1, 16)).isEqualTo(expected);
+        }
+        assertThat(sortingCore.parallelMergeSort(input.clone())).isEqualTo(expected);
+    }
+
+    @Test
+    void mergeSortReusesCallerBuffer() {
+        Random random = new Random(3);
+        int[] buffer = new int[Sorting.mergeBufferLength(5_000)];
+
+        for (int round = 0; round < 3; round++) {
+            int[] input = random.ints(5_000 - round, -100, 100).toArray();
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+
+            assertThat(sortingCore.mergeSort(input.clone(), 0, input.length, buffer)).containsExactly(expected);
+            assertThat(sortingCore.bottomUpMergeSort(input.clone(), 0, input.length, buffer)).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void bottomUpMergeSortDemo() {
+        double[] arr = {4.5, -1.0, 3.25, 9.0, 0.0, -7.5, 2.0};
+        double[] sorted = sortingCore.bottomUpMergeSort(arr.clone());
+
+        assertThat(sorted).containsExactly(-7.5, -1.0, 0.0, 2.0, 3.25, 4.5, 9.0);
+    }
+
+    @Test
+    void mergeSortRejectsSmallBuffer() {
+        long[] arr = {5, 4, 3, 2, 1};
+
+        assertThatThrownBy(() -> sortingCore.mergeSort(arr, 0, arr.length, new long[1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void quickSortHandlesManyDuplicates() {
+        int[] input = new Random(11).ints(100_000, 0, 4).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        assertThat(sortingCore.quickSort(input)).containsExactly(expected);
+    }
+
+    @Test
+    void quickSortHandlesAdversarialPatterns() {
+        int n = 200_000;
+        long[] ascending = new long[n];
+        long[] descending = new long[n];
+        long[] organPipe = new long[n];
+        long[] sawTooth = new long[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+            organPipe[i] = Math.min(i, n - i);
+            sawTooth[i] = i % 1_000;
+        }
+
+        for (long[] input : new long[][]{ascending, descending, organPipe, sawTooth}) {
+            long[] expected = input.clone();
+            Arrays.sort(expected);
+            assertThat(sortingCore.quickSort(input)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void quickSortOrdersDoublesLikeArraysSort() {
+        double[] input = new Random(5).doubles(10_000).map(d -> d < 0.05 ? Double.NaN : d < 0.1 ? -0.0 : d - 0.5).toArray();
+        double[] expected = input.clone();
+        Arrays.sort(expected);
+
+        assertThat(sortingCore.quickSort(input)).containsExactly(expected);
+    }
+
+    @Test
+    void networkSortMatchesArraysSortForEveryLength() {
+        Random random = new Random(19);
+        for (int length = 0; length <= Sorting.MAX_NETWORK_SORT_LENGTH; length++) {
+            for (int round = 0; round < 200; round++) {
+                // Sorted in place between two untouched sentinels
+                int[] ints = random.ints(length + 2, -3, 3).toArray();
+                long[] longs = random.longs(length + 2).map(v -> v % 4 == 0 ? Long.MIN_VALUE : v % 4 == 1 ? Long.MAX_VALUE : v).toArray();
+                int[] expectedInts = ints.clone();
+                long[] expectedLongs = longs.clone();
+                Arrays.sort(expectedInts, 1, length + 1);
+                Arrays.sort(expectedLongs, 1, length + 1);
+
+                assertThat(sortingCore.networkSort(ints, 1, length + 1)).containsExactly(expectedInts);
+                assertThat(sortingCore.networkSort(longs, 1, length + 1)).containsExactly(expectedLongs);
+            }
+        }
+    }
+
+    @Test
+    void networkSortRejectsLongRanges() {
+        int[] arr = new int[Sorting.MAX_NETWORK_SORT_LENGTH + 1];
+
+        assertThatThrownBy(() -> sortingCore.networkSort(arr))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("17");
+        assertThat(sortingCore.networkSort(arr, 1, arr.length)).containsOnly(0);
+    }
+
+    @Test
+    void radixSortHandlesNegativeKeys() {
+        int[] ints = new Random(13).ints(10_000).toArray();
+        long[] longs = new Random(17).longs(10_000).toArray();
+        int[] expectedInts = ints.clone();
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedInts);
+        Arrays.sort(expectedLongs);
+
+        assertThat(sortingCore.radixSort(ints)).containsExactly(expectedInts);
+        assertThat(sortingCore.radixSort(longs)).containsExactly(expectedLongs);
+    }
+
+    @Test
+    void radixSortSkipsSharedDigitsInRange() {
+        // only the low digit differs, and the values outside the range stay put
+        int[] arr = new int[1_002];
+        for (int i = 1; i <= 1_000; i++) arr[i] = 1_000 - i;
+        arr[0] = Integer.MAX_VALUE;
+        arr[1_001] = Integer.MIN_VALUE;
+
+        sortingCore.radixSort(arr, 1, 1_001);
+
+        assertThat(arr[0]).isEqualTo(Integer.MAX_VALUE);
+        assertThat(arr[1_001]).isEqualTo(Integer.MIN_VALUE);
+        for (int i = 1; i <= 1_000; i++) assertThat(arr[i]).isEqualTo(i - 1);
+    }
+
+    @Test
+    void parallelRadixSortMatchesArraysSort() {
+        long[] input = new Random(19).longs(100_000).toArray();
+        long[] expected = input.clone();
+        Arrays.sort(expected);
+
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            assertThat(sortingCore.parallelRadixSort(input, pool)).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void radixSortByKeyIsStable() {
+        String[] words = {"pear", "fig", "kiwi", "apple", "date", "plum", "banana"};
+        String[] sorted = sortingCore.radixSort(words, String::length);
+
+        // equal lengths keep their original relative order
+        assertThat(sorted).containsExactly("fig", "pear", "kiwi", "date", "plum", "apple", "banana");
+    }
+
+    @Test
+    void adaptiveSortHandlesRunsAndRandomInput() {
+        Random random = new Random(23);
+        int n = 100_000;
+        int[] nearlySorted = new int[n];
+        int[] descendingRuns = new int[n];
+        for (int i = 0; i < n; i++) {
+            nearlySorted[i] = i;
+            descendingRuns[i] = (i / 5_000) * 5_000 + (5_000 - i % 5_000);
+        }
+        for (int swaps = 0; swaps < 50; swaps++) {
+            int i = random.nextInt(n), j = random.nextInt(n);
+            int t = nearlySorted[i];
+            nearlySorted[i] = nearlySorted[j];
+            nearlySorted[j] = t;
+        }
+        int[] randomInput = random.ints(n, 0, 1_000).toArray();
+
+        for (int[] input : new int[][]{nearlySorted, descendingRuns, randomInput}) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            assertThat(sortingCore.adaptiveSort(input)).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void adaptiveSortDemo() {
+        long[] arr = {1, 2, 3, 9, 8, 7, 4, 5, 6};
+        long[] sorted = sortingCore.adaptiveSort(arr);
+
+        // ascending run, descending run (reversed in place), ascending run
+        assertThat(sorted).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void selectFindsKthSmallest() {
+        int[] input = new Random(37).ints(10_000, -1_000, 1_000).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        for (int k : new int[]{0, 1, 4_999, 5_000, 9_999}) {
+            int[] arr = input.clone();
+            assertThat(sortingCore.select(arr, k)).isEqualTo(expected[k]);
+            for (int i = 0; i < k; i++) assertThat(arr[i]).isLessThanOrEqualTo(arr[k]);
+            for (int i = k + 1; i < arr.length; i++) assertThat(arr[i]).isGreaterThanOrEqualTo(arr[k]);
+        }
+        assertThatThrownBy(() -> sortingCore.select(new int[3], 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void partialSortLeavesSmallestKSortedAtFront() {
+        long[] input = new Random(41).longs(5_000, 0, 100).toArray();
+        long[] expected = input.clone();
+        Arrays.sort(expected);
+
+        long[] arr = sortingCore.partialSort(input, 100);
+
+        assertThat(Arrays.copyOf(arr, 100)).containsExactly(Arrays.copyOf(expected, 100));
+    }
+
+    @Test
+    void selectAndPartialSortWithComparator() {
+        String[] words = {"kiwi", "fig", "banana", "apple", "cherry", "date", "elderberry"};
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+
+        assertThat(sortingCore.select(words.clone(), 0, byLength)).isEqualTo("fig");
+
+        String[] partial = sortingCore.partialSort(words.clone(), 3, Comparator.reverseOrder());
+        assertThat(Arrays.copyOf(partial, 3)).containsExactly("kiwi", "fig", "elderberry");
+    }
+
+    @Test
+    void stableComparatorSortsKeepEqualKeysInOrder() {
+        String[] words = new String[2_000];
+        Random random = new Random(43);
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "w" + random.nextInt(50) + "-" + i;
+        }
+        Comparator<String> byPrefix = Comparator.comparing(w -> w.substring(0, w.indexOf('-')));
+        String[] expected = words.clone();
+        Arrays.sort(expected, byPrefix); // Arrays.sort on objects is stable
+
+        assertThat(sortingCore.mergeSort(words.clone(), byPrefix)).containsExactly(expected);
+        assertThat(sortingCore.adaptiveSort(words.clone(), byPrefix)).containsExactly(expected);
+        assertThat(sortingCore.insertionSort(words.clone(), byPrefix)).containsExactly(expected);
+    }
+
+    @Test
+    void quickSortWithComparator() {
+        Integer[] arr = new Random(47).ints(10_000, -500, 500).boxed().toArray(Integer[]::new);
+        Integer[] expected = arr.clone();
+        Arrays.sort(expected, Comparator.reverseOrder());
+
+        assertThat(sortingCore.quickSort(arr, Comparator.reverseOrder())).containsExactly(expected);
+    }
+
+    @Test
+    void keyExtractorSortsAreStable() {
+        String[] words = {"pear", "fig", "kiwi", "apple", "date", "plum", "banana"};
+
+        assertThat(sortingCore.sortByIntKey(words.clone(), String::length))
+                .containsExactly("fig", "pear", "kiwi", "date", "plum", "apple", "banana");
+        assertThat(sortingCore.sortByLongKey(words.clone(), w -> -(long) w.length()))
+                .containsExactly("banana", "apple", "pear", "kiwi", "date", "plum", "fig");
+    }
+
+    @Test
+    void vectorSortMatchesArraysSort() {
+        // Runs the SIMD kernels under surefire (the pom adds jdk.incubator.vector), the scalar fallback otherwise
+        Random random = new Random(53);
+        for (int n : new int[]{0, 1, 2, 7, 31, 32, 33, 100, 1_000, 50_000}) {
+            int[] ints = random.ints(n).toArray();
+            long[] longs = random.longs(n).toArray();
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+
+            assertThat(sortingCore.vectorSort(ints)).containsExactly(expectedInts);
+            assertThat(sortingCore.vectorSort(longs)).containsExactly(expectedLongs);
+        }
+    }
+
+    @Test
+    void vectorSortHandlesDuplicatesExtremesAndRanges() {
+        int[] arr = new int[20_000];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = i % 3 == 0 ? Integer.MAX_VALUE : i % 3 == 1 ? Integer.MIN_VALUE : 7;
+        }
+        int[] expected = arr.clone();
+        Arrays.sort(expected, 100, 19_900);
+
+        assertThat(sortingCore.vectorSort(arr, 100, 19_900)).containsExactly(expected);
+        assertThat(sortingCore.vectorSort(new long[]{5, 5, 5, Long.MIN_VALUE, Long.MAX_VALUE, 5}))
+                .containsExactly(Long.MIN_VALUE, 5, 5, 5, 5, Long.MAX_VALUE);
+        assertThatThrownBy(() -> sortingCore.vectorSort(new int[4], 3, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void argsortReturnsStableOrderWithoutMovingData() {
+        int[] ints = {30, -5, 30, 7, -5, Integer.MIN_VALUE};
+        assertThat(sortingCore.argsort(ints)).containsExactly(5, 1, 4, 3, 0, 2);
+        assertThat(ints).containsExactly(30, -5, 30, 7, -5, Integer.MIN_VALUE);
+
+        assertThat(sortingCore.argsort(new long[]{4L, Long.MIN_VALUE, 4L, 0L})).containsExactly(1, 3, 0, 2);
+        assertThat(sortingCore.argsort(new double[]{Double.NaN, 0.0, -0.0, -3.5, 0.0}))
+                .containsExactly(3, 2, 1, 4, 0);
+
+        String[] words = {"pear", "fig", "kiwi", "apple", "date"};
+        assertThat(sortingCore.argsort(words, Comparator.comparingInt(String::length)))
+                .containsExactly(1, 0, 2, 4, 3);
+    }
+
+    @Test
+    void argsortMatchesSortOnLargeInputs() {
+        Random random = new Random(59);
+        int[] ints = random.ints(20_000, -1_000, 1_000).toArray();
+        double[] doubles = random.doubles(20_000).map(d -> d - 0.5).toArray();
+        int[] sortedInts = ints.clone();
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedDoubles);
+
+        int[] intOrder = sortingCore.argsort(ints);
+        int[] doubleOrder = sortingCore.argsort(doubles);
+        for (int i = 0; i < ints.length; i++) {
+            assertThat(ints[intOrder[i]]).isEqualTo(sortedInts[i]);
+            assertThat(doubles[doubleOrder[i]]).isEqualTo(sortedDoubles[i]);
+            if (i > 0 && ints[intOrder[i]] == ints[intOrder[i - 1]]) {
+                assertThat(intOrder[i]).isGreaterThan(intOrder[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    void parallelSampleSortMatchesQuickSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(61);
+            int[] ints = random.ints(100_000).toArray();
+            long[] longs = random.longs(100_000).toArray();
+            int[] fewUnique = random.ints(100_000, 0, 3).toArray();
+
+            assertThat(sortingCore.parallelSampleSort(ints.clone(), pool, 8)).containsExactly(sortingCore.quickSort(ints.clone()));
+            assertThat(sortingCore.parallelSampleSort(longs.clone(), pool, 8)).containsExactly(sortingCore.quickSort(longs.clone()));
+            assertThat(sortingCore.parallelSampleSort(fewUnique.clone(), pool, 1)).containsExactly(sortingCore.quickSort(fewUnique.clone()));
+            assertThat(sortingCore.parallelSampleSort(ints.clone())).containsExactly(sortingCore.quickSort(ints.clone()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelSampleSortRejectsNonPositiveOversampling() {
+        assertThatThrownBy(() -> sortingCore.parallelSampleSort(new int[10], ForkJoinPool.commonPool(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void multikeyQuickSortOrdersLikeCompareTo() {
+        String[] words = {"banana", "", "band", "ban", "apple", "bandana", "Zebra", "banana", "é", "app"};
+        String[] expected = words.clone();
+        Arrays.sort(expected);
+        assertThat(sortingCore.multikeyQuickSort(words)).containsExactly(expected);
+
+        Random random = new Random(67);
+        String[] urls = new String[5_000];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = "https://example.com/items/" + random.nextInt(2_000) + (random.nextBoolean() ? "/" : "");
+        }
+        String[] sortedUrls = urls.clone();
+        Arrays.sort(sortedUrls);
+        assertThat(sortingCore.multikeyQuickSort(urls)).containsExactly(sortedUrls);
+    }
+
+    @Test
+    void multikeyQuickSortOrdersBytesUnsigned() {
+        byte[][] keys = {{1, 2}, {}, {(byte) 0xFF}, {1}, {1, 2, 0}, {0x7F}, {1, 2}};
+        byte[][] sorted = sortingCore.multikeyQuickSort(keys.clone());
+
+        assertThat(sorted).isDeepEqualTo(new byte[][]{{}, {1}, {1, 2}, {1, 2}, {1, 2, 0}, {0x7F}, {(byte) 0xFF}});
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void multikeyQuickSortFinishesRunsOfEqualKeys() {
+        // More equal keys than the insertion sort threshold, alone and among other keys
+        String[] equal = new String[40];
+        byte[][] equalBytes = new byte[40][];
+        byte[][] expectedEqualBytes = new byte[40][];
+        Arrays.fill(equal, "a");
+        Arrays.setAll(equalBytes, i -> new byte[]{'a'});
+        Arrays.setAll(expectedEqualBytes, i -> new byte[]{'a'});
+        assertThat(sortingCore.multikeyQuickSort(equal)).containsOnly("a").hasSize(40);
+        assertThat(sortingCore.multikeyQuickSort(equalBytes)).isDeepEqualTo(expectedEqualBytes);
+
+        String[] mixed = new String[100];
+        byte[][] mixedBytes = new byte[100][];
+        for (int i = 0; i < mixed.length; i++) {
+            mixed[i] = i % 3 == 0 ? "b" + i : i % 3 == 1 ? "a" : "";
+            mixedBytes[i] = mixed[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        String[] expected = mixed.clone();
+        Arrays.sort(expected);
+        byte[][] expectedBytes = mixedBytes.clone();
+        Arrays.sort(expectedBytes, Arrays::compareUnsigned);
+
+        assertThat(sortingCore.multikeyQuickSort(mixed)).containsExactly(expected);
+        assertThat(sortingCore.multikeyQuickSort(mixedBytes)).isDeepEqualTo(expectedBytes);
+    }
+
+    @Test
+    void multikeyQuickSortKeepsTheStackShallow() throws InterruptedException {
+        // Organ pipe of one-char keys: every partition is lopsided, which used to recurse n deep
+        int n = 60_000;
+        String[] organPipe = new String[n];
+        byte[][] bytePipe = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            int key = i < n / 2 ? i : n - 1 - i;
+            organPipe[i] = String.valueOf((char) ('!' + key));
+            bytePipe[i] = new byte[]{(byte) (key >>> 8), (byte) key};
+        }
+        String[] expected = organPipe.clone();
+        Arrays.sort(expected);
+        byte[][] expectedBytes = bytePipe.clone();
+        Arrays.sort(expectedBytes, Arrays::compareUnsigned);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(null, () -> {
+            sortingCore.multikeyQuickSort(organPipe);
+            sortingCore.multikeyQuickSort(bytePipe);
+        }, "small-stack", 256 << 10);
+        thread.setUncaughtExceptionHandler((t, e) -> failure.set(e));
+        thread.start();
+        thread.join();
+
+        assertThat(failure.get()).isNull();
+        assertThat(organPipe).containsExactly(expected);
+        assertThat(bytePipe).isDeepEqualTo(expectedBytes);
+    }
+
+    @Test
+    void sortPicksAStrategyFromTheSampleAndReportsIt() {
+        List<SortStrategy> chosen = new ArrayList<>();
+        Sorting auditing = new Sorting((profile, strategy, elapsedNanos) -> chosen.add(strategy));
+        Random random = new Random(83);
+
+        int[] tiny = {5, 3, 9, 1};
+        int[] presorted = new int[100_000];
+        for (int i = 0; i < presorted.length; i++) presorted[i] = i * 3;
+        int[] reversed = Arrays.stream(presorted).map(v -> -v).toArray();
+        int[] narrow = random.ints(100_000, 0, 1_000).toArray();
+        int[] wide = random.ints(100_000).toArray();
+        int[] wideShort = random.ints(1_000).toArray();
+        int[] fewUnique = random.ints(100_000, 0, 3).map(v -> v == 0 ? Integer.MIN_VALUE : v == 1 ? 0 : Integer.MAX_VALUE).toArray();
+        // Looks narrow in the sample, but one unsampled outlier makes counting too wide
+        int[] outlier = random.ints(100_000, 0, 100).toArray();
+        outlier[2] = Integer.MAX_VALUE;
+
+        for (int[] arr : List.of(tiny, presorted, reversed, narrow, wide, wideShort, fewUnique, outlier)) {
+            int[] expected = arr.clone();
+            Arrays.sort(expected);
+            assertThat(auditing.sort(arr)).isEqualTo(expected);
+        }
+        assertThat(chosen).containsExactly(SortStrategy.INSERTION, SortStrategy.ADAPTIVE, SortStrategy.ADAPTIVE,
+                SortStrategy.COUNTING, SortStrategy.RADIX, SortStrategy.INTROSORT, SortStrategy.INTROSORT, SortStrategy.RADIX);
+    }
+
+    @Test
+    void sortHandlesLongsAndRanges() {
+        long[] longs = new Random(89).longs(50_000, -50, 50).toArray();
+        long[] expected = longs.clone();
+        Arrays.sort(expected, 1_000, 40_000);
+
+        assertThat(sortingCore.sort(longs, 1_000, 40_000)).containsExactly(expected);
+        assertThat(sortingCore.sort(new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0})).containsExactly(Long.MIN_VALUE, 0, Long.MAX_VALUE);
+        assertThat(sortingCore.sort(new int[0])).isEmpty();
+    }
+
+    @Test
+    void countingSortDetectsOrUsesAKnownRange() {
+        int[] statusCodes = new Random(97).ints(10_000, 100, 600).toArray();
+        int[] expected = statusCodes.clone();
+        Arrays.sort(expected);
+
+        assertThat(sortingCore.countingSort(statusCodes.clone())).containsExactly(expected);
+        assertThat(sortingCore.countingSort(statusCodes.clone(), 0, statusCodes.length, 100, 599)).containsExactly(expected);
+        // Too wide to count, quick sorted instead
+        assertThat(sortingCore.countingSort(new int[]{Integer.MAX_VALUE, 0, Integer.MIN_VALUE}))
+                .containsExactly(Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        // Countable, but far sparser than the input is long
+        assertThat(sortingCore.countingSort(new int[]{4_000_000, 0})).containsExactly(0, 4_000_000);
+    }
+
+    @Test
+    void countingSortRejectsValuesOutsideTheDeclaredRange() {
+        int[] ages = {30, 41, 130, 7};
+
+        assertThatThrownBy(() -> sortingCore.countingSort(ages, 0, ages.length, 0, 120))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("130");
+        assertThat(ages).containsExactly(30, 41, 130, 7);
+        assertThatThrownBy(() -> sortingCore.countingSort(ages, 0, ages.length, 5, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void countingSortByKeyIsStable() {
+        String[] words = {"pear", "fig", "kiwi", "apple", "date", "plum", "banana"};
+
+        assertThat(sortingCore.countingSort(words.clone(), String::length))
+                .containsExactly("fig", "pear", "kiwi", "date", "plum", "apple", "banana");
+        // A key range too wide to count takes the stable merge sort fallback
+        assertThat(sortingCore.countingSort(words.clone(), w -> w.length() == 3 ? Integer.MAX_VALUE : -w.length()))
+                .containsExactly("banana", "apple", "pear", "kiwi", "date", "plum", "fig");
+    }
+
+    @Test
+    void bucketSortMatchesArraysSort() {
+        Random random = new Random(101);
+        double[] uniform = random.doubles(50_000).toArray();
+        double[] special = {3.5, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, 1e-300, -2.0, Double.NaN, 0.0};
+        double[] skewed = random.doubles(50_000).map(d -> Math.pow(d, 30)).toArray();
+
+        for (double[] arr : List.of(uniform, special, skewed)) {
+            double[] expected = arr.clone();
+            Arrays.sort(expected);
+            assertThat(sortingCore.bucketSort(arr)).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void cancellableSortSortsAndReportsEveryPhase() {
+        int[] arr = new Random(103).ints(300_000).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+        Map<SortPhase, long[]> last = new ConcurrentHashMap<>();
+        SortProgressListener listener = (phase, completed, total) ->
+                last.merge(phase, new long[]{completed, total}, (a, b) -> a[0] >= b[0] ? a : b);
+
+        assertThat(sortingCore.cancellableSort(arr.clone(), new CancellationToken(), listener)).isEqualTo(expected);
+        assertThat(last.get(SortPhase.SORTING_RUNS)).containsExactly(300_000, 300_000);
+        // Five runs of 64K take three merge passes
+        assertThat(last.get(SortPhase.MERGING)).containsExactly(900_000, 900_000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            last.clear();
+            assertThat(sortingCore.cancellableParallelSort(arr, pool, new CancellationToken(), listener)).isEqualTo(expected);
+            assertThat(last.get(SortPhase.MERGING)).containsExactly(900_000, 900_000);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void cancelledSortStopsAndKeepsTheElements() {
+        int[] arr = new Random(107).ints(500_000).toArray();
+        int[] expected = arr.clone();
+        Arrays.sort(expected);
+
+        CancellationToken cancelled = new CancellationToken();
+        cancelled.cancel();
+        assertThatThrownBy(() -> sortingCore.cancellableSort(arr, cancelled, SortProgressListener.NONE))
+                .isInstanceOf(CancellationException.class);
+
+        CancellationToken token = new CancellationToken();
+        SortProgressListener cancelWhileMerging = (phase, completed, total) -> {
+            if (phase == SortPhase.MERGING) token.cancel();
+        };
+        assertThatThrownBy(() -> sortingCore.cancellableSort(arr, token, cancelWhileMerging))
+                .isInstanceOf(CancellationException.class);
+        int[] left = arr.clone();
+        Arrays.sort(left);
+        assertThat(left).isEqualTo(expected);
+    }
+
+    @Test
+    void cancelledParallelSortLeavesAPermutationMidPass() {
+        int n = 16 * (1 << 16);
+        int[] input = new Random(113).ints(n).toArray();
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+
+        try (ForkJoinPool pool = new ForkJoinPool(8)) {
+            for (int trial = 0; trial < 10; trial++) {
+                int[] arr = input.clone();
+                CancellationToken token = new CancellationToken();
+                // Cancel partway through the second merge pass, the first one that writes the caller's array
+                long cancelAt = n + (trial + 1) * (long) n / 11;
+                SortProgressListener cancelInPassTwo = (phase, completed, total) -> {
+                    if (phase == SortPhase.MERGING && completed >= cancelAt) token.cancel();
+                };
+
+                assertThatThrownBy(() -> sortingCore.cancellableParallelSort(arr, pool, token, cancelInPassTwo))
+                        .isInstanceOf(CancellationException.class);
+                // No slice may still be writing once the cancellation has reached the caller
+                int[] snapshot = arr.clone();
+                pool.awaitQuiescence(1, TimeUnit.SECONDS);
+                assertThat(arr).as("trial %d", trial).isEqualTo(snapshot);
+                Arrays.sort(arr);
+                assertThat(arr).as("trial %d", trial).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void interruptedThreadStopsCancellableSort() {
+        int[] arr = new Random(109).ints(200_000).toArray();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> sortingCore.cancellableSort(arr, new CancellationToken(), SortProgressListener.NONE))
+                    .isInstanceOf(CancellationException.class)
+                    .hasMessageContaining("interrupted");
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -4,6 +4,11 @@ import com.algolib.core.datastructures.lists.SinglyLinkedList;
 import com.algolib.core.datastructures.lists.SinglyListNode;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -220,4 +225,17 @@ class SinglyLinkedListTest {
         n2.setNext(x);
         assertThat(n1).isNotEqualTo(n2);
     }
+
+    @Test
+    void iteratesFromHeadToTail() {
+        SinglyLinkedList<Integer> sl = new SinglyLinkedList<>(new Integer[]{4, 6, 7});
+        List<Integer> seen = new ArrayList<>();
+        for (int value : sl) seen.add(value);
+
+        assertThat(seen).containsExactly(4, 6, 7);
+        assertThatThrownBy(() -> {
+            Iterator<Integer> it = new SinglyLinkedList<Integer>().iterator();
+            it.next();
+        }).isInstanceOf(NoSuchElementException.class);
+    }
 }